@@ -0,0 +1,220 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.util.FieldNamingStrategy;
+import ch.rs.reflectorgrid.util.SharedInstanceMode;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldKind;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable description of what a {@link ReflectorGrid} shows for an object: one row per annotated field,
+ * with its label, the kind of input field and the value it starts with. Sections of subObjects that start
+ * expanded contain the model of their subObject.
+ *
+ * A model does not contain any JavaFX Nodes, so it can be built on any thread. The grid then only has to
+ * create the Nodes for it on the JavaFX Application Thread.
+ */
+final class GridModel {
+
+    /**
+     * What a section of a subObject contains.
+     */
+    enum SectionContent {
+        NULL, TOO_DEEP, REFERENCE, GRID
+    }
+
+    private final Object object;
+    private final List<Row> rows;
+
+    private GridModel(Object object, List<Row> rows) {
+        this.object = object;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    Object getObject() {
+        return object;
+    }
+
+    List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * A single annotated field of the object.
+     */
+    static final class Row {
+
+        private final FieldDescriptor descriptor;
+        private final Object handle;
+        private final String label;
+        private final Object value;
+        private final boolean expanded;
+        private final SectionContent content;
+        private final GridModel child;
+
+        private Row(FieldDescriptor descriptor, Object handle, String label, Object value,
+                    boolean expanded, SectionContent content, GridModel child) {
+            this.descriptor = descriptor;
+            this.handle = handle;
+            this.label = label;
+            this.value = value;
+            this.expanded = expanded;
+            this.content = content;
+            this.child = child;
+        }
+
+        FieldDescriptor getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * @return the object the field belongs to
+         */
+        Object getHandle() {
+            return handle;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return the value of the field when the model was built
+         */
+        Object getValue() {
+            return value;
+        }
+
+        boolean isSection() {
+            return descriptor.getKind() == FieldKind.SUB_OBJECT;
+        }
+
+        /**
+         * @return true if the section of this subObject starts expanded
+         */
+        boolean isExpanded() {
+            return expanded;
+        }
+
+        /**
+         * @return what the section contains, or null if it starts collapsed and is resolved once expanded
+         */
+        SectionContent getContent() {
+            return content;
+        }
+
+        /**
+         * @return the model of the subObject if the section starts expanded and shows a grid, otherwise null
+         */
+        GridModel getChild() {
+            return child;
+        }
+    }
+
+    /**
+     * Builds models with the settings of a grid. The settings are copied when the builder is created,
+     * so the builder can be used on another thread while the grid is changed.
+     */
+    static final class Builder {
+
+        private final FieldNamingStrategy namingConvention;
+        private final int expansionDepth;
+        private final int maxDepth;
+        private final SharedInstanceMode sharedInstanceMode;
+
+        /**
+         * The objects the current object is nested in, including itself.
+         */
+        private final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * All objects that have been expanded in a section so far.
+         */
+        private final Set<Object> shownInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * @param path           the objects the built object is nested in
+         * @param shownInstances the objects that have already been expanded in the grid
+         */
+        Builder(FieldNamingStrategy namingConvention, int expansionDepth, int maxDepth,
+                SharedInstanceMode sharedInstanceMode, Collection<Object> path, Collection<Object> shownInstances) {
+            this.namingConvention = namingConvention;
+            this.expansionDepth = expansionDepth;
+            this.maxDepth = maxDepth;
+            this.sharedInstanceMode = sharedInstanceMode;
+            this.path.addAll(path);
+            this.shownInstances.addAll(shownInstances);
+        }
+
+        /**
+         * Builds the model of an object shown at the given depth.
+         */
+        GridModel build(Object object, int depth) {
+            path.add(object);
+            shownInstances.add(object);
+            List<Row> rows = new ArrayList<>();
+            for (FieldDescriptor descriptor : ClassDescriptor.of(object.getClass()).getFields()) {
+                String label = descriptor.getLabel(namingConvention);
+                Object value = descriptor.getAccessor().get(object);
+                if (descriptor.getKind() != FieldKind.SUB_OBJECT) {
+                    rows.add(new Row(descriptor, object, label, value, false, null, null));
+                } else if (depth >= expansionDepth) {
+                    rows.add(new Row(descriptor, object, label, value, false, null, null));
+                } else {
+                    SectionContent content = resolveContent(value, depth);
+                    GridModel child = content == SectionContent.GRID ? build(value, depth + 1) : null;
+                    rows.add(new Row(descriptor, object, label, value, true, content, child));
+                }
+            }
+            path.remove(object);
+            return new GridModel(object, rows);
+        }
+
+        /**
+         * Decides what the section of a subObject of a grid at the given depth contains.
+         */
+        SectionContent resolveContent(Object subObject, int depth) {
+            if (subObject == null) {
+                return SectionContent.NULL;
+            }
+            if (depth + 1 > maxDepth) {
+                return SectionContent.TOO_DEEP;
+            }
+            if (path.contains(subObject)
+                    || sharedInstanceMode == SharedInstanceMode.REFERENCE && shownInstances.contains(subObject)) {
+                return SectionContent.REFERENCE;
+            }
+            return SectionContent.GRID;
+        }
+    }
+}
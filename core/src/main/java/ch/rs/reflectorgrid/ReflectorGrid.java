@@ -0,0 +1,1124 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.util.*;
+import ch.rs.reflectorgrid.util.LabelDisplayOrder.InsertionPosition;
+import ch.rs.reflectorgrid.util.interfaces.BatchChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.DirtyFieldSink;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.statics.ReflectionNodeCollection;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+import javafx.util.Pair;
+import javafx.util.StringConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is used in conjunction with TransferGrid.java and enables a user
+ * to generate a GridPane with labels and TextFields/ComboBoxes/TextAreas for
+ * variables used in an Object. This also supports variables from inhereted
+ * classes, aswell as private variables.
+ *
+ * Please make sure you know the possibilities that @TransferGrid enables,
+ * before letting the end user change variables he is not supposed to.
+ * <p>
+ * This class uses the JavaFX GridPane and due to the way it is built, you only
+ * need one class to generate a Grid. If the object changes to another object
+ * you want to show the Variables of, you can just call turnObjectIntoGrid()
+ * again. Due to the nature of JavaFX it will automaticly update the Grid on
+ * your GUI.
+ *
+ * @author Ricardo Daniel Monteiro Simoes
+ * <b>Autho of some nifty little tricks:</b> I-Al-Istannen, : https://github.com/I-Al-Istannen
+ */
+public class ReflectorGrid extends GridPane{
+
+    /**
+     * This object is the one we give with turnObjectIntoGrid(). It is needed to
+     * set the field when using the TextFields etc.
+     */
+    private Object gridObject = new Object();
+
+    /**
+     * The objects edited at once, see {@link #transformAllIntoGrid(Collection)}. Null while the grid shows
+     * a single object.
+     */
+    private List<Object> gridObjects = null;
+
+    /**
+     * This is used to determine the format to which the grid is created.
+     * {@link LabelDisplayOrder} for more information
+     */
+    private LabelDisplayOrder displayOrder = LabelDisplayOrder.SIDE_BY_SIDE;
+
+    /**
+     * This variable is used to determine the max width of the editable fields.
+     * Standard is set to 300.
+     */
+    private double NODE_WIDTH_LIMIT = 300;
+
+    /**
+     * This variable is used to set the way a Label is named. If it is set to
+     * <b>VERBATIM</b>, the label will keep the same name as the variable. If it
+     * is set to <b>SPLIT_TO_CAPITALIZED_WORDS</b>, it will work as in the
+     * following example:
+     * <p>
+     * portToSendTo -> Port To Send To
+     * <p>
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy namingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * The standard value of {@link #setExpansionDepth(int)}: only the subObjects of the object itself are
+     * expanded, deeper ones are collapsed.
+     */
+    public static final int DEFAULT_EXPANSION_DEPTH = 1;
+
+    /**
+     * Up to which depth the sections of subObjects are expanded when the grid is generated.
+     */
+    private int expansionDepth = DEFAULT_EXPANSION_DEPTH;
+
+    /**
+     * The standard value of {@link #setMaxDepth(int)}.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 16;
+
+    /**
+     * SubObjects deeper than this are not shown anymore.
+     */
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+
+    /**
+     * {@link SharedInstanceMode} for more information
+     */
+    private SharedInstanceMode sharedInstanceMode = SharedInstanceMode.REFERENCE;
+
+    /**
+     * How deep this grid is nested in other grids. 0 for the grid the user created.
+     */
+    private int depth = 0;
+
+    /**
+     * The grid this grid is shown in as a subObject, or null for the grid the user created.
+     */
+    private ReflectorGrid parent = null;
+
+    /**
+     * Only used in the grid the user created. Contains every object that has been expanded in a section,
+     * together with that section, compared by identity. The object of the grid itself maps to null.
+     */
+    private final Map<Object, SubGrid> shownInstances = new IdentityHashMap<>();
+
+    /**
+     * The class of the object the grid was last generated for. As long as it stays the same, the grid can
+     * be refreshed instead of being generated again.
+     */
+    private Class<?> gridClass = null;
+
+    /**
+     * Set whenever a setting that changes the layout of the grid is changed. A refresh is not enough then.
+     */
+    private boolean layoutChanged = false;
+
+    /**
+     * The bindings of all input fields of this grid, used to refresh their values.
+     */
+    private final List<FieldBinding> bindings = new ArrayList<>();
+
+    /**
+     * The sections of the subObjects of this grid.
+     */
+    private final List<SubGrid> subGrids = new ArrayList<>();
+
+    /**
+     * The standard value of {@link #setCommitDelay(Duration)}.
+     */
+    public static final Duration DEFAULT_COMMIT_DELAY = EditContext.DEFAULT_COMMIT_DELAY;
+
+    private static final KeyCombination UNDO = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_SHIFT = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN,
+            KeyCombination.SHIFT_DOWN);
+
+    /**
+     * The listeners, converters, undo journal and dirty fields of this grid. Grids of subObjects use the one
+     * of their parent.
+     */
+    private EditContext context = new EditContext(this::collectBindings, this::refreshGrid);
+
+    /**
+     * The executor the models of {@link #transformIntoGridAsync(Object)} are built on.
+     */
+    private Executor modelExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * Counts the calls that show a new object. A model built in the background is only shown if no other
+     * object has been shown since it was requested.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Sets some normal formatting for the grid.
+     */
+    public ReflectorGrid() {
+        this.setHgap(5);
+        this.setVgap(5);
+        this.setPadding(new Insets(10, 10, 10, 10));
+        this.addEventFilter(KeyEvent.KEY_PRESSED, this::handleUndoKeys);
+    }
+
+    public ReflectorGrid(ReflectorGrid refGrid) {
+        this.setHgap(refGrid.getHgap());
+        this.setVgap(refGrid.getVgap());
+        this.setPadding(refGrid.getPadding());
+        this.NODE_WIDTH_LIMIT = refGrid.getNodeWidth();
+        this.displayOrder = refGrid.getDisplayOrder();
+        this.namingConvention = refGrid.getNamingConvention();
+        this.expansionDepth = refGrid.expansionDepth;
+        this.maxDepth = refGrid.maxDepth;
+        this.sharedInstanceMode = refGrid.sharedInstanceMode;
+        this.modelExecutor = refGrid.modelExecutor;
+        this.context.copySettings(refGrid.context);
+        this.addEventFilter(KeyEvent.KEY_PRESSED, this::handleUndoKeys);
+    }
+
+    public void transfromIntoGrid(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        generation.incrementAndGet();
+        setGridObject(object);
+        generateGrid();
+        context.getJournal().clear();
+        //return this;
+    }
+
+    /**
+     * Shows several objects of the same class in one grid, for example to set the same value on all of them.
+     *
+     * Every input field shows the value of its field if all objects have the same one. Otherwise it is empty
+     * and marked as mixed, see {@link FieldBinding#MIXED_STYLE_CLASS}. Changing a value writes it into all
+     * objects in one pass, and the {@link ChangeListener}s are called once per change with all objects, see
+     * {@link ChangeListener#onObjectsValueChanged(Field, List)}.
+     *
+     * SubObjects are only shown when a single object is shown, their sections only contain a note.
+     *
+     * @param objects the objects to show, all of the same class
+     * @throws IllegalArgumentException if there are no objects or they are not all of the same class
+     */
+    public void transformAllIntoGrid(Collection<?> objects) {
+        Objects.requireNonNull(objects, "The received Collection is null!");
+        if (objects.isEmpty()) {
+            throw new IllegalArgumentException("The received Collection is empty!");
+        }
+        List<Object> list = new ArrayList<>(objects);
+        Class<?> objectClass = Objects.requireNonNull(list.get(0), "The received Collection contains null!").getClass();
+        for (Object object : list) {
+            Objects.requireNonNull(object, "The received Collection contains null!");
+            if (object.getClass() != objectClass) {
+                throw new IllegalArgumentException("All objects need to be of the same class! Found "
+                        + object.getClass().getName() + " and " + objectClass.getName());
+            }
+        }
+        generation.incrementAndGet();
+        setGridObject(list.get(0));
+        gridObjects = Collections.unmodifiableList(list);
+        generateGrid();
+        context.getJournal().clear();
+    }
+
+    /**
+     * Does the same as {@link #transfromIntoGrid(Object)}, but reads the fields of the object and its
+     * expanded subObjects on the executor set with {@link #setModelExecutor(Executor)}. Only creating the
+     * Nodes happens on the JavaFX Application Thread, in a single step, so the grid never shows a half
+     * generated object.
+     *
+     * If another object is shown before the fields have been read, the result is dropped and the returned
+     * future completes without changing the grid. The settings of the grid are taken when this is called.
+     *
+     * Keep in mind that the fields are read while the object might still be changed on other threads.
+     *
+     * @param object the object to show
+     * @return a future that completes once the grid shows the object, or completes exceptionally if the
+     * fields could not be read
+     */
+    public CompletableFuture<Void> transformIntoGridAsync(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        long requested = generation.incrementAndGet();
+        GridModel.Builder builder = newModelBuilder(parent, Collections.emptySet());
+        return CompletableFuture
+                .supplyAsync(() -> builder.build(object, depth), modelExecutor)
+                .thenAcceptAsync(model -> {
+                    if (generation.get() == requested) {
+                        setGridObject(object);
+                        applyModel(model);
+                        context.getJournal().clear();
+                    }
+                }, Platform::runLater);
+    }
+
+
+    /**
+     * Shows another object of the same class in this grid. The existing Nodes and their Listeners are
+     * pointed at the new object and show its values, which costs about one refresh per field instead of
+     * generating the whole grid again. Showing the values does not write them into the new object.
+     *
+     * If the object is of another class than the current one, or the layout has been changed, the grid is
+     * generated as with {@link #transfromIntoGrid(Object)}.
+     *
+     * @param object the object to show
+     */
+    public void bind(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        generation.incrementAndGet();
+        if (layoutChanged || gridObjects != null || gridClass != object.getClass() || !rebind(object)) {
+            setGridObject(object);
+            generateGrid();
+        }
+        context.getJournal().clear();
+    }
+
+    /**
+     * Points all bindings of this grid and its subObject grids at the given object.
+     *
+     * @return false if a subObject is of another class than before and the grid has to be generated again
+     */
+    private boolean rebind(Object object) {
+        setGridObject(object);
+        if (parent == null) {
+            shownInstances.clear();
+            shownInstances.put(object, null);
+        }
+        for (SubGrid subGrid : subGrids) {
+            if (!subGrid.rebind(object)) {
+                return false;
+            }
+        }
+        for (FieldBinding binding : bindings) {
+            binding.rebind(object, object);
+        }
+        context.bindingsChanged();
+        return true;
+    }
+
+    /**
+     * This Method can be used externally to regenerate the Grid.
+     * This is supposed to be used when you do Layoutchanges after generating the Grid.
+     *
+     * If neither the layout nor the class of the object changed since the grid was generated, the existing
+     * Nodes are kept and only their values are refreshed, see {@link #refreshGrid()}.
+     */
+    public void redoGrid() {
+        if (layoutChanged || gridClass != gridObject.getClass()) {
+            generateGrid();
+        } else {
+            refreshGrid();
+        }
+    }
+
+    /**
+     * Reads every field shown in the grid again and updates the Nodes whose values differ.
+     * No Nodes are created or removed, unless a subObject has been replaced by an object of another class.
+     * In that case the whole grid is generated again.
+     *
+     * Showing the new values does not write them back into the object.
+     */
+    public void refreshGrid() {
+        if (gridClass != gridObject.getClass() || !refreshValues()) {
+            generateGrid();
+        }
+    }
+
+    /**
+     * @return false if a subObject has changed and the grid has to be generated again
+     */
+    private boolean refreshValues() {
+        for (SubGrid subGrid : subGrids) {
+            if (!subGrid.refresh()) {
+                return false;
+            }
+        }
+        for (FieldBinding binding : bindings) {
+            binding.refresh();
+        }
+        return true;
+    }
+
+    private void setGridObject(Object object) {
+        gridObject = object;
+        gridObjects = null;
+    }
+
+    /**
+     * This function starts all necessary functions to generate the grid and returns it.
+     *
+     * @return The finished Grid for the given Object.
+     */
+    private void generateGrid() {
+        Collection<Object> shown = parent == null
+                ? Collections.emptySet()
+                : getRoot().shownInstances.keySet();
+        applyModel(newModelBuilder(parent, shown).build(gridObject, depth));
+    }
+
+    /**
+     * Creates the Nodes for a model. The values shown are the ones read when the model was built.
+     */
+    private void applyModel(GridModel model) {
+        clearGrid();
+        gridClass = model.getObject().getClass();
+        layoutChanged = false;
+        if (parent == null) {
+            shownInstances.clear();
+            shownInstances.put(model.getObject(), null);
+        }
+
+        InsertionPosition insertionPosition = new InsertionPosition(0, 0);
+        List<Node> nodes = new ArrayList<>(model.getRows().size() * 2);
+
+        for (GridModel.Row row : model.getRows()) {
+            insertionPosition = handleField(insertionPosition, row, nodes);
+        }
+        getChildren().setAll(nodes);
+    }
+
+    /**
+     * Creates a builder with the current settings of the grid.
+     *
+     * @param pathStart the innermost grid the built object is nested in, or null
+     * @param shown     the objects that are already expanded in the grid
+     */
+    private GridModel.Builder newModelBuilder(ReflectorGrid pathStart, Collection<Object> shown) {
+        List<Object> path = new ArrayList<>();
+        for (ReflectorGrid grid = pathStart; grid != null; grid = grid.parent) {
+            path.add(grid.gridObject);
+        }
+        return new GridModel.Builder(namingConvention, expansionDepth, maxDepth, sharedInstanceMode, path, shown);
+    }
+
+    /**
+     * This Function handles the use case, when an Object contains an Object in itself.
+     * If annoted correctly, it will add a collapsible section with the Name of the object in the parent object.
+     * The section contains a new ReflectorGrid for said "sub-object", which is only generated once the section
+     * gets expanded for the first time. Sections up to the expansion depth start expanded.
+     *
+     * @param insertionPosition
+     * @param row
+     * @param nodes
+     * @return
+     */
+    private InsertionPosition handleSubClassField(InsertionPosition insertionPosition, GridModel.Row row,
+                                                  List<Node> nodes) {
+        if (gridObjects != null) {
+            TitledPane pane = new TitledPane(row.getLabel(), new Label("Only shown when editing a single object"));
+            pane.setExpanded(false);
+            insertionPosition = displayOrder.addNode(insertionPosition, pane, nodes);
+            GridPane.setColumnSpan(pane, displayOrder.getColumnCount());
+            return insertionPosition;
+        }
+        SubGrid subGrid = new SubGrid(row);
+        subGrids.add(subGrid);
+        insertionPosition = displayOrder.addNode(insertionPosition, subGrid.pane, nodes);
+        GridPane.setColumnSpan(subGrid.pane, displayOrder.getColumnCount());
+        return insertionPosition;
+    }
+
+    /**
+     * This function handles a single Field. It looks if the field is a normal field or a subObject-
+     * @param insertionPosition the position in which the Nodes for this field get inserted
+     * @param row the row of the model describing the field and the object it belongs to
+     * @param nodes the buffer collecting the Nodes of the grid, added to the grid once all rows are handled
+     * @return position for the next Node in the Grid
+     */
+    private InsertionPosition handleField(InsertionPosition insertionPosition, GridModel.Row row,
+                                          List<Node> nodes) {
+        if (!row.isSection()) {
+            Pair<Label, Node> pair = getNodePairForField(row);
+            return insertionPosition = displayOrder
+                    .addNode(insertionPosition, pair.getKey(), pair.getValue(), nodes);
+        }
+        return insertionPosition = handleSubClassField(insertionPosition, row, nodes);
+    }
+
+    /**
+     * Creates a Pair of a Label as well as an InputField for normal declared Fields.
+     * @param row the row of the model describing the field, the object it belongs to and its value
+     * @return a Pair<> consisting of a Label with the Fieldname as well as an InputField
+     */
+    private Pair<Label, Node> getNodePairForField(GridModel.Row row) {
+        FieldDescriptor descriptor = row.getDescriptor();
+        Object value = row.getValue();
+        Label label = new Label(row.getLabel());
+        Control node;
+        FieldBinding binding = gridObjects == null
+                ? new FieldBinding(descriptor.getField(), row.getHandle(), gridObject, context.getListeners(),
+                        context.getConverters())
+                : new MultiFieldBinding(descriptor.getField(), gridObjects, context.getListeners(),
+                        context.getConverters());
+        context.configure(binding, descriptor);
+
+        switch (descriptor.getKind()) {
+            case COMBO_BOX:
+                node = ReflectionNodeCollection.createComboBox(descriptor.getOptions(), binding, value);
+                break;
+            case SPINNER:
+                node = ReflectionNodeCollection.createSpinner(binding, value, descriptor);
+                break;
+            case ENUM_COMBO_BOX:
+                node = ReflectionNodeCollection.createEnumComboBox((Class<? extends Enum>) descriptor.getType(), binding, value);
+                break;
+            case TEXT_FIELD:
+                node = ReflectionNodeCollection.createTextField(binding, value);
+                break;
+            case TEXT_AREA:
+                node = ReflectionNodeCollection.createTextArea(binding, value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown field type: " + descriptor.getFieldtype());
+        }
+
+        if(!descriptor.getTooltip().isEmpty()) {
+        Tooltip tempTip = new Tooltip(descriptor.getTooltip());
+        tempTip.setWrapText(true);
+        label.setTooltip(tempTip);
+        }
+
+        ReflectionNodeCollection.adjustNodeProperties(node, descriptor.isEditable(), NODE_WIDTH_LIMIT);
+        if (binding.isMixed()) {
+            binding.refresh();
+        }
+        bindings.add(binding);
+
+        return new Pair<>(label, node);
+
+    }
+
+    private void clearGrid() {
+        for (FieldBinding binding : bindings) {
+            binding.actionPerformed();
+        }
+        this.getChildren().clear();
+        bindings.clear();
+        subGrids.clear();
+        context.bindingsChanged();
+
+    }
+
+    private void setMaxWidth(TextInputControl field) {
+        field.setMaxWidth(NODE_WIDTH_LIMIT);
+    }
+
+    /**
+     * This method sets the value to show in the GUI for the ComboBox.
+     * @param field the field with the value ot show
+     * @param combo the comboBox to set
+     */
+    private void selectCurrentValue(Field field, ComboBox combo) {
+        try {
+            field.setAccessible(true);
+            combo.getSelectionModel().select(field.get(gridObject));
+            field.setAccessible(false);
+        } catch (Exception e) {
+            System.err.println("Couldnt set the value of the ComboBox " + e.getMessage());
+            field.setAccessible(false);
+        }
+
+    }
+
+    /**
+     * @return the editing state of this grid and the grids of its subObjects. The listener, transaction,
+     * undo, dirty tracking and commit methods of the grid all delegate to it.
+     */
+    public EditContext getEditContext() {
+        return context;
+    }
+
+    /**
+     * Turns the live refresh of this grid and the grids of its subObjects on or off.
+     * <p>
+     * {@link EditContext#setLiveRefresh(boolean)} for more information
+     *
+     * @param enabled true to show reported changes
+     */
+    public void setLiveRefresh(boolean enabled) {
+        context.setLiveRefresh(enabled);
+    }
+
+    /**
+     * Reports that another thread changed a field of an object shown in this grid.
+     * <p>
+     * {@link EditContext#reportChange(Object, String)} for more information
+     *
+     * @param object    the changed object
+     * @param fieldName the name of the changed field, or null if any of its fields might have changed
+     */
+    public void reportChange(Object object, String fieldName) {
+        context.reportChange(object, fieldName);
+    }
+
+    public LiveRefresher getLiveRefresher() {
+        return context.getLiveRefresher();
+    }
+
+    /**
+     * Undoes the last change made in the grid or the grids of its subObjects. Pressing Ctrl+Z (Cmd+Z on a Mac)
+     * in the grid does the same.
+     * <p>
+     * {@link EditContext#undo()} for more information
+     *
+     * @return true if a change was undone
+     */
+    public boolean undo() {
+        return context.undo();
+    }
+
+    /**
+     * Redoes the last change undone with {@link #undo()}. Pressing Ctrl+Y or Ctrl+Shift+Z in the grid does the same.
+     *
+     * @return true if a change was redone
+     */
+    public boolean redo() {
+        return context.redo();
+    }
+
+    public boolean canUndo() {
+        return context.canUndo();
+    }
+
+    public boolean canRedo() {
+        return context.canRedo();
+    }
+
+    /**
+     * {@link EditContext#setUndoCapacity(int)} for more information
+     *
+     * @param capacity the number of changes kept, {@link EditJournal#DEFAULT_CAPACITY} by default
+     */
+    public void setUndoCapacity(int capacity) {
+        context.setUndoCapacity(capacity);
+    }
+
+    /**
+     * Adds a converter used by this grid only, on top of the global ones.
+     * <b>This does not change an already generated Grid! You can call redoGrid() to regenerate the Grid!</b>
+     * <p>
+     * {@link EditContext#addConverter(Class, StringConverter)} for more information
+     *
+     * @param clazz     the class to convert
+     * @param converter the converter for the class
+     * @param <T>       the type of the class
+     */
+    public <T> void addConverter(Class<T> clazz, StringConverter<T> converter) {
+        context.addConverter(clazz, converter);
+        layoutChanged = true;
+    }
+
+    public DirtyTracker getDirtyTracker() {
+        return context.getDirtyTracker();
+    }
+
+    /**
+     * @return the fields of the shown object that have been changed in this grid since they were last marked
+     * clean, in the order of the grid. Changes of its subObjects are tracked per subObject, see
+     * {@link #getDirtyFields(Object)}.
+     */
+    public List<FieldDescriptor> getDirtyFields() {
+        return context.getDirtyFields(gridObject);
+    }
+
+    public List<FieldDescriptor> getDirtyFields(Object object) {
+        return context.getDirtyFields(object);
+    }
+
+    public boolean isDirty() {
+        return context.isDirty();
+    }
+
+    public void markClean() {
+        context.markClean();
+    }
+
+    /**
+     * {@link EditContext#writeDirty(DirtyFieldSink)} for more information
+     *
+     * @param sink the sink to write the fields to
+     * @return the number of fields written
+     */
+    public int writeDirty(DirtyFieldSink sink) {
+        return context.writeDirty(sink);
+    }
+
+    /**
+     * Starts a transaction for this grid and the grids of its subObjects.
+     * <p>
+     * {@link EditContext#begin()} for more information
+     *
+     * @return the new transaction
+     * @throws IllegalStateException if a transaction of this grid is already running
+     */
+    public EditTransaction begin() {
+        return context.begin();
+    }
+
+    /**
+     * {@link EditContext#setValue(Object, String, Object)} for more information
+     *
+     * @param object    the object to write into
+     * @param fieldName the name of the field
+     * @param value     the new value
+     * @throws IllegalArgumentException if the class of the object has no annotated field of that name
+     */
+    public void setValue(Object object, String fieldName, Object value) {
+        context.setValue(object, fieldName, value);
+    }
+
+    /**
+     * Writes the annotated fields of the shown object and its subObjects into a file.
+     * <p>
+     * {@link EditContext#saveSnapshot(Object, Path)} for more information
+     *
+     * @param file the file to write, its content is replaced
+     * @throws IOException           if the file can not be written
+     * @throws IllegalStateException if the grid shows several objects at once
+     */
+    public void saveSnapshot(Path file) throws IOException {
+        context.saveSnapshot(getSnapshotObject(), file);
+    }
+
+    /**
+     * Reads a file written by {@link #saveSnapshot(Path)} back into the shown object.
+     * <p>
+     * {@link EditContext#restoreSnapshot(Object, Path)} for more information
+     *
+     * @param file the file to read
+     * @throws IOException              if the file can not be read
+     * @throws IllegalArgumentException if the file is not a snapshot of the class of the shown object
+     * @throws IllegalStateException    if the grid shows several objects at once
+     */
+    public void restoreSnapshot(Path file) throws IOException {
+        context.restoreSnapshot(getSnapshotObject(), file);
+    }
+
+    private Object getSnapshotObject() {
+        if (gridObjects != null) {
+            throw new IllegalStateException("A snapshot can only be taken of a single object");
+        }
+        return gridObject;
+    }
+
+    private void handleUndoKeys(KeyEvent event) {
+        if (UNDO.match(event)) {
+            undo();
+            event.consume();
+        } else if (REDO.match(event) || REDO_SHIFT.match(event)) {
+            redo();
+            event.consume();
+        }
+    }
+
+    /**
+     * Adds the bindings of this grid and the grids of its subObjects to the list.
+     */
+    private void collectBindings(List<FieldBinding> list) {
+        list.addAll(bindings);
+        for (SubGrid subGrid : subGrids) {
+            if (subGrid.grid != null) {
+                subGrid.grid.collectBindings(list);
+            }
+        }
+    }
+
+    /**
+     * Writes all text that has been typed into the grid and the grids of its subObjects, but not written yet.
+     * <p>
+     * {@link EditContext#commit()} for more information
+     *
+     * @return true if any text was written
+     */
+    public boolean commit() {
+        return context.commit();
+    }
+
+    /**
+     * Drops all text that has been typed but not written yet, and shows the values of the fields again.
+     *
+     * @return true if any text was dropped
+     */
+    public boolean discardChanges() {
+        return context.discardChanges();
+    }
+
+    /**
+     * @return true if the grid or the grid of a subObject contains text that has not been written yet
+     */
+    public boolean hasPendingChanges() {
+        return context.hasPendingChanges();
+    }
+
+    /**
+     * Sets when text typed into TextFields and TextAreas is written into the fields.
+     * <b>This does not change an already generated Grid! You can call redoGrid() to regenerate the Grid!</b>
+     * <p>
+     * {@link EditContext#setCommitPolicy(CommitPolicy)} for more information
+     *
+     * @param policy the policy to use, not {@link CommitPolicy#INHERIT}
+     */
+    public void setCommitPolicy(CommitPolicy policy) {
+        context.setCommitPolicy(policy);
+        layoutChanged = true;
+    }
+
+    /**
+     * Sets how long after the last keystroke text gets written with {@link CommitPolicy#DEBOUNCED}.
+     * Standard is set to {@link #DEFAULT_COMMIT_DELAY}.
+     * <b>This does not change an already generated Grid! You can call redoGrid() to regenerate the Grid!</b>
+     *
+     * @param delay the delay after the last change
+     */
+    public void setCommitDelay(Duration delay) {
+        context.setCommitDelay(delay);
+        layoutChanged = true;
+    }
+
+    /**
+     * Sets the executor on which {@link #transformIntoGridAsync(Object)} reads the fields of an object.
+     * Standard is the {@link ForkJoinPool#commonPool()}.
+     *
+     * @param executor the executor to use
+     */
+    public void setModelExecutor(Executor executor) {
+        modelExecutor = Objects.requireNonNull(executor, "The received Executor is null!");
+    }
+
+    /**
+     * Sets the format for the grid.
+     * <p>
+     * {@link LabelDisplayOrder} for information about the different avaliable
+     * formats.
+     *
+     * @param labelDisplayOrder the new labelDisplayOrder
+     */
+    public void setLabelDisplayOrder(LabelDisplayOrder labelDisplayOrder) {
+        displayOrder = labelDisplayOrder;
+        layoutChanged = true;
+    }
+
+    /**
+     * Manually set your own limit to how wide TextInputs can get. Standard is
+     * set to 300.
+     * <b>This does not change the Width of an already generated Grid! You can
+     * call redoGrid() to regenerate the Grid!</b>
+     *
+     * @param limit the max width to be use for the input fields.
+     */
+    public void setNodeWidthLimit(double limit) {
+        NODE_WIDTH_LIMIT = limit;
+        layoutChanged = true;
+    }
+
+    /**
+     * Sets how deep subObjects are shown. SubObjects nested deeper than this only show a note instead of
+     * their fields. Standard is set to {@link #DEFAULT_MAX_DEPTH}.
+     *
+     * @param depth the maximum depth of subObjects
+     */
+    public void setMaxDepth(int depth) {
+        maxDepth = depth;
+        layoutChanged = true;
+    }
+
+    /**
+     * Sets how an object is shown if it is the value of more than one field.
+     * Standard is set to {@link SharedInstanceMode#REFERENCE}.
+     * <p>
+     * {@link SharedInstanceMode} for more information
+     *
+     * @param mode the new mode
+     */
+    public void setSharedInstanceMode(SharedInstanceMode mode) {
+        sharedInstanceMode = mode;
+        layoutChanged = true;
+    }
+
+    /**
+     * Sets up to which depth the sections of subObjects are expanded when the grid is generated.
+     * Collapsed sections are only generated once the user expands them.
+     * 0 collapses all sections, {@link Integer#MAX_VALUE} expands all of them.
+     * Standard is set to {@link #DEFAULT_EXPANSION_DEPTH}.
+     *
+     * @param depth the depth up to which sections are expanded
+     */
+    public void setExpansionDepth(int depth) {
+        expansionDepth = depth;
+        layoutChanged = true;
+    }
+
+    /**
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use
+     *                            <p>
+     *                            {@link FieldNamingStrategy} for information about the different avaliable
+     *                            strategies.
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        namingConvention = fieldNamingStrategy;
+        layoutChanged = true;
+    }
+
+    private double getNodeWidth() {
+        return NODE_WIDTH_LIMIT;
+    }
+
+    private LabelDisplayOrder getDisplayOrder() {
+        return displayOrder;
+    }
+
+    private FieldNamingStrategy getNamingConvention() {
+        return namingConvention;
+    }
+
+    /**
+     * Use this function to add an object, for example from the GUI, to be called every time a value
+     * is updated trough reflection.
+     *
+     * Your function will be called with the following parameters:
+     * <b>field, object</b>
+     *
+     * <b>field</b>
+     * Field will give you the field that was updated.
+     *
+     * <b>object</b>
+     * This will show you the object that was updated.
+     *
+     *
+     * The listener is only called for changes made in this grid and the grids of its subObjects,
+     * and is kept until it is removed with {@link #removeChangeListener(ChangeListener)}.
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     *
+     */
+    public void addChangeListener(ChangeListener object){
+        context.addChangeListener(object);
+    }
+
+    /**
+     * {@link EditContext#setListenerDispatcher(ListenerDispatcher)} for more information
+     *
+     * @param dispatcher the dispatcher to use, or null
+     */
+    public void setListenerDispatcher(ListenerDispatcher dispatcher) {
+        context.setListenerDispatcher(dispatcher);
+    }
+
+    public boolean removeChangeListener(ChangeListener object) {
+        return context.removeChangeListener(object);
+    }
+
+    /**
+     * {@link EditContext#addWeakChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addWeakChangeListener(ChangeListener object) {
+        context.addWeakChangeListener(object);
+    }
+
+    public void addBatchChangeListener(BatchChangeListener listener) {
+        context.addBatchChangeListener(listener);
+    }
+
+    public boolean removeBatchChangeListener(BatchChangeListener listener) {
+        return context.removeBatchChangeListener(listener);
+    }
+
+    private ReflectorGrid getRoot() {
+        ReflectorGrid root = this;
+        while (root.parent != null) {
+            root = root.parent;
+        }
+        return root;
+    }
+
+    /**
+     * The collapsible section of a subObject. The grid of the subObject is generated the first time the
+     * section is expanded. If the subObject can not be expanded, because it would be too deep, it contains
+     * one of the objects it is nested in or it is already expanded somewhere else, the section only
+     * contains a note or a reference instead.
+     */
+    private class SubGrid {
+
+        private final FieldDescriptor descriptor;
+        private final TitledPane pane;
+        private Object handle;
+        private Object subObject;
+        private GridModel.SectionContent content;
+        private ReflectorGrid grid;
+        private boolean built = false;
+
+        SubGrid(GridModel.Row row) {
+            this.descriptor = row.getDescriptor();
+            this.handle = row.getHandle();
+            this.pane = new TitledPane();
+            pane.setText(row.getLabel());
+            pane.setExpanded(row.isExpanded());
+            if (row.isExpanded()) {
+                show(row.getValue(), row.getContent(), row.getChild());
+            }
+            pane.expandedProperty().addListener((obs, wasExpanded, isExpanded) -> {
+                if (isExpanded && !built) {
+                    build();
+                }
+            });
+        }
+
+        private void build() {
+            Object value = descriptor.getAccessor().get(handle);
+            GridModel.Builder builder = newModelBuilder(ReflectorGrid.this, getRoot().shownInstances.keySet());
+            GridModel.SectionContent resolved = builder.resolveContent(value, depth);
+            show(value, resolved, resolved == GridModel.SectionContent.GRID ? builder.build(value, depth + 1) : null);
+        }
+
+        private void show(Object value, GridModel.SectionContent resolved, GridModel model) {
+            built = true;
+            subObject = value;
+            content = resolved;
+            switch (content) {
+                case NULL:
+                    pane.setContent(new Label("null"));
+                    break;
+                case TOO_DEEP:
+                    pane.setContent(new Label("Maximum depth of " + maxDepth + " reached"));
+                    break;
+                case REFERENCE:
+                    pane.setContent(createReference(subObject));
+                    break;
+                default:
+                    getRoot().shownInstances.put(subObject, this);
+                    grid = new ReflectorGrid(ReflectorGrid.this);
+                    grid.depth = depth + 1;
+                    grid.parent = ReflectorGrid.this;
+                    grid.context = context;
+                    grid.setGridObject(subObject);
+                    grid.applyModel(model);
+                    pane.setContent(grid);
+            }
+        }
+
+        private GridModel.SectionContent resolveContent(Object object) {
+            Map<Object, SubGrid> shown = getRoot().shownInstances;
+            if (shown.get(subObject) == this) {
+                shown.remove(subObject);
+            }
+            return newModelBuilder(ReflectorGrid.this, shown.keySet()).resolveContent(object, depth);
+        }
+
+        /**
+         * Creates a link to the section the object is expanded in. Clicking it expands and focuses that section.
+         */
+        private Node createReference(Object object) {
+            SubGrid target = getRoot().shownInstances.get(object);
+            Hyperlink link = new Hyperlink(target == null
+                    ? "Reference to " + object.getClass().getSimpleName()
+                    : "Reference to " + target.pane.getText());
+            link.setOnAction(event -> {
+                if (target != null) {
+                    target.pane.setExpanded(true);
+                    target.pane.requestFocus();
+                }
+            });
+            return link;
+        }
+
+        /**
+         * Refreshes the grid of the subObject, if it has been generated already.
+         *
+         * @return false if the section has to show something else than before, for example because the
+         * subObject has been replaced by an object of another class
+         */
+        boolean refresh() {
+            if (!built) {
+                return true;
+            }
+            Object current = descriptor.getAccessor().get(handle);
+            if (current == subObject) {
+                if (content != GridModel.SectionContent.GRID) {
+                    return true;
+                }
+                getRoot().shownInstances.putIfAbsent(current, this);
+                return grid.refreshValues();
+            }
+            if (resolveContent(current) != content) {
+                return false;
+            }
+            subObject = current;
+            switch (content) {
+                case GRID:
+                    if (current.getClass() != grid.gridClass) {
+                        return false;
+                    }
+                    getRoot().shownInstances.put(current, this);
+                    return grid.rebind(current);
+                case REFERENCE:
+                    pane.setContent(createReference(current));
+                    return true;
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * Points the section at the subObject of another object.
+         *
+         * @return false if the section has to show something else than before
+         */
+        boolean rebind(Object newHandle) {
+            handle = newHandle;
+            return refresh();
+        }
+    }
+
+}
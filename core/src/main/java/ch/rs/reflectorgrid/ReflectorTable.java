@@ -0,0 +1,350 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.util.DefaultFieldNamingStrategy;
+import ch.rs.reflectorgrid.util.DirtyTracker;
+import ch.rs.reflectorgrid.util.EditContext;
+import ch.rs.reflectorgrid.util.EditTransaction;
+import ch.rs.reflectorgrid.util.FieldNamingStrategy;
+import ch.rs.reflectorgrid.util.ListenerDispatcher;
+import ch.rs.reflectorgrid.util.interfaces.BatchChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.DirtyFieldSink;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldKind;
+import ch.rs.reflectorgrid.util.statics.FieldWriter;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.ComboBoxTableCell;
+import javafx.scene.control.cell.TextFieldTableCell;
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Shows a List of objects of the same class in a {@link TableView}, with one row per object and one column
+ * per field annotated with @TransferGrid. The columns are created from the same {@link ClassDescriptor} the
+ * {@link ReflectorGrid} uses, so the options, enums, the editable flag and the {@link FieldNamingStrategy}
+ * are handled the same way.
+ *
+ * The TableView only creates cells for the visible rows and reuses them while scrolling, and every column
+ * keeps a single converter for all its cells. The List itself is not copied, the table sorts a view of it that
+ * only holds the indices of the objects, so even lists with a lot of objects cost little more memory than the
+ * visible rows need.
+ *
+ * SubObjects are not shown, as they do not fit into a single cell. Edited values are written back trough
+ * a {@link FieldWriter}, which also informs the {@link ChangeListener}s. Values the field already holds are
+ * not written again.
+ *
+ * @param <T> the class of the objects in the table
+ */
+public class ReflectorTable<T> extends TableView<T> {
+
+    /**
+     * Marks a text that could not be converted to the type of the field. Such values are not written.
+     */
+    private static final Object INVALID = new Object();
+
+    private final Class<T> objectClass;
+
+    /**
+     * The listeners, converters and dirty fields of this table. The table has no bindings, rolling back a
+     * transaction refreshes the visible rows.
+     */
+    private final EditContext context = new EditContext(bindings -> {
+    }, this::refresh);
+
+    /**
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy namingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * The List given to {@link #setObjects(List)}, the items of the table are a sorted view of it.
+     */
+    private List<T> objects;
+
+    public ReflectorTable(Class<T> objectClass) {
+        this.objectClass = Objects.requireNonNull(objectClass, "The received Class is null!");
+        setEditable(true);
+        generateColumns();
+    }
+
+    public ReflectorTable(Class<T> objectClass, List<T> objects) {
+        this(objectClass);
+        setObjects(objects);
+    }
+
+    /**
+     * Shows the given objects. The List is neither copied nor sorted, the table shows a {@link SortedList} of
+     * it that follows the sort order of the columns, so unmodifiable Lists can be shown aswell. Changes to the
+     * List are shown once {@link #refreshTable()} is called, or right away if it is an ObservableList.
+     *
+     * @param objects the objects to show
+     */
+    public void setObjects(List<T> objects) {
+        this.objects = Objects.requireNonNull(objects, "The received List is null!");
+        SortedList<T> sorted = new SortedList<>(objects instanceof ObservableList
+                ? (ObservableList<T>) objects
+                : FXCollections.observableList(objects));
+        sorted.comparatorProperty().bind(comparatorProperty());
+        setItems(sorted);
+    }
+
+    /**
+     * Reads the fields of the visible rows again. A List that is not an ObservableList is read again aswell,
+     * so added and removed objects are shown.
+     */
+    public void refreshTable() {
+        if (objects != null && !(objects instanceof ObservableList)) {
+            setObjects(objects);
+        }
+        refresh();
+    }
+
+    /**
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use for the headers of the columns
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        namingConvention = fieldNamingStrategy;
+        for (TableColumn<T, ?> column : getColumns()) {
+            column.setText(((FieldDescriptor) column.getUserData()).getLabel(namingConvention));
+        }
+    }
+
+    /**
+     * @return the editing state of this table. The listener, transaction and dirty tracking methods of the
+     * table all delegate to it.
+     */
+    public EditContext getEditContext() {
+        return context;
+    }
+
+    /**
+     * {@link EditContext#addChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener object) {
+        context.addChangeListener(object);
+    }
+
+    /**
+     * {@link EditContext#setListenerDispatcher(ListenerDispatcher)} for more information
+     *
+     * @param dispatcher the dispatcher to use, or null
+     */
+    public void setListenerDispatcher(ListenerDispatcher dispatcher) {
+        context.setListenerDispatcher(dispatcher);
+    }
+
+    public boolean removeChangeListener(ChangeListener object) {
+        return context.removeChangeListener(object);
+    }
+
+    public void addWeakChangeListener(ChangeListener object) {
+        context.addWeakChangeListener(object);
+    }
+
+    /**
+     * Starts a transaction for this table. Rolling it back refreshes the table.
+     * <p>
+     * {@link EditContext#begin()} for more information
+     *
+     * @return the new transaction
+     * @throws IllegalStateException if a transaction of this table is already running
+     */
+    public EditTransaction begin() {
+        return context.begin();
+    }
+
+    public void addBatchChangeListener(BatchChangeListener listener) {
+        context.addBatchChangeListener(listener);
+    }
+
+    public boolean removeBatchChangeListener(BatchChangeListener listener) {
+        return context.removeBatchChangeListener(listener);
+    }
+
+    /**
+     * Adds a converter used by this table only, on top of the global ones. The columns are created again to
+     * use it.
+     * <p>
+     * {@link EditContext#addConverter(Class, StringConverter)} for more information
+     *
+     * @param clazz     the class to convert
+     * @param converter the converter for the class
+     * @param <V>       the type of the class
+     */
+    public <V> void addConverter(Class<V> clazz, StringConverter<V> converter) {
+        context.addConverter(clazz, converter);
+        generateColumns();
+    }
+
+    public DirtyTracker getDirtyTracker() {
+        return context.getDirtyTracker();
+    }
+
+    public List<FieldDescriptor> getDirtyFields(Object object) {
+        return context.getDirtyFields(object);
+    }
+
+    public boolean isDirty() {
+        return context.isDirty();
+    }
+
+    public void markClean() {
+        context.markClean();
+    }
+
+    /**
+     * {@link EditContext#writeDirty(DirtyFieldSink)} for more information
+     *
+     * @param sink the sink to write the fields to
+     * @return the number of fields written
+     */
+    public int writeDirty(DirtyFieldSink sink) {
+        return context.writeDirty(sink);
+    }
+
+    public Class<T> getObjectClass() {
+        return objectClass;
+    }
+
+    private List<FieldDescriptor> getColumnFields() {
+        List<FieldDescriptor> fields = new ArrayList<>();
+        for (FieldDescriptor descriptor : ClassDescriptor.of(objectClass).getFields()) {
+            if (descriptor.getKind() != FieldKind.SUB_OBJECT) {
+                fields.add(descriptor);
+            }
+        }
+        return fields;
+    }
+
+    private void generateColumns() {
+        List<TableColumn<T, Object>> columns = new ArrayList<>();
+        for (FieldDescriptor descriptor : getColumnFields()) {
+            columns.add(createColumn(descriptor));
+        }
+        getColumns().setAll(columns);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TableColumn<T, Object> createColumn(FieldDescriptor descriptor) {
+        TableColumn<T, Object> column = new TableColumn<>(descriptor.getLabel(namingConvention));
+        column.setUserData(descriptor);
+        column.setEditable(descriptor.isEditable());
+        column.setCellValueFactory(features ->
+                new ReadOnlyObjectWrapper<>(descriptor.getAccessor().get(features.getValue())));
+
+        switch (descriptor.getKind()) {
+            case COMBO_BOX:
+                column.setCellFactory(ComboBoxTableCell.forTableColumn(
+                        new ColumnConverter(descriptor.getType(), null), (Object[]) descriptor.getOptions()));
+                break;
+            case ENUM_COMBO_BOX:
+                Class<? extends Enum> enumClass = (Class<? extends Enum>) descriptor.getType();
+                column.setCellFactory(ComboBoxTableCell.forTableColumn(
+                        new ColumnConverter(enumClass, context.getConverters().getConverter(enumClass)),
+                        (Object[]) enumClass.getEnumConstants()));
+                break;
+            default:
+                Class<?> type = descriptor.getType();
+                column.setCellFactory(TextFieldTableCell.forTableColumn(
+                        new ColumnConverter(type, context.getConverters().getConverter(type))));
+        }
+
+        column.setOnEditCommit(event -> {
+            T object = event.getRowValue();
+            Object value = event.getNewValue();
+            if (value == INVALID || object == null) {
+                refresh();
+                return;
+            }
+            if (FieldWriter.of(descriptor.getField()).writeValue(object, toFieldValue(descriptor, value),
+                    context.getListeners())) {
+                context.getDirtyTracker().mark(object, descriptor.getOrdinal());
+            }
+        });
+        return column;
+    }
+
+    /**
+     * Converts the value of an edited cell to the type of the field. The options of a ComboBox are Strings
+     * and get converted like a text.
+     */
+    private Object toFieldValue(FieldDescriptor descriptor, Object value) {
+        if (value instanceof String) {
+            return context.getConverters().fromString(descriptor.getType(), (String) value);
+        }
+        return context.getConverters().fromObject(descriptor.getType(), value);
+    }
+
+    /**
+     * The converter shared by all cells of a column. Texts that can not be converted become {@link #INVALID}
+     * instead of throwing, so the edit is dropped and the cell shows the old value again.
+     */
+    private static final class ColumnConverter extends StringConverter<Object> {
+
+        private final Class<?> type;
+        private final StringConverter<Object> converter;
+
+        @SuppressWarnings("unchecked")
+        ColumnConverter(Class<?> type, StringConverter<?> converter) {
+            this.type = type;
+            this.converter = (StringConverter<Object>) converter;
+        }
+
+        @Override
+        public String toString(Object object) {
+            if (object == null) {
+                return "";
+            }
+            if (object instanceof String || converter == null) {
+                return object.toString();
+            }
+            return converter.toString(object);
+        }
+
+        @Override
+        public Object fromString(String string) {
+            if (converter == null || String.class.isAssignableFrom(type)) {
+                return string;
+            }
+            try {
+                return converter.fromString(string);
+            } catch (RuntimeException e) {
+                return INVALID;
+            }
+        }
+    }
+}
@@ -0,0 +1,796 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid;
+
+import ch.rs.reflectorgrid.util.*;
+import ch.rs.reflectorgrid.util.LabelDisplayOrder.InsertionPosition;
+import ch.rs.reflectorgrid.util.interfaces.BatchChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.DirtyFieldSink;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldKind;
+import ch.rs.reflectorgrid.util.statics.ReflectionNodeCollection;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A variant of the {@link ReflectorGrid} for objects with a lot of annotated fields.
+ *
+ * Instead of creating a Label and an input field for every field up front, this grid is a {@link ListView}
+ * with one row per field. Only the rows that are visible get a cell, and the cells reuse their Label and
+ * input fields while scrolling. The rows themselves are small and only hold the {@link FieldBinding} of
+ * their field.
+ *
+ * The {@link LabelDisplayOrder} is applied inside every cell, and the input fields write their values
+ * trough their {@link FieldBinding} the same way as in the {@link ReflectorGrid}.
+ */
+public class VirtualReflectorGrid extends ListView<VirtualReflectorGrid.GridRow> {
+
+    /**
+     * This object is the one we give with transfromIntoGrid(). It is needed to
+     * set the field when using the TextFields etc.
+     */
+    private Object gridObject = new Object();
+
+    /**
+     * {@link LabelDisplayOrder} for more information
+     */
+    private LabelDisplayOrder displayOrder = LabelDisplayOrder.SIDE_BY_SIDE;
+
+    /**
+     * The max width of the editable fields. Standard is set to 300.
+     */
+    private double nodeWidthLimit = 300;
+
+    /**
+     * The width reserved for the Labels, so that the input fields of all rows line up when
+     * using {@link LabelDisplayOrder#SIDE_BY_SIDE}. Standard is set to 150.
+     */
+    private double labelWidth = 150;
+
+    /**
+     * {@link FieldNamingStrategy} for more information
+     */
+    private FieldNamingStrategy namingConvention = DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS;
+
+    /**
+     * SubObjects deeper than this are not shown anymore.
+     */
+    private int maxDepth = ReflectorGrid.DEFAULT_MAX_DEPTH;
+
+    /**
+     * {@link SharedInstanceMode} for more information
+     */
+    private SharedInstanceMode sharedInstanceMode = SharedInstanceMode.REFERENCE;
+
+    private static final KeyCombination UNDO = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_SHIFT = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN,
+            KeyCombination.SHIFT_DOWN);
+
+    /**
+     * The listeners, converters, undo journal and dirty fields of this grid.
+     */
+    private final EditContext context = new EditContext(this::collectBindings, this::refreshGrid);
+
+    public VirtualReflectorGrid() {
+        setCellFactory(listView -> new ReflectorCell());
+        addEventFilter(KeyEvent.KEY_PRESSED, this::handleUndoKeys);
+    }
+
+    public void transfromIntoGrid(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        gridObject = object;
+        generateGrid();
+        context.getJournal().clear();
+    }
+
+    /**
+     * Creates the rows again. Needed after changing the {@link FieldNamingStrategy}, the maximum depth
+     * or the {@link SharedInstanceMode}.
+     */
+    public void redoGrid() {
+        generateGrid();
+    }
+
+    /**
+     * Reads every field shown in the grid again and updates the input fields of the visible rows if the values
+     * differ. Rows that are not visible show the new value once they are scrolled into view.
+     * No rows are created or removed, unless a subObject has been replaced, set to null or set since the rows
+     * were created. In that case all rows are created again, the same way the {@link ReflectorGrid} does it.
+     *
+     * Showing the new values does not write them back into the object.
+     */
+    public void refreshGrid() {
+        List<GridRow> rows = getItems();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).subObjectChanged()) {
+                generateGrid();
+                return;
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            GridRow row = rows.get(i);
+            if (row.binding != null) {
+                row.binding.refresh();
+            }
+        }
+    }
+
+    private void generateGrid() {
+        for (GridRow row : getItems()) {
+            if (row.binding != null) {
+                row.binding.actionPerformed();
+            }
+        }
+        List<GridRow> rows = new ArrayList<>();
+        Map<Object, String> shownInstances = new IdentityHashMap<>();
+        shownInstances.put(gridObject, gridObject.getClass().getSimpleName());
+        addRows(rows, gridObject, 0, shownInstances, Collections.newSetFromMap(new IdentityHashMap<>()));
+        getItems().setAll(rows);
+        context.bindingsChanged();
+    }
+
+    /**
+     * Adds a row for every annotated field of the object. SubObjects are added the same way the
+     * {@link ReflectorGrid} does it, between two separators and below a row with their name.
+     * SubObjects that are too deep, contain one of the objects they are nested in or, depending on
+     * the {@link SharedInstanceMode}, have already been added only get a row with a note.
+     *
+     * @param shownInstances all objects that have been expanded, with the label of their row
+     * @param path           the objects the current object is nested in, including itself
+     */
+    private void addRows(List<GridRow> rows, Object handle, int depth,
+                         Map<Object, String> shownInstances, Set<Object> path) {
+        path.add(handle);
+        for (FieldDescriptor descriptor : ClassDescriptor.of(handle.getClass()).getFields()) {
+            String label = descriptor.getLabel(namingConvention);
+            if (descriptor.getKind() == FieldKind.SUB_OBJECT) {
+                Object subObject = descriptor.getAccessor().get(handle);
+                if (subObject == null) {
+                    rows.add(new GridRow(descriptor, label + ": null", handle, null));
+                } else if (depth + 1 > maxDepth) {
+                    rows.add(new GridRow(descriptor, label + ": Maximum depth of " + maxDepth + " reached",
+                            handle, subObject));
+                } else if (path.contains(subObject) || sharedInstanceMode == SharedInstanceMode.REFERENCE
+                        && shownInstances.containsKey(subObject)) {
+                    rows.add(new GridRow(descriptor, label + ": Reference to " + shownInstances.get(subObject),
+                            handle, subObject));
+                } else {
+                    shownInstances.put(subObject, label);
+                    rows.add(new GridRow(RowType.SEPARATOR, null, null, null));
+                    rows.add(new GridRow(descriptor, label + ":", handle, subObject));
+                    addRows(rows, subObject, depth + 1, shownInstances, path);
+                    rows.add(new GridRow(RowType.SEPARATOR, null, null, null));
+                }
+            } else {
+                FieldBinding binding = new FieldBinding(descriptor.getField(), handle, gridObject,
+                        context.getListeners(), context.getConverters());
+                context.configure(binding, descriptor);
+                rows.add(new GridRow(RowType.FIELD, descriptor, label, binding));
+            }
+        }
+        path.remove(handle);
+    }
+
+    /**
+     * @return the editing state of this grid. The listener, transaction, undo, dirty tracking and commit
+     * methods of the grid all delegate to it.
+     */
+    public EditContext getEditContext() {
+        return context;
+    }
+
+    /**
+     * {@link EditContext#setLiveRefresh(boolean)} for more information
+     *
+     * @param enabled true to show reported changes
+     */
+    public void setLiveRefresh(boolean enabled) {
+        context.setLiveRefresh(enabled);
+    }
+
+    /**
+     * {@link EditContext#reportChange(Object, String)} for more information
+     *
+     * @param object    the changed object
+     * @param fieldName the name of the changed field, or null if any of its fields might have changed
+     */
+    public void reportChange(Object object, String fieldName) {
+        context.reportChange(object, fieldName);
+    }
+
+    public LiveRefresher getLiveRefresher() {
+        return context.getLiveRefresher();
+    }
+
+    /**
+     * Undoes the last change made in the grid. Rows that are not visible show the old value once they are
+     * scrolled into view. Pressing Ctrl+Z in the grid does the same.
+     * <p>
+     * {@link EditContext#undo()} for more information
+     *
+     * @return true if a change was undone
+     */
+    public boolean undo() {
+        return context.undo();
+    }
+
+    /**
+     * Redoes the last change undone with {@link #undo()}. Pressing Ctrl+Y or Ctrl+Shift+Z in the grid does the same.
+     *
+     * @return true if a change was redone
+     */
+    public boolean redo() {
+        return context.redo();
+    }
+
+    public boolean canUndo() {
+        return context.canUndo();
+    }
+
+    public boolean canRedo() {
+        return context.canRedo();
+    }
+
+    /**
+     * {@link EditContext#setUndoCapacity(int)} for more information
+     *
+     * @param capacity the number of changes kept, {@link EditJournal#DEFAULT_CAPACITY} by default
+     */
+    public void setUndoCapacity(int capacity) {
+        context.setUndoCapacity(capacity);
+    }
+
+    /**
+     * {@link EditContext#begin()} for more information
+     *
+     * @return the new transaction
+     * @throws IllegalStateException if a transaction of this grid is already running
+     */
+    public EditTransaction begin() {
+        return context.begin();
+    }
+
+    /**
+     * {@link EditContext#setValue(Object, String, Object)} for more information
+     *
+     * @param object    the object to write into
+     * @param fieldName the name of the field
+     * @param value     the new value
+     */
+    public void setValue(Object object, String fieldName, Object value) {
+        context.setValue(object, fieldName, value);
+    }
+
+    /**
+     * {@link EditContext#saveSnapshot(Object, Path)} for more information
+     *
+     * @param file the file to write, its content is replaced
+     * @throws IOException if the file can not be written
+     */
+    public void saveSnapshot(Path file) throws IOException {
+        context.saveSnapshot(gridObject, file);
+    }
+
+    /**
+     * Reads a file written by {@link #saveSnapshot(Path)} back into the shown object and refreshes the grid,
+     * see {@link #refreshGrid()}.
+     * <p>
+     * {@link EditContext#restoreSnapshot(Object, Path)} for more information
+     *
+     * @param file the file to read
+     * @throws IOException              if the file can not be read
+     * @throws IllegalArgumentException if the file is not a snapshot of the class of the shown object
+     */
+    public void restoreSnapshot(Path file) throws IOException {
+        context.restoreSnapshot(gridObject, file);
+    }
+
+    /**
+     * Adds a converter used by this grid only, on top of the global ones. Call {@link #redoGrid()} to use it
+     * for the existing rows.
+     * <p>
+     * {@link EditContext#addConverter(Class, StringConverter)} for more information
+     *
+     * @param clazz     the class to convert
+     * @param converter the converter for the class
+     * @param <T>       the type of the class
+     */
+    public <T> void addConverter(Class<T> clazz, StringConverter<T> converter) {
+        context.addConverter(clazz, converter);
+    }
+
+    public DirtyTracker getDirtyTracker() {
+        return context.getDirtyTracker();
+    }
+
+    /**
+     * @return the fields of the shown object that have been changed in this grid since they were last marked
+     * clean, in the order of the grid. Changes of its subObjects are tracked per subObject, see
+     * {@link #getDirtyFields(Object)}.
+     */
+    public List<FieldDescriptor> getDirtyFields() {
+        return context.getDirtyFields(gridObject);
+    }
+
+    public List<FieldDescriptor> getDirtyFields(Object object) {
+        return context.getDirtyFields(object);
+    }
+
+    public boolean isDirty() {
+        return context.isDirty();
+    }
+
+    public void markClean() {
+        context.markClean();
+    }
+
+    /**
+     * {@link EditContext#writeDirty(DirtyFieldSink)} for more information
+     *
+     * @param sink the sink to write the fields to
+     * @return the number of fields written
+     */
+    public int writeDirty(DirtyFieldSink sink) {
+        return context.writeDirty(sink);
+    }
+
+    private void handleUndoKeys(KeyEvent event) {
+        if (UNDO.match(event)) {
+            undo();
+            event.consume();
+        } else if (REDO.match(event) || REDO_SHIFT.match(event)) {
+            redo();
+            event.consume();
+        }
+    }
+
+    /**
+     * Adds the bindings of all rows to the list.
+     */
+    private void collectBindings(List<FieldBinding> list) {
+        for (GridRow row : getItems()) {
+            if (row.binding != null) {
+                list.add(row.binding);
+            }
+        }
+    }
+
+    /**
+     * {@link EditContext#commit()} for more information
+     *
+     * @return true if any text was written
+     */
+    public boolean commit() {
+        return context.commit();
+    }
+
+    /**
+     * Drops all text that has been typed but not written yet, and shows the values of the fields again.
+     *
+     * @return true if any text was dropped
+     */
+    public boolean discardChanges() {
+        return context.discardChanges();
+    }
+
+    /**
+     * @return true if the grid contains text that has not been written yet
+     */
+    public boolean hasPendingChanges() {
+        return context.hasPendingChanges();
+    }
+
+    /**
+     * <b>Call redoGrid() to apply it to already generated rows!</b>
+     * <p>
+     * {@link EditContext#setCommitPolicy(CommitPolicy)} for more information
+     *
+     * @param policy the policy to use, not {@link CommitPolicy#INHERIT}
+     */
+    public void setCommitPolicy(CommitPolicy policy) {
+        context.setCommitPolicy(policy);
+    }
+
+    /**
+     * <b>Call redoGrid() to apply it to already generated rows!</b>
+     * <p>
+     * {@link EditContext#setCommitDelay(Duration)} for more information
+     *
+     * @param delay the delay after the last change
+     */
+    public void setCommitDelay(Duration delay) {
+        context.setCommitDelay(delay);
+    }
+
+    /**
+     * Sets the format of the cells.
+     * <p>
+     * {@link LabelDisplayOrder} for information about the different avaliable
+     * formats.
+     *
+     * @param labelDisplayOrder the new labelDisplayOrder
+     */
+    public void setLabelDisplayOrder(LabelDisplayOrder labelDisplayOrder) {
+        displayOrder = labelDisplayOrder;
+        refresh();
+    }
+
+    /**
+     * Manually set your own limit to how wide TextInputs can get. Standard is
+     * set to 300.
+     *
+     * @param limit the max width to be use for the input fields.
+     */
+    public void setNodeWidthLimit(double limit) {
+        nodeWidthLimit = limit;
+        refresh();
+    }
+
+    /**
+     * Sets the width reserved for the Labels when using {@link LabelDisplayOrder#SIDE_BY_SIDE}.
+     * Standard is set to 150.
+     *
+     * @param width the width of the Label column
+     */
+    public void setLabelWidth(double width) {
+        labelWidth = width;
+        refresh();
+    }
+
+    /**
+     * Sets how deep subObjects are shown. Standard is set to {@link ReflectorGrid#DEFAULT_MAX_DEPTH}.
+     * <b>Call redoGrid() to apply it to already generated rows!</b>
+     *
+     * @param depth the maximum depth of subObjects
+     */
+    public void setMaxDepth(int depth) {
+        maxDepth = depth;
+    }
+
+    /**
+     * Sets how an object is shown if it is the value of more than one field.
+     * Standard is set to {@link SharedInstanceMode#REFERENCE}.
+     * <b>Call redoGrid() to apply it to already generated rows!</b>
+     *
+     * @param mode the new mode
+     */
+    public void setSharedInstanceMode(SharedInstanceMode mode) {
+        sharedInstanceMode = mode;
+    }
+
+    /**
+     * <b>This does not change the Labels of already generated rows! You can
+     * call redoGrid() to regenerate them!</b>
+     *
+     * @param fieldNamingStrategy The {@link FieldNamingStrategy} to use
+     */
+    public void setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        namingConvention = fieldNamingStrategy;
+    }
+
+    /**
+     * {@link EditContext#addChangeListener(ChangeListener)} for more information
+     *
+     * @param object an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener object) {
+        context.addChangeListener(object);
+    }
+
+    /**
+     * {@link EditContext#setListenerDispatcher(ListenerDispatcher)} for more information
+     *
+     * @param dispatcher the dispatcher to use, or null
+     */
+    public void setListenerDispatcher(ListenerDispatcher dispatcher) {
+        context.setListenerDispatcher(dispatcher);
+    }
+
+    public boolean removeChangeListener(ChangeListener object) {
+        return context.removeChangeListener(object);
+    }
+
+    public void addWeakChangeListener(ChangeListener object) {
+        context.addWeakChangeListener(object);
+    }
+
+    public void addBatchChangeListener(BatchChangeListener listener) {
+        context.addBatchChangeListener(listener);
+    }
+
+    public boolean removeBatchChangeListener(BatchChangeListener listener) {
+        return context.removeBatchChangeListener(listener);
+    }
+
+    /**
+     * The different kinds of rows in the grid.
+     */
+    public enum RowType {
+        FIELD, HEADER, SEPARATOR
+    }
+
+    /**
+     * A single row of the grid. Rows of the type {@link RowType#FIELD} contain the binding of their field,
+     * which is connected to the input field of a cell while the row is visible. The header of a subObject
+     * remembers the object it was created for, so the grid knows when the subObject has been replaced.
+     */
+    public static final class GridRow {
+
+        private final RowType type;
+        private final FieldDescriptor descriptor;
+        private final String label;
+        private final FieldBinding binding;
+        private final Object handle;
+        private final Object subObject;
+        private Tooltip tooltip;
+
+        GridRow(RowType type, FieldDescriptor descriptor, String label, FieldBinding binding) {
+            this.type = type;
+            this.descriptor = descriptor;
+            this.label = label;
+            this.binding = binding;
+            this.handle = null;
+            this.subObject = null;
+        }
+
+        /**
+         * Creates the header of a subObject.
+         *
+         * @param handle    the object the field of the subObject belongs to
+         * @param subObject the value of the field when the header was created
+         */
+        GridRow(FieldDescriptor descriptor, String label, Object handle, Object subObject) {
+            this.type = RowType.HEADER;
+            this.descriptor = descriptor;
+            this.label = label;
+            this.binding = null;
+            this.handle = handle;
+            this.subObject = subObject;
+        }
+
+        /**
+         * @return true if this is the header of a subObject and the field holds another object by now
+         */
+        private boolean subObjectChanged() {
+            return handle != null && descriptor.getAccessor().get(handle) != subObject;
+        }
+
+        public RowType getType() {
+            return type;
+        }
+
+        public FieldDescriptor getDescriptor() {
+            return descriptor;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public FieldBinding getBinding() {
+            return binding;
+        }
+
+        private Tooltip getTooltip() {
+            if (tooltip == null && !descriptor.getTooltip().isEmpty()) {
+                tooltip = new Tooltip(descriptor.getTooltip());
+                tooltip.setWrapText(true);
+            }
+            return tooltip;
+        }
+    }
+
+    /**
+     * A cell that keeps one input field per {@link FieldKind} and connects it to the binding of the row
+     * it currently shows.
+     */
+    private class ReflectorCell extends ListCell<GridRow> {
+
+        private final GridPane pane = new GridPane();
+        private final Label label = new Label();
+        private final Label header = new Label();
+        private final Separator separator = new Separator();
+        private final Map<FieldKind, Control> editors = new EnumMap<>(FieldKind.class);
+
+        private GridRow row;
+        private Control shownEditor;
+        private LabelDisplayOrder shownOrder;
+
+        /**
+         * True while the cell sets up an input field for a new row. Changes of the input
+         * field are not written into the object during that time.
+         */
+        private boolean showing = false;
+
+        ReflectorCell() {
+            pane.setHgap(5);
+            pane.setVgap(5);
+        }
+
+        @Override
+        protected void updateItem(GridRow item, boolean empty) {
+            super.updateItem(item, empty);
+            releaseRow();
+            row = empty ? null : item;
+            setText(null);
+
+            if (row == null) {
+                setGraphic(null);
+                return;
+            }
+            switch (row.type) {
+                case SEPARATOR:
+                    setGraphic(separator);
+                    break;
+                case HEADER:
+                    header.setText(row.label);
+                    setGraphic(header);
+                    break;
+                default:
+                    showField(row);
+                    setGraphic(pane);
+            }
+        }
+
+        /**
+         * Disconnects the input field from the row shown before.
+         */
+        private void releaseRow() {
+            if (row != null && row.binding != null && row.binding.getControl() == shownEditor) {
+                row.binding.actionPerformed();
+                row.binding.setControl(null);
+            }
+        }
+
+        private void showField(GridRow row) {
+            FieldDescriptor descriptor = row.descriptor;
+            Control editor = editors.computeIfAbsent(descriptor.getKind(), this::createEditor);
+
+            showing = true;
+            try {
+                label.setText(row.label);
+                label.setTooltip(row.getTooltip());
+                prepareEditor(editor, row);
+                ReflectionNodeCollection.adjustNodeProperties(editor, descriptor.isEditable(), nodeWidthLimit);
+                row.binding.setControl(editor);
+                row.binding.refresh();
+            } finally {
+                showing = false;
+            }
+
+            if (editor != shownEditor || displayOrder != shownOrder) {
+                pane.getColumnConstraints().clear();
+                if (displayOrder == LabelDisplayOrder.SIDE_BY_SIDE) {
+                    ColumnConstraints labelColumn = new ColumnConstraints();
+                    labelColumn.setPrefWidth(labelWidth);
+                    labelColumn.setMinWidth(labelWidth);
+                    pane.getColumnConstraints().add(labelColumn);
+                }
+                List<Node> nodes = new ArrayList<>(2);
+                displayOrder.addNode(new InsertionPosition(0, 0), label, editor, nodes);
+                pane.getChildren().setAll(nodes);
+                shownEditor = editor;
+                shownOrder = displayOrder;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void prepareEditor(Control editor, GridRow row) {
+            FieldDescriptor descriptor = row.descriptor;
+            switch (descriptor.getKind()) {
+                case COMBO_BOX:
+                    ((ComboBox<Object>) editor).getItems().setAll((Object[]) descriptor.getOptions());
+                    break;
+                case ENUM_COMBO_BOX:
+                    ((ComboBox<Object>) editor).getItems().setAll((Object[]) descriptor.getType().getEnumConstants());
+                    break;
+                case SPINNER:
+                    ((Spinner<Number>) editor).setValueFactory((SpinnerValueFactory<Number>)
+                            ReflectionNodeCollection.createValueFactory(descriptor, row.binding.getValue()));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private Control createEditor(FieldKind kind) {
+            switch (kind) {
+                case COMBO_BOX: {
+                    ComboBox<String> comboBox = new ComboBox<>(FXCollections.observableArrayList());
+                    comboBox.getSelectionModel().selectedItemProperty().addListener((obs, ov, newValue) -> {
+                        if (canWrite()) {
+                            row.binding.writeText(newValue);
+                        }
+                    });
+                    return comboBox;
+                }
+                case ENUM_COMBO_BOX: {
+                    ComboBox<Enum> comboBox = new ComboBox<>(FXCollections.observableArrayList());
+                    comboBox.getSelectionModel().selectedItemProperty().addListener((obs, ov, newValue) -> {
+                        if (canWrite()) {
+                            row.binding.writeEnum(newValue);
+                        }
+                    });
+                    return comboBox;
+                }
+                case SPINNER: {
+                    Spinner<Number> spinner = new Spinner<>();
+                    spinner.valueProperty().addListener((obs, ov, newValue) -> {
+                        if (canWrite()) {
+                            row.binding.writeNumber(newValue);
+                        }
+                    });
+                    return spinner;
+                }
+                case TEXT_FIELD:
+                    return addStringListener(new TextField());
+                case TEXT_AREA:
+                    return addStringListener(new TextArea());
+                default:
+                    throw new IllegalArgumentException("Unknown field type: " + kind);
+            }
+        }
+
+        private TextInputControl addStringListener(TextInputControl textInput) {
+            textInput.textProperty().addListener((obs, ov, newValue) -> {
+                if (canWrite()) {
+                    row.binding.textChanged(newValue);
+                }
+            });
+            ReflectionNodeCollection.addCommitTriggers(textInput, () -> {
+                if (canWrite()) {
+                    row.binding.actionPerformed();
+                }
+            });
+            return textInput;
+        }
+
+        private boolean canWrite() {
+            return !showing && row != null && row.binding != null && !row.binding.isUpdating();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.interfaces.BatchChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@link ChangeListener}s of a single grid. Every grid has its own registry, grids of subObjects share
+ * the one of the grid they are shown in, so a change only calls the listeners of the grid it happened in.
+ *
+ * Listeners can be added and removed from any thread. Notifying them iterates over a snapshot without locking,
+ * as adding listeners is rare compared to changing values. Listeners added with {@link #addWeak(ChangeListener)}
+ * are only weakly referenced and get dropped once they have been garbage collected.
+ *
+ * By default the listeners are called on the thread that changed the value, before the change returns.
+ * With a {@link ListenerDispatcher} they are called on its executor instead.
+ *
+ * While an {@link EditTransaction} of the registry is running, the writers do not notify the listeners but
+ * record their writes in it. The {@link BatchChangeListener}s are only called once a transaction is committed,
+ * always on the thread that commits it.
+ */
+public class ChangeListenerRegistry {
+
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<BatchChangeListener> batchListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The running transaction, or null.
+     */
+    private volatile EditTransaction transaction = null;
+
+    /**
+     * Null while the listeners are called directly.
+     */
+    private volatile ListenerDispatcher dispatcher = null;
+
+    /**
+     * Sets the dispatcher that calls the listeners on another thread, or null to call them directly again.
+     * Notifications already queued by the previous dispatcher are still delivered by it, so they might
+     * arrive after newer ones.
+     *
+     * @param dispatcher the dispatcher to use, or null
+     */
+    public void setDispatcher(ListenerDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public ListenerDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Adds a listener. The registry keeps it alive until it is removed.
+     *
+     * @param listener the listener to add
+     */
+    public void add(ChangeListener listener) {
+        registrations.add(new Registration(Objects.requireNonNull(listener, "The received listener is null!"), false));
+    }
+
+    /**
+     * Adds a listener that is only weakly referenced. Keep a reference to it as long as it should be called,
+     * for example in the window that shows the changes.
+     *
+     * @param listener the listener to add
+     */
+    public void addWeak(ChangeListener listener) {
+        registrations.add(new Registration(Objects.requireNonNull(listener, "The received listener is null!"), true));
+    }
+
+    /**
+     * Removes a listener, no matter if it was added weakly or not. If it was added more than once, only
+     * one of the registrations is removed.
+     *
+     * @param listener the listener to remove
+     * @return true if the listener was registered
+     */
+    public boolean remove(ChangeListener listener) {
+        for (Registration registration : registrations) {
+            if (registration.get() == listener) {
+                return registrations.remove(registration);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if no listeners are registered
+     */
+    public boolean isEmpty() {
+        return registrations.isEmpty() && batchListeners.isEmpty();
+    }
+
+    /**
+     * Adds a listener that is called once per committed {@link EditTransaction}.
+     *
+     * @param listener the listener to add
+     */
+    public void addBatch(BatchChangeListener listener) {
+        batchListeners.add(Objects.requireNonNull(listener, "The received listener is null!"));
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if the listener was registered
+     */
+    public boolean removeBatch(BatchChangeListener listener) {
+        return batchListeners.remove(listener);
+    }
+
+    /**
+     * Starts a transaction. Until it ends, writes trough this registry are recorded in it instead of
+     * notifying the listeners.
+     *
+     * @param journal    the journal the grid records its writes in. Rolling back drops the entries recorded during
+     *                   the transaction, so they can not be redone. May be null.
+     * @param tracker    the tracker the grid marks its writes in. Rolling back sets the marks back to the ones at
+     *                   the start of the transaction. May be null.
+     * @param onRollback called after the transaction has been rolled back, to show the old values again. May be null.
+     * @return the new transaction
+     * @throws IllegalStateException if a transaction is already running
+     */
+    public synchronized EditTransaction begin(EditJournal journal, DirtyTracker tracker, Runnable onRollback) {
+        if (transaction != null) {
+            throw new IllegalStateException("A transaction is already running");
+        }
+        transaction = new EditTransaction(this, journal, tracker, onRollback);
+        return transaction;
+    }
+
+    /**
+     * @return the running transaction, or null
+     */
+    public EditTransaction getTransaction() {
+        return transaction;
+    }
+
+    synchronized void endTransaction(EditTransaction ended) {
+        if (transaction == ended) {
+            transaction = null;
+        }
+    }
+
+    /**
+     * Calls all {@link BatchChangeListener}s with the changes of a committed transaction.
+     */
+    void notifyBatchListeners(Map<Object, Set<Field>> changes) {
+        for (BatchChangeListener listener : batchListeners) {
+            listener.onBatchChanged(changes);
+        }
+    }
+
+    /**
+     * Calls all listeners with the changed field and object.
+     *
+     * @param field  the field that was changed
+     * @param object the object that was changed
+     */
+    public void notifyListeners(Field field, Object object) {
+        dispatch(field, object, false);
+    }
+
+    /**
+     * Calls all listeners once with the field that was changed in several objects, see
+     * {@link ChangeListener#onObjectsValueChanged(Field, List)}.
+     *
+     * @param field   the field that was changed
+     * @param objects the objects that were changed, the List should not be modifiable
+     */
+    public void notifyListenersOfAll(Field field, List<?> objects) {
+        dispatch(field, objects, true);
+    }
+
+    private void dispatch(Field field, Object object, boolean several) {
+        ListenerDispatcher current = dispatcher;
+        boolean collected = false;
+        for (Registration registration : registrations) {
+            ChangeListener listener = registration.get();
+            if (listener == null) {
+                collected = true;
+            } else if (current == null) {
+                call(listener, field, object, several);
+            } else {
+                registration.getLane(current).offer(field, object, several);
+            }
+        }
+        if (collected) {
+            registrations.removeIf(registration -> registration.get() == null);
+        }
+    }
+
+    /**
+     * @param several true if the object is the List of objects that were changed
+     */
+    static void call(ChangeListener listener, Field field, Object object, boolean several) {
+        if (several) {
+            listener.onObjectsValueChanged(field, (List<?>) object);
+        } else {
+            listener.onObjectValueChanged(field, object);
+        }
+    }
+
+    static final class Registration {
+
+        private final ChangeListener listener;
+        private final WeakReference<ChangeListener> weakListener;
+
+        /**
+         * The queue of this listener in the current {@link ListenerDispatcher}, created on first use.
+         */
+        private ListenerDispatcher.Lane lane;
+
+        Registration(ChangeListener listener, boolean weak) {
+            this.listener = weak ? null : listener;
+            this.weakListener = weak ? new WeakReference<>(listener) : null;
+        }
+
+        ChangeListener get() {
+            return weakListener == null ? listener : weakListener.get();
+        }
+
+        synchronized ListenerDispatcher.Lane getLane(ListenerDispatcher dispatcher) {
+            if (lane == null || lane.getDispatcher() != dispatcher) {
+                lane = dispatcher.createLane(this);
+            }
+            return lane;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+/**
+ * Describes when the text typed into a TextField or TextArea is written into the field.
+ *
+ * Selecting an entry of a ComboBox or stepping a Spinner is a single change already, those are always
+ * written right away.
+ */
+public enum CommitPolicy {
+    /**
+     * Only usable in the annotation: the field uses the policy of the grid.
+     */
+    INHERIT,
+
+    /**
+     * Every change of the text is written right away, one write per keystroke.
+     */
+    IMMEDIATE,
+
+    /**
+     * The text is written once the user stopped typing for the delay of the grid or the field,
+     * or when the input field loses the focus.
+     */
+    DEBOUNCED,
+
+    /**
+     * The text is written when the user presses Enter (Ctrl+Enter in a TextArea) or the input field
+     * loses the focus.
+     */
+    ON_ACTION,
+
+    /**
+     * The text is only written when the commit function of the grid is called, for example by an
+     * "Apply" button.
+     */
+    EXPLICIT
+}
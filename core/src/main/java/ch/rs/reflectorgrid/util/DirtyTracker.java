@@ -0,0 +1,240 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.interfaces.DirtyFieldSink;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers which fields of which objects have been changed trough a grid since they were last marked clean,
+ * so only those have to be saved or synced.
+ *
+ * Every object with changed fields gets a {@link BitSet}, indexed by the ordinal of the field in its
+ * {@link ClassDescriptor}. Marking a field costs one lookup of the object and setting a bit, and nothing is
+ * compared while editing. Objects are only kept while they have dirty fields, so marking them clean releases them.
+ *
+ * The tracker can be used from any thread.
+ */
+public class DirtyTracker {
+
+    private final Map<Object, BitSet> dirty = new IdentityHashMap<>();
+
+    /**
+     * Marks a field of an object as dirty.
+     *
+     * @param object  the changed object
+     * @param ordinal the ordinal of the changed field, see {@link FieldDescriptor#getOrdinal()}
+     */
+    public synchronized void mark(Object object, int ordinal) {
+        BitSet bits = dirty.get(object);
+        if (bits == null) {
+            bits = new BitSet();
+            dirty.put(object, bits);
+        }
+        bits.set(ordinal);
+    }
+
+    /**
+     * Marks a field of several objects as dirty, see {@link #mark(Object, int)}.
+     */
+    public synchronized void markAll(List<?> objects, int ordinal) {
+        for (int i = 0; i < objects.size(); i++) {
+            mark(objects.get(i), ordinal);
+        }
+    }
+
+    /**
+     * @return true if any field of any object is dirty
+     */
+    public synchronized boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * @return true if any field of the object is dirty
+     */
+    public synchronized boolean isDirty(Object object) {
+        return dirty.containsKey(object);
+    }
+
+    /**
+     * @return true if the given field of the object is dirty
+     */
+    public synchronized boolean isDirty(Object object, FieldDescriptor field) {
+        BitSet bits = dirty.get(object);
+        return bits != null && bits.get(field.getOrdinal());
+    }
+
+    /**
+     * @return the objects that have dirty fields, compared by identity
+     */
+    public synchronized Set<Object> getDirtyObjects() {
+        Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+        objects.addAll(dirty.keySet());
+        return objects;
+    }
+
+    /**
+     * @return the descriptors of the dirty fields of the object, in the order of the grid
+     */
+    public List<FieldDescriptor> getDirtyFields(Object object) {
+        BitSet bits;
+        synchronized (this) {
+            BitSet current = dirty.get(object);
+            if (current == null) {
+                return Collections.emptyList();
+            }
+            bits = (BitSet) current.clone();
+        }
+        return toDescriptors(object, bits);
+    }
+
+    /**
+     * Marks all fields of all objects as clean.
+     */
+    public synchronized void markClean() {
+        dirty.clear();
+    }
+
+    /**
+     * Marks all fields of the object as clean.
+     */
+    public synchronized void markClean(Object object) {
+        dirty.remove(object);
+    }
+
+    /**
+     * Remembers which fields are dirty right now, to go back to it with {@link #rewind(Checkpoint)}.
+     *
+     * @return the checkpoint of the current marks
+     */
+    public synchronized Checkpoint checkpoint() {
+        return new Checkpoint(this, copy(dirty));
+    }
+
+    /**
+     * Replaces all marks with the ones of a checkpoint, so fields marked since are clean again and fields marked
+     * clean since are dirty again.
+     *
+     * @param checkpoint a checkpoint of this tracker
+     * @throws IllegalArgumentException if the checkpoint belongs to another tracker
+     */
+    public synchronized void rewind(Checkpoint checkpoint) {
+        if (checkpoint.tracker != this) {
+            throw new IllegalArgumentException("The checkpoint belongs to another tracker");
+        }
+        dirty.clear();
+        dirty.putAll(copy(checkpoint.dirty));
+    }
+
+    private static Map<Object, BitSet> copy(Map<Object, BitSet> marks) {
+        Map<Object, BitSet> copy = new IdentityHashMap<>();
+        for (Map.Entry<Object, BitSet> entry : marks.entrySet()) {
+            copy.put(entry.getKey(), (BitSet) entry.getValue().clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Passes every dirty field with its current value to the sink, object by object, and marks the written
+     * fields clean. The fields of an object are marked clean before the sink gets them, so fields that get
+     * changed while the sink is running are marked again and stay dirty. If the sink throws, all fields of the
+     * current object are marked dirty again, aswell as the ones of the objects not written yet.
+     *
+     * @param sink the sink to write the fields to
+     * @return the number of fields written
+     */
+    public int writeDirty(DirtyFieldSink sink) {
+        List<Object> objects;
+        synchronized (this) {
+            objects = new ArrayList<>(dirty.keySet());
+        }
+        int written = 0;
+        for (Object object : objects) {
+            BitSet bits;
+            synchronized (this) {
+                bits = dirty.remove(object);
+            }
+            if (bits == null) {
+                continue;
+            }
+            boolean done = false;
+            try {
+                for (FieldDescriptor field : toDescriptors(object, bits)) {
+                    sink.write(object, field, field.getAccessor().get(object));
+                    written++;
+                }
+                done = true;
+            } finally {
+                if (!done) {
+                    remark(object, bits);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Marks the fields of an object dirty again, together with the ones marked since.
+     */
+    private synchronized void remark(Object object, BitSet bits) {
+        BitSet current = dirty.get(object);
+        if (current != null) {
+            bits.or(current);
+        }
+        dirty.put(object, bits);
+    }
+
+    private static List<FieldDescriptor> toDescriptors(Object object, BitSet bits) {
+        List<FieldDescriptor> descriptors = ClassDescriptor.of(object.getClass()).getFields();
+        List<FieldDescriptor> fields = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            fields.add(descriptors.get(i));
+        }
+        return fields;
+    }
+
+    /**
+     * The marks of a tracker at one point in time, see {@link #checkpoint()}.
+     */
+    public static final class Checkpoint {
+
+        private final DirtyTracker tracker;
+        private final Map<Object, BitSet> dirty;
+
+        private Checkpoint(DirtyTracker tracker, Map<Object, BitSet> dirty) {
+            this.tracker = tracker;
+            this.dirty = dirty;
+        }
+    }
+}
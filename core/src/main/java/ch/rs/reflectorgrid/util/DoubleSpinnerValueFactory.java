@@ -0,0 +1,154 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.typeconversion.PrimitiveParser;
+
+/**
+ * SpinnerValueFactory for double and float fields.
+ *
+ * After every step the value is rounded to the decimal places of the step or of the previous value, whichever
+ * has more, so stepping 0.1 by 0.2 shows 0.3 and not 0.30000000000000004. For float fields every value is
+ * rounded to the nearest float and shown the way the float prints, so the Spinner shows what the field holds.
+ */
+public class DoubleSpinnerValueFactory extends PrimitiveSpinnerValueFactory<Double> {
+
+    /**
+     * Values with more decimal places are not rounded after a step.
+     */
+    private static final int MAX_DECIMALS = 15;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_DECIMALS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_DECIMALS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final double min;
+    private final double max;
+    private final double amountToStepBy;
+    private final int stepDecimals;
+    private final boolean singlePrecision;
+
+    /**
+     * @param min             the smallest value of the Spinner
+     * @param max             the largest value of the Spinner
+     * @param initialValue    the first value, shown as it is, or null for an empty editor
+     * @param amountToStepBy  the amount added or removed per step, has to be positive
+     * @param singlePrecision true if the values are written into a float field
+     */
+    public DoubleSpinnerValueFactory(double min, double max, Double initialValue, double amountToStepBy,
+                                     boolean singlePrecision) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("min " + min + " is larger than max " + max);
+        }
+        if (!(amountToStepBy > 0) || Double.isInfinite(amountToStepBy)) {
+            throw new IllegalArgumentException("The step has to be positive, was " + amountToStepBy);
+        }
+        this.min = min;
+        this.max = max;
+        this.amountToStepBy = amountToStepBy;
+        this.stepDecimals = decimalsOf(amountToStepBy);
+        this.singlePrecision = singlePrecision;
+        setValue(initialValue == null ? null : toValue(initialValue));
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getAmountToStepBy() {
+        return amountToStepBy;
+    }
+
+    @Override
+    protected void move(long steps) {
+        double value = getValue();
+        int valueDecimals = decimalsOf(value);
+        double next = value + steps * amountToStepBy;
+        if (stepDecimals >= 0 && valueDecimals >= 0) {
+            next = round(next, Math.max(stepDecimals, valueDecimals));
+        }
+        if (next > max) {
+            next = isWrapAround() ? min : max;
+        } else if (next < min) {
+            next = isWrapAround() ? max : min;
+        }
+        setValue(toValue(next));
+    }
+
+    @Override
+    protected Double toValue(Number number) {
+        double value = number.doubleValue();
+        if (singlePrecision) {
+            return Double.valueOf(Float.toString((float) value));
+        }
+        return value;
+    }
+
+    @Override
+    protected Double clamp(Number number) {
+        return toValue(Math.max(min, Math.min(max, number.doubleValue())));
+    }
+
+    @Override
+    protected Double parse(String text) {
+        return clamp(PrimitiveParser.parseDouble(text));
+    }
+
+    /**
+     * @return the amount of decimal places needed to write the value, or -1 if it needs more than
+     * {@link #MAX_DECIMALS}
+     */
+    private static int decimalsOf(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return -1;
+        }
+        for (int decimals = 0; decimals <= MAX_DECIMALS; decimals++) {
+            double scaled = value * POWERS_OF_TEN[decimals];
+            if (scaled == Math.rint(scaled)) {
+                return decimals;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rounds the value to the given decimal places, as long as the scaled value is still an exact integer.
+     */
+    private static double round(double value, int decimals) {
+        double scaled = value * POWERS_OF_TEN[decimals];
+        if (Math.abs(scaled) >= 0x1p53) {
+            return value;
+        }
+        return Math.rint(scaled) / POWERS_OF_TEN[decimals];
+    }
+}
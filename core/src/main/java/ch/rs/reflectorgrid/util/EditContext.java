@@ -0,0 +1,526 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.interfaces.BatchChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.DirtyFieldSink;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.snapshot.SnapshotCodec;
+import ch.rs.reflectorgrid.util.statics.FieldWriter;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * The editing state of a grid: its listeners, converters, commit policy, undo journal and dirty fields, and
+ * everything that works on them. The ReflectorGrid, the VirtualReflectorGrid and the ReflectorTable each own
+ * one and delegate to it, grids of subObjects share the one of the grid they are shown in.
+ *
+ * The grid passes in how to reach the {@link FieldBinding}s it currently shows, and how to show the values of
+ * all its fields again. Everything else is kept here.
+ */
+public class EditContext {
+
+    /**
+     * The standard value of {@link #setCommitDelay(Duration)}.
+     */
+    public static final Duration DEFAULT_COMMIT_DELAY = Duration.millis(300);
+
+    private final ChangeListenerRegistry listeners = new ChangeListenerRegistry();
+
+    private final DirtyTracker dirtyTracker = new DirtyTracker();
+
+    /**
+     * The converters of the grid, layered over the global ones.
+     */
+    private final TypeConverterCollection converters = new TypeConverterCollection(TypeConverterCollection.getGlobal());
+
+    /**
+     * Adds the bindings the grid currently shows to a list.
+     */
+    private final Consumer<List<FieldBinding>> bindingCollector;
+
+    /**
+     * Shows the values of all fields of the grid again.
+     */
+    private final Runnable refresher;
+
+    /**
+     * Records the writes of the bindings for {@link #undo()} and {@link #redo()}.
+     */
+    private EditJournal journal = new EditJournal(EditJournal.DEFAULT_CAPACITY);
+
+    /**
+     * When typed text is written into the fields that do not set their own policy.
+     */
+    private CommitPolicy commitPolicy = CommitPolicy.IMMEDIATE;
+
+    /**
+     * The delay of {@link CommitPolicy#DEBOUNCED} for fields that do not set their own delay.
+     */
+    private Duration commitDelay = DEFAULT_COMMIT_DELAY;
+
+    /**
+     * Created once the live refresh is turned on, see {@link #setLiveRefresh(boolean)}.
+     */
+    private volatile LiveRefresher liveRefresher = null;
+
+    /**
+     * @param bindingCollector adds the bindings the grid currently shows to the list it gets
+     * @param refresher        shows the values of all fields of the grid again
+     */
+    public EditContext(Consumer<List<FieldBinding>> bindingCollector, Runnable refresher) {
+        this.bindingCollector = Objects.requireNonNull(bindingCollector, "The received Consumer is null!");
+        this.refresher = Objects.requireNonNull(refresher, "The received Runnable is null!");
+    }
+
+    /**
+     * Takes over the commit policy, the commit delay and the undo capacity of another context.
+     *
+     * @param other the context to copy the settings of
+     */
+    public void copySettings(EditContext other) {
+        commitPolicy = other.commitPolicy;
+        commitDelay = other.commitDelay;
+        journal = new EditJournal(other.journal.getCapacity());
+    }
+
+    /**
+     * Connects a new binding of the grid to the journal and the dirty tracker, and sets its commit policy. The
+     * policy and delay of the field are used if it sets its own, otherwise the ones of this context.
+     *
+     * @param binding    the binding to set up, created with the listeners and converters of this context
+     * @param descriptor the field it binds
+     */
+    public void configure(FieldBinding binding, FieldDescriptor descriptor) {
+        binding.setCommitPolicy(
+                descriptor.getCommitPolicy() == CommitPolicy.INHERIT ? commitPolicy : descriptor.getCommitPolicy(),
+                descriptor.getCommitDelay() < 0 ? commitDelay : Duration.millis(descriptor.getCommitDelay()));
+        binding.setJournal(journal);
+        binding.setDirtyTracker(dirtyTracker, descriptor.getOrdinal());
+        bindingsChanged();
+    }
+
+    /**
+     * Tells the live refresher that bindings of the grid have been created, removed or pointed at other
+     * objects. {@link #configure(FieldBinding, FieldDescriptor)} calls it for every new binding, the grids call
+     * it after removing or rebinding them.
+     * <p>
+     * {@link LiveRefresher#bindingsChanged()} for more information
+     */
+    public void bindingsChanged() {
+        LiveRefresher refresher = liveRefresher;
+        if (refresher != null) {
+            refresher.bindingsChanged();
+        }
+    }
+
+    public ChangeListenerRegistry getListeners() {
+        return listeners;
+    }
+
+    public TypeConverterCollection getConverters() {
+        return converters;
+    }
+
+    public EditJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return the tracker of the fields changed in the grid
+     */
+    public DirtyTracker getDirtyTracker() {
+        return dirtyTracker;
+    }
+
+    /**
+     * Use this function to add an object, for example from the GUI, to be called every time a value
+     * is updated trough reflection.
+     *
+     * The listener is only called for changes made in the grid, and is kept until it is removed with
+     * {@link #removeChangeListener(ChangeListener)}.
+     *
+     * @param listener an object that implemented  {@link ChangeListener}
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener the same way as {@link #addChangeListener(ChangeListener)}, but only keeps a weak
+     * reference to it. Once nothing else references the listener, it is removed from the grid.
+     *
+     * @param listener an object that implemented  {@link ChangeListener}
+     */
+    public void addWeakChangeListener(ChangeListener listener) {
+        listeners.addWeak(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addChangeListener(ChangeListener)} or
+     * {@link #addWeakChangeListener(ChangeListener)}.
+     *
+     * @param listener the listener to remove
+     * @return true if the listener was registered in the grid
+     */
+    public boolean removeChangeListener(ChangeListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Adds a listener that is called once per committed transaction of the grid, see {@link #begin()}.
+     *
+     * @param listener an object that implemented {@link BatchChangeListener}
+     */
+    public void addBatchChangeListener(BatchChangeListener listener) {
+        listeners.addBatch(listener);
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if the listener was registered in the grid
+     */
+    public boolean removeBatchChangeListener(BatchChangeListener listener) {
+        return listeners.removeBatch(listener);
+    }
+
+    /**
+     * Calls the {@link ChangeListener}s on the executor of the dispatcher instead of the JavaFX Application
+     * Thread, so slow listeners do not make typing lag. Every listener still gets the changes in order. The
+     * objects implementing ObjectChangeListener are always called directly.
+     * Standard is null, which calls the listeners directly.
+     * <p>
+     * {@link ListenerDispatcher} for more information
+     *
+     * @param dispatcher the dispatcher to use, or null
+     */
+    public void setListenerDispatcher(ListenerDispatcher dispatcher) {
+        listeners.setDispatcher(dispatcher);
+    }
+
+    /**
+     * Adds a converter used by the grid only, on top of the global ones of
+     * {@link TypeConverterCollection#getGlobal()}. It is also used for subclasses and implementations of the
+     * class that do not have their own converter. Only bindings created afterwards use it.
+     *
+     * @param clazz     the class to convert
+     * @param converter the converter for the class
+     * @param <T>       the type of the class
+     */
+    public <T> void addConverter(Class<T> clazz, StringConverter<T> converter) {
+        converters.addConverter(clazz, converter);
+    }
+
+    /**
+     * Starts a transaction for the grid. Until it is committed or rolled back, changes made in the grid and with
+     * {@link #setValue(Object, String, Object)} do not call any listener. Committing calls every
+     * {@link BatchChangeListener} once with all changes, rolling back writes the old values back and shows them,
+     * and drops the undo entries and dirty marks of the transaction.
+     * <p>
+     * {@link EditTransaction} for more information
+     *
+     * @return the new transaction
+     * @throws IllegalStateException if a transaction of the grid is already running
+     */
+    public EditTransaction begin() {
+        return listeners.begin(journal, dirtyTracker, refresher);
+    }
+
+    /**
+     * Writes a value into an annotated field of an object shown in the grid, the same way an input field
+     * does, and shows it. The value is converted to the type of the field if needed.
+     *
+     * @param object    the object to write into
+     * @param fieldName the name of the field
+     * @param value     the new value
+     * @throws IllegalArgumentException if the class of the object has no annotated field of that name
+     */
+    public void setValue(Object object, String fieldName, Object value) {
+        Field field = EditTransaction.findField(object, fieldName);
+        FieldWriter.of(field, converters).writeObject(object, value, listeners);
+        refreshShown(field, object, null);
+    }
+
+    /**
+     * Undoes the last change made in the grid. The old value is written back into the field, and only the
+     * Controls of that field are refreshed.
+     * <p>
+     * {@link EditJournal} for more information
+     *
+     * @return true if a change was undone
+     */
+    public boolean undo() {
+        return refreshRestored(journal.undo());
+    }
+
+    /**
+     * Redoes the last change undone with {@link #undo()}.
+     *
+     * @return true if a change was redone
+     */
+    public boolean redo() {
+        return refreshRestored(journal.redo());
+    }
+
+    public boolean canUndo() {
+        return journal.canUndo();
+    }
+
+    public boolean canRedo() {
+        return journal.canRedo();
+    }
+
+    /**
+     * Sets how many changes can be undone, 0 turns undoing off. The changes recorded so far are dropped.
+     *
+     * @param capacity the number of changes kept, {@link EditJournal#DEFAULT_CAPACITY} by default
+     */
+    public void setUndoCapacity(int capacity) {
+        journal = new EditJournal(capacity);
+        for (FieldBinding binding : collectBindings()) {
+            binding.setJournal(journal);
+        }
+    }
+
+    /**
+     * The restored binding has already refreshed its Control. If the grid has been generated again since the
+     * change, the Controls now showing the same field are refreshed instead.
+     */
+    private boolean refreshRestored(FieldBinding restored) {
+        if (restored == null) {
+            return false;
+        }
+        refreshShown(restored.getField(), restored.getHandle(), restored);
+        return true;
+    }
+
+    /**
+     * Refreshes the Controls of the grid that show the field of the object.
+     *
+     * @param skipped a binding that does not need to be refreshed, or null
+     */
+    private void refreshShown(Field field, Object handle, FieldBinding skipped) {
+        for (FieldBinding binding : collectBindings()) {
+            if (binding != skipped && binding.getField() == field && binding.getHandle() == handle) {
+                binding.refresh();
+            }
+        }
+    }
+
+    private List<FieldBinding> collectBindings() {
+        List<FieldBinding> bindings = new ArrayList<>();
+        bindingCollector.accept(bindings);
+        return bindings;
+    }
+
+    /**
+     * @param object an object shown in the grid
+     * @return the fields of the object that have been changed in the grid since it was last marked clean
+     */
+    public List<FieldDescriptor> getDirtyFields(Object object) {
+        return dirtyTracker.getDirtyFields(object);
+    }
+
+    /**
+     * @return true if any field has been changed in the grid since it was last marked clean
+     */
+    public boolean isDirty() {
+        return dirtyTracker.isDirty();
+    }
+
+    /**
+     * Forgets all changes made in the grid so far, for example after saving them.
+     */
+    public void markClean() {
+        dirtyTracker.markClean();
+    }
+
+    /**
+     * Passes only the changed fields with their current values to the sink and marks them clean.
+     * <p>
+     * {@link DirtyTracker#writeDirty(DirtyFieldSink)} for more information
+     *
+     * @param sink the sink to write the fields to
+     * @return the number of fields written
+     */
+    public int writeDirty(DirtyFieldSink sink) {
+        return dirtyTracker.writeDirty(sink);
+    }
+
+    /**
+     * Writes all text that has been typed into the grid, but not written yet because of the
+     * {@link CommitPolicy}. This is the only way text gets written with {@link CommitPolicy#EXPLICIT}.
+     *
+     * @return true if any text was written
+     */
+    public boolean commit() {
+        boolean committed = false;
+        for (FieldBinding binding : collectBindings()) {
+            committed |= binding.commit();
+        }
+        return committed;
+    }
+
+    /**
+     * Drops all text that has been typed but not written yet, and shows the values of the fields again.
+     *
+     * @return true if any text was dropped
+     */
+    public boolean discardChanges() {
+        boolean discarded = false;
+        for (FieldBinding binding : collectBindings()) {
+            discarded |= binding.discard();
+        }
+        return discarded;
+    }
+
+    /**
+     * @return true if the grid contains text that has not been written yet
+     */
+    public boolean hasPendingChanges() {
+        for (FieldBinding binding : collectBindings()) {
+            if (binding.hasPendingChange()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * Sets when text typed into TextFields and TextAreas is written into the fields. Fields can override
+     * this with {@link ch.rs.reflectorgrid.util.annotations.TransferGrid#commitPolicy()}.
+     * Standard is set to {@link CommitPolicy#IMMEDIATE}. Only bindings created afterwards use it.
+     *
+     * @param policy the policy to use, not {@link CommitPolicy#INHERIT}
+     */
+    public void setCommitPolicy(CommitPolicy policy) {
+        if (Objects.requireNonNull(policy, "The received CommitPolicy is null!") == CommitPolicy.INHERIT) {
+            throw new IllegalArgumentException("The commit policy of a grid can't be INHERIT");
+        }
+        commitPolicy = policy;
+    }
+
+    public Duration getCommitDelay() {
+        return commitDelay;
+    }
+
+    /**
+     * Sets how long after the last keystroke text gets written with {@link CommitPolicy#DEBOUNCED}.
+     * Fields can override this with {@link ch.rs.reflectorgrid.util.annotations.TransferGrid#commitDelay()}.
+     * Standard is set to {@link #DEFAULT_COMMIT_DELAY}. Only bindings created afterwards use it.
+     *
+     * @param delay the delay after the last change
+     */
+    public void setCommitDelay(Duration delay) {
+        commitDelay = Objects.requireNonNull(delay, "The received Duration is null!");
+    }
+
+    /**
+     * Writes the annotated fields of an object and its subObjects into a file.
+     * {@link SnapshotCodec} for more information
+     *
+     * @param object the object shown in the grid
+     * @param file   the file to write, its content is replaced
+     * @throws IOException if the file can not be written
+     */
+    public void saveSnapshot(Object object, Path file) throws IOException {
+        new SnapshotCodec(converters).write(object, file);
+    }
+
+    /**
+     * Reads a file written by {@link #saveSnapshot(Object, Path)} back into an object. The object and its
+     * subObjects are filled in place, so the grid only refreshes the values that changed instead of being
+     * generated again. Text that has not been written yet is dropped, and the changes can not be undone.
+     * No ChangeListener is called for the restored fields, but every field the snapshot changed is marked in the
+     * {@link #getDirtyTracker() DirtyTracker}, so {@link #writeDirty(DirtyFieldSink)} passes the restored values on.
+     *
+     * @param object the object shown in the grid
+     * @param file   the file to read
+     * @throws IOException              if the file can not be read
+     * @throws IllegalArgumentException if the file is not a snapshot of the class of the object
+     */
+    public void restoreSnapshot(Object object, Path file) throws IOException {
+        new SnapshotCodec(converters).readInto(file, object, dirtyTracker);
+        discardChanges();
+        journal.clear();
+        refresher.run();
+    }
+
+    /**
+     * Turns the live refresh of the grid on or off. While it is on, other threads can report changes of the
+     * shown objects with {@link #reportChange(Object, String)}, and the Controls of the changed fields are
+     * refreshed once per JavaFX pulse, at most {@link LiveRefresher#DEFAULT_MAX_REFRESH_RATE} times per second.
+     * Has to be called on the JavaFX Application Thread.
+     * <p>
+     * {@link LiveRefresher} for more information
+     *
+     * @param enabled true to show reported changes
+     */
+    public void setLiveRefresh(boolean enabled) {
+        if (enabled) {
+            if (liveRefresher == null) {
+                liveRefresher = new LiveRefresher(bindingCollector);
+            }
+            liveRefresher.start();
+        } else if (liveRefresher != null) {
+            liveRefresher.stop();
+        }
+    }
+
+    /**
+     * Reports that another thread changed a field of an object shown in the grid. Can be called from any
+     * thread, and as often as the field changes. Ignored while the live refresh is off.
+     *
+     * @param object    the changed object
+     * @param fieldName the name of the changed field, or null if any of its fields might have changed
+     */
+    public void reportChange(Object object, String fieldName) {
+        LiveRefresher refresher = liveRefresher;
+        if (refresher != null) {
+            refresher.report(object, fieldName);
+        }
+    }
+
+    /**
+     * @return the live refresher of the grid, to set its refresh rate. Null until the live refresh has been
+     * turned on once.
+     */
+    public LiveRefresher getLiveRefresher() {
+        return liveRefresher;
+    }
+}
@@ -0,0 +1,269 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Records the values the Controls of a grid write into their fields, so they can be undone and redone.
+ *
+ * Every write is stored as the {@link FieldBinding} that did it, the object it wrote into and the value
+ * of the field before and after. The entries are kept in a ring buffer of fixed size, once it is full the
+ * oldest entry is overwritten. The journal never holds more than its capacity, no matter how long the
+ * grid is being used.
+ *
+ * Writes of the same binding into the same object directly after another are merged into one entry, so
+ * typing a word is undone in one step. The merging stops once another field is written, the Control
+ * fires its action (Enter or loss of focus), or something is undone or redone. Writes that do not
+ * change the value are not recorded.
+ *
+ * Undoing and redoing writes the recorded value back trough the same {@link ch.rs.reflectorgrid.util.statics.FieldWriter}
+ * the Control uses, so the listeners are called aswell, and only the Control of that binding is refreshed.
+ * The journal is not thread safe, it has to be used on the JavaFX Application Thread.
+ */
+public class EditJournal {
+
+    /**
+     * The standard capacity of the journal of a grid.
+     */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final int capacity;
+    private final FieldBinding[] bindings;
+    private final Object[] targets;
+    private final Object[] before;
+    private final Object[] after;
+
+    /**
+     * The slot of the oldest entry.
+     */
+    private int start = 0;
+
+    /**
+     * The number of entries, undone ones included.
+     */
+    private int size = 0;
+
+    /**
+     * The number of entries that can be undone. The entries after them can be redone.
+     */
+    private int cursor = 0;
+
+    /**
+     * True while the newest entry can still be merged with the next write.
+     */
+    private boolean open = false;
+
+    /**
+     * @param capacity the maximum number of entries, 0 records nothing
+     */
+    public EditJournal(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity of a journal can't be negative");
+        }
+        this.capacity = capacity;
+        this.bindings = new FieldBinding[capacity];
+        this.targets = new Object[capacity];
+        this.before = new Object[capacity];
+        this.after = new Object[capacity];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Records a write of a binding. Entries that have been undone are dropped, they can't be redone anymore.
+     *
+     * @param binding     the binding that wrote the value
+     * @param target      the object or objects written into
+     * @param valueBefore the value of the field before the write
+     * @param valueAfter  the value of the field after the write
+     */
+    public void record(FieldBinding binding, Object target, Object valueBefore, Object valueAfter) {
+        if (capacity == 0) {
+            return;
+        }
+        if (open && cursor == size && cursor > 0) {
+            int last = slot(cursor - 1);
+            if (bindings[last] == binding && targets[last] == target) {
+                after[last] = valueAfter;
+                if (Objects.deepEquals(before[last], valueAfter)) {
+                    clear(last);
+                    size--;
+                    cursor--;
+                    open = false;
+                }
+                return;
+            }
+        }
+        if (Objects.deepEquals(valueBefore, valueAfter)) {
+            return;
+        }
+        while (size > cursor) {
+            clear(slot(--size));
+        }
+        if (size == capacity) {
+            clear(start);
+            start = slot(1);
+            size--;
+        }
+        int slot = slot(size);
+        bindings[slot] = binding;
+        targets[slot] = target;
+        before[slot] = valueBefore;
+        after[slot] = valueAfter;
+        size++;
+        cursor = size;
+        open = true;
+    }
+
+    /**
+     * Ends merging, the next write gets its own entry.
+     */
+    public void seal() {
+        open = false;
+    }
+
+    /**
+     * Writes the value before the newest entry that has not been undone back into its field.
+     *
+     * @return the binding of the undone entry, or null if there was nothing to undo
+     */
+    public FieldBinding undo() {
+        if (cursor == 0) {
+            return null;
+        }
+        open = false;
+        int slot = slot(--cursor);
+        bindings[slot].restore(targets[slot], before[slot]);
+        return bindings[slot];
+    }
+
+    /**
+     * Writes the value of the oldest undone entry back into its field.
+     *
+     * @return the binding of the redone entry, or null if there was nothing to redo
+     */
+    public FieldBinding redo() {
+        if (cursor == size) {
+            return null;
+        }
+        open = false;
+        int slot = slot(cursor++);
+        bindings[slot].restore(targets[slot], after[slot]);
+        return bindings[slot];
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Drops all entries.
+     */
+    public void clear() {
+        Arrays.fill(bindings, null);
+        Arrays.fill(targets, null);
+        Arrays.fill(before, null);
+        Arrays.fill(after, null);
+        start = 0;
+        size = 0;
+        cursor = 0;
+        open = false;
+    }
+
+    /**
+     * Remembers the current entries and position of the journal, to go back to them with
+     * {@link #rewind(Checkpoint)}.
+     *
+     * @return the checkpoint of the current state
+     */
+    public Checkpoint checkpoint() {
+        return new Checkpoint(this);
+    }
+
+    /**
+     * Sets the journal back to the state of a checkpoint, dropping every entry recorded since. Entries that have
+     * been overwritten or dropped since are restored aswell. The fields are not written.
+     *
+     * @param checkpoint a checkpoint of this journal
+     * @throws IllegalArgumentException if the checkpoint belongs to another journal
+     */
+    public void rewind(Checkpoint checkpoint) {
+        if (checkpoint.journal != this) {
+            throw new IllegalArgumentException("The checkpoint belongs to another journal");
+        }
+        System.arraycopy(checkpoint.bindings, 0, bindings, 0, capacity);
+        System.arraycopy(checkpoint.targets, 0, targets, 0, capacity);
+        System.arraycopy(checkpoint.before, 0, before, 0, capacity);
+        System.arraycopy(checkpoint.after, 0, after, 0, capacity);
+        start = checkpoint.start;
+        size = checkpoint.size;
+        cursor = checkpoint.cursor;
+        open = false;
+    }
+
+    private int slot(int index) {
+        return (start + index) % capacity;
+    }
+
+    private void clear(int slot) {
+        bindings[slot] = null;
+        targets[slot] = null;
+        before[slot] = null;
+        after[slot] = null;
+    }
+
+    /**
+     * The state of a journal at one point in time, see {@link #checkpoint()}.
+     */
+    public static final class Checkpoint {
+
+        private final EditJournal journal;
+        private final FieldBinding[] bindings;
+        private final Object[] targets;
+        private final Object[] before;
+        private final Object[] after;
+        private final int start;
+        private final int size;
+        private final int cursor;
+
+        private Checkpoint(EditJournal journal) {
+            this.journal = journal;
+            this.bindings = journal.bindings.clone();
+            this.targets = journal.targets.clone();
+            this.before = journal.before.clone();
+            this.after = journal.after.clone();
+            this.start = journal.start;
+            this.size = journal.size;
+            this.cursor = journal.cursor;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.interfaces.BatchChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.interfaces.ObjectChangeListener;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.statics.FieldWriter;
+import ch.rs.reflectorgrid.util.statics.ReflectionHelper;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups many writes into the fields of a grid into one change. Started with the begin method of a grid,
+ * and ended with either {@link #commit()} or {@link #rollback()}.
+ *
+ * While the transaction is running, neither the {@link ObjectChangeListener}s of the written objects nor the
+ * {@link ChangeListener}s are called. Instead the transaction remembers which fields of which objects have
+ * been written, and the value they had before the first write. This includes the writes of the Controls of
+ * the grid, and the ones done with {@link #setValue(Object, String, Object)}.
+ *
+ * On {@link #commit()} every {@link BatchChangeListener} is called once with all changes. The ObjectChangeListeners
+ * and ChangeListeners are called afterwards, but only once per changed field, no matter how often it was written.
+ * {@link #rollback()} writes the remembered values back without calling any listener. It also sets the
+ * {@link EditJournal} and the {@link DirtyTracker} of the grid back to the state they had when the transaction
+ * started, so the rolled back writes can neither be redone nor show up as dirty.
+ *
+ * A transaction belongs to the thread that started it, only that thread should write while it is running.
+ */
+public class EditTransaction {
+
+    private final ChangeListenerRegistry listeners;
+    private final Runnable onRollback;
+    private final EditJournal journal;
+    private final EditJournal.Checkpoint journalCheckpoint;
+    private final DirtyTracker tracker;
+    private final DirtyTracker.Checkpoint trackerCheckpoint;
+
+    /**
+     * The value of every written field before its first write, per object.
+     */
+    private final Map<Object, Map<Field, Object>> originals = new IdentityHashMap<>();
+
+    private boolean active = true;
+
+    EditTransaction(ChangeListenerRegistry listeners, EditJournal journal, DirtyTracker tracker,
+                    Runnable onRollback) {
+        this.listeners = listeners;
+        this.onRollback = onRollback;
+        this.journal = journal;
+        this.journalCheckpoint = journal == null ? null : journal.checkpoint();
+        this.tracker = tracker;
+        this.trackerCheckpoint = tracker == null ? null : tracker.checkpoint();
+    }
+
+    /**
+     * Called by the {@link FieldWriter} before a field is written. Only the first value of a field is kept.
+     *
+     * @param field  the field that is about to be written
+     * @param object the object it belongs to
+     * @param value  the value of the field before the write
+     */
+    public void record(Field field, Object object, Object value) {
+        if (!active) {
+            throw new IllegalStateException("The transaction has already ended");
+        }
+        originals.computeIfAbsent(object, key -> new LinkedHashMap<>()).putIfAbsent(field, value);
+    }
+
+    /**
+     * Writes a value into an annotated field of an object, converted to the type of the field if needed.
+     * The Controls of the grid are not refreshed, use the setValue method of the grid for that.
+     *
+     * @param object    the object to write into
+     * @param fieldName the name of the field
+     * @param value     the new value
+     * @throws IllegalArgumentException if the class of the object has no annotated field of that name
+     */
+    public void setValue(Object object, String fieldName, Object value) {
+        FieldWriter.of(findField(object, fieldName)).writeObject(object, value, listeners);
+    }
+
+    /**
+     * @return true until the transaction has been committed or rolled back
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return true if any field has been written during the transaction
+     */
+    public boolean hasChanges() {
+        return !originals.isEmpty();
+    }
+
+    /**
+     * Ends the transaction and calls the listeners with the changes.
+     *
+     * @throws IllegalStateException if the transaction has already ended
+     */
+    public void commit() {
+        end();
+        if (originals.isEmpty()) {
+            return;
+        }
+        Map<Object, Set<Field>> changes = new IdentityHashMap<>();
+        for (Map.Entry<Object, Map<Field, Object>> entry : originals.entrySet()) {
+            changes.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue().keySet()));
+        }
+        changes = Collections.unmodifiableMap(changes);
+        listeners.notifyBatchListeners(changes);
+        for (Map.Entry<Object, Set<Field>> entry : changes.entrySet()) {
+            Object object = entry.getKey();
+            for (Field field : entry.getValue()) {
+                if (object instanceof ObjectChangeListener) {
+                    ((ObjectChangeListener) object).onFieldValueChanged(field);
+                }
+                ReflectionHelper.notifyListeners(field, object, listeners);
+            }
+        }
+    }
+
+    /**
+     * Ends the transaction and writes the values the fields had before it back, without calling any listener.
+     * The entries of the journal and the dirty marks are set back to the ones at the start of the transaction.
+     * Afterwards the grid shows the old values again.
+     *
+     * @throws IllegalStateException if the transaction has already ended
+     */
+    public void rollback() {
+        end();
+        for (Map.Entry<Object, Map<Field, Object>> entry : originals.entrySet()) {
+            for (Map.Entry<Field, Object> original : entry.getValue().entrySet()) {
+                FieldAccessor.of(original.getKey()).set(entry.getKey(), original.getValue());
+            }
+        }
+        if (journal != null) {
+            journal.rewind(journalCheckpoint);
+        }
+        if (tracker != null) {
+            tracker.rewind(trackerCheckpoint);
+        }
+        if (!originals.isEmpty() && onRollback != null) {
+            onRollback.run();
+        }
+    }
+
+    private void end() {
+        if (!active) {
+            throw new IllegalStateException("The transaction has already ended");
+        }
+        active = false;
+        listeners.endTransaction(this);
+    }
+
+    /**
+     * @return the annotated field with the given name
+     * @throws IllegalArgumentException if there is none
+     */
+    public static Field findField(Object object, String fieldName) {
+        for (FieldDescriptor descriptor : ClassDescriptor.of(object.getClass()).getFields()) {
+            if (descriptor.getField().getName().equals(fieldName)) {
+                return descriptor.getField();
+            }
+        }
+        throw new IllegalArgumentException("No annotated field " + fieldName + " in " + object.getClass().getName());
+    }
+}
@@ -0,0 +1,556 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.statics.FieldWriter;
+import ch.rs.reflectorgrid.util.statics.ReflectionHelper;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.animation.PauseTransition;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory;
+import javafx.scene.control.TextInputControl;
+import javafx.util.Duration;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Connects a {@link Field} of an object to the Control that shows it in the grid.
+ *
+ * The Listeners of the Control read the field and the object from the binding on every change, and
+ * the binding is used to show new values of the field in the Control without creating a new one.
+ * It can also be pointed at another object of the same class with {@link #rebind(Object, Object)}.
+ * While the binding updates its Control, {@link #isUpdating()} returns true, so that the Listeners do
+ * not write the value they just received back into the field.
+ *
+ * Typed text is passed to {@link #textChanged(String)}, which writes it according to the {@link CommitPolicy}
+ * of the binding. Text that has not been written yet is kept in the binding and shown instead of the value
+ * of the field, until it is written with {@link #commit()} or dropped with {@link #discard()}.
+ *
+ * If the binding has an {@link EditJournal}, every write of the Control is recorded in it, so it can
+ * be undone later on. If it has a {@link DirtyTracker}, every written field is marked dirty in it.
+ */
+public class FieldBinding {
+
+    /**
+     * The style class of a Control whose objects have different values in the field.
+     */
+    public static final String MIXED_STYLE_CLASS = "mixed-value";
+
+    /**
+     * The prompt text of a Control whose objects have different values in the field.
+     */
+    public static final String MIXED_PROMPT_TEXT = "<mixed>";
+
+    /**
+     * The values of primitive fields are formatted into this buffer to compare them with the text of their
+     * Control, so refreshing a Control that already shows the value does not create a String.
+     */
+    private static final ThreadLocal<StringBuilder> FORMAT_BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final Field field;
+    private Object handle;
+    private Object masterObject;
+    private final ChangeListenerRegistry listeners;
+    private final FieldWriter writer;
+    private Control control;
+    private boolean updating = false;
+    private CommitPolicy commitPolicy = CommitPolicy.IMMEDIATE;
+    private Duration commitDelay = Duration.ZERO;
+    private EditJournal journal;
+    private DirtyTracker dirtyTracker;
+    private int ordinal;
+
+    /**
+     * The text typed into the Control that has not been written yet, or null.
+     */
+    private String pendingText = null;
+
+    /**
+     * Created on the first change of a debounced binding.
+     */
+    private PauseTransition debounce;
+
+    /**
+     * @param field        the field shown by the Control
+     * @param handle       the object the field belongs to
+     * @param masterObject the object the grid was created for
+     */
+    public FieldBinding(Field field, Object handle, Object masterObject) {
+        this(field, handle, masterObject, ReflectionHelper.getGlobalListeners());
+    }
+
+    /**
+     * @param field        the field shown by the Control
+     * @param handle       the object the field belongs to
+     * @param masterObject the object the grid was created for
+     * @param listeners    the listeners of the grid, called whenever the Control writes into the field
+     */
+    public FieldBinding(Field field, Object handle, Object masterObject, ChangeListenerRegistry listeners) {
+        this(field, handle, masterObject, listeners, TypeConverterCollection.getGlobal());
+    }
+
+    /**
+     * @param field        the field shown by the Control
+     * @param handle       the object the field belongs to
+     * @param masterObject the object the grid was created for
+     * @param listeners    the listeners of the grid, called whenever the Control writes into the field
+     * @param converters   the converters of the grid, used to convert typed text to the type of the field
+     */
+    public FieldBinding(Field field, Object handle, Object masterObject, ChangeListenerRegistry listeners,
+                        TypeConverterCollection converters) {
+        this.field = field;
+        this.handle = handle;
+        this.masterObject = masterObject;
+        this.listeners = listeners;
+        this.writer = FieldWriter.of(field, converters);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Object getHandle() {
+        return handle;
+    }
+
+    public Object getMasterObject() {
+        return masterObject;
+    }
+
+    public ChangeListenerRegistry getListeners() {
+        return listeners;
+    }
+
+    /**
+     * @return the writer used to write the values of the Control into the field
+     */
+    public FieldWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Points this binding at another object of the same class and shows its value. The Control and its
+     * Listeners are kept, showing the new value does not write it back into the object.
+     * Pending text is written into the old object first, unless the binding only commits explicitly.
+     *
+     * @param handle       the object the field belongs to
+     * @param masterObject the object the grid is showing
+     */
+    public void rebind(Object handle, Object masterObject) {
+        actionPerformed();
+        discardPending();
+        setTarget(handle, masterObject);
+        refresh();
+    }
+
+    /**
+     * Points this binding at the object, after the pending text of the old one has been written and before
+     * the Control is refreshed.
+     */
+    protected void setTarget(Object handle, Object masterObject) {
+        this.handle = handle;
+        this.masterObject = masterObject;
+    }
+
+    public Control getControl() {
+        return control;
+    }
+
+    public void setControl(Control control) {
+        this.control = control;
+    }
+
+    /**
+     * @param journal the journal the writes of the Control are recorded in, or null to not record them
+     */
+    public void setJournal(EditJournal journal) {
+        this.journal = journal;
+    }
+
+    public EditJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @param tracker the tracker the written field is marked dirty in, or null to not track it
+     * @param ordinal the ordinal of the field in its class, see
+     *                {@link ch.rs.reflectorgrid.util.metadata.FieldDescriptor#getOrdinal()}
+     */
+    public void setDirtyTracker(DirtyTracker tracker, int ordinal) {
+        this.dirtyTracker = tracker;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * @return the current value of the field
+     */
+    public <T> T getValue() {
+        return ReflectionHelper.getFieldValue(field, handle);
+    }
+
+    /**
+     * @return true if the objects of this binding have different values in the field. Only possible for
+     * a {@link MultiFieldBinding}.
+     */
+    public boolean isMixed() {
+        return false;
+    }
+
+    /**
+     * Sets when typed text is written into the field. {@link CommitPolicy#INHERIT} is not allowed here,
+     * the grid has to resolve it.
+     *
+     * @param policy the policy to use
+     * @param delay  the delay after the last change, only used by {@link CommitPolicy#DEBOUNCED}
+     */
+    public void setCommitPolicy(CommitPolicy policy, Duration delay) {
+        if (policy == CommitPolicy.INHERIT) {
+            throw new IllegalArgumentException("The commit policy of a binding can't be INHERIT");
+        }
+        commit();
+        commitPolicy = Objects.requireNonNull(policy, "The received CommitPolicy is null!");
+        commitDelay = Objects.requireNonNull(delay, "The received Duration is null!");
+        if (debounce != null) {
+            debounce.setDuration(commitDelay);
+        }
+    }
+
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * Called by the Control for every change of its text. Depending on the {@link CommitPolicy}, the text
+     * is written right away or kept until it gets committed.
+     *
+     * @param text the new text of the Control
+     */
+    public void textChanged(String text) {
+        if (commitPolicy == CommitPolicy.IMMEDIATE) {
+            writeText(text);
+            return;
+        }
+        pendingText = text;
+        if (commitPolicy == CommitPolicy.DEBOUNCED) {
+            if (debounce == null) {
+                debounce = new PauseTransition(commitDelay);
+                debounce.setOnFinished(event -> commit());
+            }
+            debounce.playFromStart();
+        }
+    }
+
+    /**
+     * Called by the Control when the user presses Enter or the Control loses the focus.
+     * Writes the pending text, unless the binding only commits explicitly, and ends the merging of
+     * the writes in the {@link EditJournal}.
+     */
+    public void actionPerformed() {
+        if (commitPolicy != CommitPolicy.EXPLICIT) {
+            commit();
+        }
+        if (journal != null) {
+            journal.seal();
+        }
+    }
+
+    /**
+     * Writes the pending text into the field, if there is any.
+     *
+     * @return true if a text was written
+     */
+    public boolean commit() {
+        if (pendingText == null) {
+            return false;
+        }
+        String text = pendingText;
+        discardPending();
+        writeText(text);
+        return true;
+    }
+
+    /**
+     * Drops the pending text and shows the value of the field again.
+     *
+     * @return true if there was a pending text
+     */
+    public boolean discard() {
+        if (pendingText == null) {
+            return false;
+        }
+        discardPending();
+        refresh();
+        return true;
+    }
+
+    /**
+     * @return true if the Control contains text that has not been written into the field yet
+     */
+    public boolean hasPendingChange() {
+        return pendingText != null;
+    }
+
+    private void discardPending() {
+        pendingText = null;
+        if (debounce != null) {
+            debounce.stop();
+        }
+    }
+
+    /**
+     * Writes a text of the Control into the field, converted to the type of the field.
+     */
+    public void writeText(String text) {
+        Object target = getTarget();
+        Object before = isJournaling() ? readValue(target) : null;
+        if (writeTextInto(target, text)) {
+            written(target, before);
+        }
+    }
+
+    /**
+     * Writes an enum selected in the Control into the field.
+     */
+    public void writeEnum(Enum value) {
+        Object target = getTarget();
+        Object before = isJournaling() ? readValue(target) : null;
+        if (writeObjectInto(target, value)) {
+            written(target, before);
+        }
+    }
+
+    /**
+     * Writes a number of the Control into the field, narrowed to the type of the field.
+     */
+    public void writeNumber(Number number) {
+        Object target = getTarget();
+        Object before = isJournaling() ? readValue(target) : null;
+        if (writeNumberInto(target, number)) {
+            written(target, before);
+        }
+    }
+
+    private void written(Object target, Object before) {
+        clearMixed();
+        if (dirtyTracker != null) {
+            markDirty(dirtyTracker, target, ordinal);
+        }
+        if (isJournaling()) {
+            journal.record(this, target, before, readValue(target));
+        }
+    }
+
+    /**
+     * @return true if the writes are recorded, the values of the field are only read for that
+     */
+    private boolean isJournaling() {
+        return journal != null && journal.getCapacity() > 0;
+    }
+
+    /**
+     * Writes a value recorded by the {@link EditJournal} back into the field, without recording it again.
+     * Pending text is dropped. The Control is only refreshed if the binding still points at the target.
+     *
+     * @param target the target the value was read from, see {@link #getTarget()}
+     * @param value  the value as returned by {@link #readValue(Object)}
+     */
+    public void restore(Object target, Object value) {
+        discardPending();
+        if (writeValueInto(target, value) && dirtyTracker != null) {
+            markDirty(dirtyTracker, target, ordinal);
+        }
+        if (target == getTarget()) {
+            refresh();
+        }
+    }
+
+    /**
+     * @return what the Control writes into, the object of the field. The value identifies the write in
+     * the {@link EditJournal}, so the binding can be pointed at another object in the meantime.
+     */
+    protected Object getTarget() {
+        return handle;
+    }
+
+    /**
+     * Reads the field of the target, in a form {@link #writeValueInto(Object, Object)} can write back.
+     */
+    protected Object readValue(Object target) {
+        return writer.read(target);
+    }
+
+    protected void markDirty(DirtyTracker tracker, Object target, int ordinal) {
+        tracker.mark(target, ordinal);
+    }
+
+    protected boolean writeValueInto(Object target, Object value) {
+        return writer.writeValue(target, value, listeners);
+    }
+
+    protected boolean writeTextInto(Object target, String text) {
+        return writer.writeText(target, text, listeners);
+    }
+
+    protected boolean writeObjectInto(Object target, Object value) {
+        return writer.writeObject(target, value, listeners);
+    }
+
+    protected boolean writeNumberInto(Object target, Number number) {
+        return writer.writeNumber(target, number, listeners);
+    }
+
+    /**
+     * @return true while the binding sets the value of its Control. Changes during that time must not be
+     * written back into the field.
+     */
+    public boolean isUpdating() {
+        return updating;
+    }
+
+    /**
+     * Reads the field again and shows its value in the Control. The Control is only changed if it shows
+     * a different value. Bindings without a Control are skipped.
+     *
+     * @return true if the Control had to be changed
+     */
+    public boolean refresh() {
+        if (control == null) {
+            return false;
+        }
+        boolean mixed = pendingText == null && isMixed();
+        updating = true;
+        try {
+            if (mixed) {
+                return showMixed();
+            }
+            clearMixed();
+            if (pendingText == null && control instanceof TextInputControl) {
+                StringBuilder buffer = FORMAT_BUFFER.get();
+                buffer.setLength(0);
+                if (writer.appendValue(handle, buffer)) {
+                    return showText((TextInputControl) control, buffer);
+                }
+            }
+            return showValue(pendingText != null ? pendingText : getValue());
+        } finally {
+            updating = false;
+        }
+    }
+
+    private static boolean showText(TextInputControl textInput, CharSequence text) {
+        String current = textInput.getText();
+        if (current != null && current.contentEquals(text)) {
+            return false;
+        }
+        textInput.setText(text.toString());
+        return true;
+    }
+
+    /**
+     * Empties the Control and marks it with {@link #MIXED_STYLE_CLASS} and {@link #MIXED_PROMPT_TEXT}.
+     */
+    private boolean showMixed() {
+        if (control.getStyleClass().contains(MIXED_STYLE_CLASS)) {
+            return false;
+        }
+        control.getStyleClass().add(MIXED_STYLE_CLASS);
+        if (control instanceof TextInputControl) {
+            ((TextInputControl) control).setText("");
+            ((TextInputControl) control).setPromptText(MIXED_PROMPT_TEXT);
+        } else if (control instanceof Spinner) {
+            ((Spinner<?>) control).getEditor().setText("");
+            ((Spinner<?>) control).getEditor().setPromptText(MIXED_PROMPT_TEXT);
+        } else if (control instanceof ComboBox) {
+            ((ComboBox<?>) control).getSelectionModel().clearSelection();
+            ((ComboBox<?>) control).setPromptText(MIXED_PROMPT_TEXT);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the marks of {@link #showMixed()} again, once the objects have the same value. The value
+     * itself is not changed.
+     */
+    protected void clearMixed() {
+        if (control == null || !control.getStyleClass().remove(MIXED_STYLE_CLASS)) {
+            return;
+        }
+        if (control instanceof TextInputControl) {
+            ((TextInputControl) control).setPromptText(null);
+        } else if (control instanceof Spinner) {
+            ((Spinner<?>) control).getEditor().setPromptText(null);
+        } else if (control instanceof ComboBox) {
+            ((ComboBox<?>) control).setPromptText(null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean showValue(Object value) {
+        if (control instanceof TextInputControl) {
+            TextInputControl textInput = (TextInputControl) control;
+            String text = objectToString(value);
+            if (text.equals(textInput.getText())) {
+                return false;
+            }
+            textInput.setText(text);
+            return true;
+        }
+        if (control instanceof Spinner) {
+            SpinnerValueFactory<?> factory = ((Spinner<?>) control).getValueFactory();
+            if (factory instanceof PrimitiveSpinnerValueFactory) {
+                return ((PrimitiveSpinnerValueFactory<?>) factory).setNumber((Number) value);
+            }
+            if (value == null) {
+                // the NumberSpinnerValueFactory can not show null
+                return false;
+            }
+            Spinner<BigDecimal> spinner = (Spinner<BigDecimal>) control;
+            BigDecimal number = NumberSpinnerValueFactory.toBigDecimal((Number) value);
+            BigDecimal current = spinner.getValue();
+            if (current != null && current.compareTo(number) == 0) {
+                return false;
+            }
+            spinner.getValueFactory().setValue(number);
+            return true;
+        }
+        if (control instanceof ComboBox) {
+            ComboBox<Object> comboBox = (ComboBox<Object>) control;
+            Object item = value instanceof Enum ? value : objectToString(value);
+            if (Objects.equals(item, comboBox.getSelectionModel().getSelectedItem())) {
+                return false;
+            }
+            comboBox.getSelectionModel().select(item);
+            return true;
+        }
+        throw new IllegalArgumentException("Can't show a value in node: " + control);
+    }
+
+    private static String objectToString(Object object) {
+        return object == null ? "" : object.toString();
+    }
+}
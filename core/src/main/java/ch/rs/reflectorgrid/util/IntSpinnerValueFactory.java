@@ -0,0 +1,98 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.typeconversion.PrimitiveParser;
+
+/**
+ * SpinnerValueFactory for int fields, aswell as short and byte fields which use the range of their type.
+ * Every step is calculated as a long, so it can not overflow before it is clamped.
+ */
+public class IntSpinnerValueFactory extends PrimitiveSpinnerValueFactory<Integer> {
+
+    private final int min;
+    private final int max;
+    private final int amountToStepBy;
+
+    /**
+     * @param min            the smallest value of the Spinner
+     * @param max            the largest value of the Spinner
+     * @param initialValue   the first value, shown as it is, or null for an empty editor
+     * @param amountToStepBy the amount added or removed per step, has to be positive
+     */
+    public IntSpinnerValueFactory(int min, int max, Integer initialValue, int amountToStepBy) {
+        if (min > max) {
+            throw new IllegalArgumentException("min " + min + " is larger than max " + max);
+        }
+        if (amountToStepBy <= 0) {
+            throw new IllegalArgumentException("The step has to be positive, was " + amountToStepBy);
+        }
+        this.min = min;
+        this.max = max;
+        this.amountToStepBy = amountToStepBy;
+        setValue(initialValue);
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public int getAmountToStepBy() {
+        return amountToStepBy;
+    }
+
+    @Override
+    protected void move(long steps) {
+        long next = getValue() + steps * amountToStepBy;
+        if (next > max) {
+            next = isWrapAround() ? min : max;
+        } else if (next < min) {
+            next = isWrapAround() ? max : min;
+        }
+        setValue((int) next);
+    }
+
+    @Override
+    protected Integer toValue(Number number) {
+        return number.intValue();
+    }
+
+    @Override
+    protected Integer clamp(Number number) {
+        return clamp(number.longValue());
+    }
+
+    @Override
+    protected Integer parse(String text) {
+        return clamp(PrimitiveParser.parseLong(text));
+    }
+
+    private int clamp(long value) {
+        return (int) Math.max(min, Math.min(max, value));
+    }
+}
@@ -27,6 +27,9 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
 import javafx.scene.layout.GridPane;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Describes how the label will be displayed
  *
@@ -51,22 +54,22 @@ public enum LabelDisplayOrder {
     SIDE_BY_SIDE(2) {
         @Override
         public InsertionPosition addNode(InsertionPosition position, Node label, Node node,
-                GridPane pane) {
-            pane.add(label, position.column, position.row);
-            pane.add(node, position.column + 1, position.row);
+                List<Node> buffer) {
+            place(buffer, label, position.column, position.row);
+            place(buffer, node, position.column + 1, position.row);
             return new InsertionPosition(position.row + 1, position.column);
         }
 
         @Override
-        public InsertionPosition addNode(InsertionPosition position, Node node, GridPane pane) {
-            pane.add(node, position.column, position.row);
+        public InsertionPosition addNode(InsertionPosition position, Node node, List<Node> buffer) {
+            place(buffer, node, position.column, position.row);
             return new InsertionPosition(position.row + 1, position.column);
         }
 
         @Override
-        public InsertionPosition addSeparator(InsertionPosition position, GridPane pane){
-            pane.add(new Separator(), position.column, position.row);
-            pane.add(new Separator(), position.column + 1, position.row);
+        public InsertionPosition addSeparator(InsertionPosition position, List<Node> buffer){
+            place(buffer, new Separator(), position.column, position.row);
+            place(buffer, new Separator(), position.column + 1, position.row);
             return new InsertionPosition(position.row + 1, position.column);
         }
 
@@ -85,21 +88,21 @@ public enum LabelDisplayOrder {
     ABOVE_FIELD(1) {
         @Override
         public InsertionPosition addNode(InsertionPosition position, Node label, Node node,
-                GridPane pane) {
-            pane.add(label, position.column, position.row);
-            pane.add(node, position.column, position.row + 1);
+                List<Node> buffer) {
+            place(buffer, label, position.column, position.row);
+            place(buffer, node, position.column, position.row + 1);
             return new InsertionPosition(position.row + 2, position.column);
         }
 
         @Override
-        public InsertionPosition addNode(InsertionPosition position, Node node, GridPane pane) {
-            pane.add(node, position.column, position.row);
+        public InsertionPosition addNode(InsertionPosition position, Node node, List<Node> buffer) {
+            place(buffer, node, position.column, position.row);
             return new InsertionPosition(position.row + 1, position.column);
         }
 
         @Override
-        public InsertionPosition addSeparator(InsertionPosition position, GridPane pane){
-            pane.add(new Separator(), position.column, position.row);
+        public InsertionPosition addSeparator(InsertionPosition position, List<Node> buffer){
+            place(buffer, new Separator(), position.column, position.row);
             return new InsertionPosition(position.row + 1, position.column);
         }
     };
@@ -114,6 +117,51 @@ public enum LabelDisplayOrder {
         return columns;
     }
 
+    /**
+     * Sets the row and column of a node and adds it to the buffer. The same as {@link GridPane#add(Node, int, int)},
+     * only without touching the children of the pane.
+     */
+    private static void place(List<Node> buffer, Node node, int column, int row) {
+        GridPane.setConstraints(node, column, row);
+        buffer.add(node);
+    }
+
+    /**
+     * Adds a node with a label to a buffer instead of a {@link GridPane}. The row and column are already set
+     * on the nodes, so the buffer can be added to the children of the pane with a single call, once all
+     * nodes of the grid are collected. This way the pane only has to handle one change of its children
+     * instead of one per node.
+     *
+     * @param position The position to add them at
+     * @param label The {@link Label} to use
+     * @param node The {@link Node} to add
+     * @param buffer The list collecting the nodes for the pane
+     * @return The new row and the new column
+     */
+    public abstract InsertionPosition addNode(InsertionPosition position, Node label, Node node,
+            List<Node> buffer);
+
+    /**
+     * Adds a node to a buffer instead of a {@link GridPane}, see {@link #addNode(InsertionPosition, Node, Node, List)}.
+     *
+     * This node is supposed to be alone in one row, but might wary depending on implementation.
+     *
+     * @param position The position to add them at
+     * @param node The {@link Node} to add
+     * @param buffer The list collecting the nodes for the pane
+     * @return The new row and the new column
+     */
+    public abstract InsertionPosition addNode(InsertionPosition position, Node node, List<Node> buffer);
+
+    /**
+     * Adds a JavaFX Separator to a buffer instead of a {@link GridPane},
+     * see {@link #addNode(InsertionPosition, Node, Node, List)}.
+     * @param position The position at which the separator will be inserted
+     * @param buffer The list collecting the nodes for the pane
+     * @return InsertionPosition for the next Element
+     */
+    public abstract InsertionPosition addSeparator(InsertionPosition position, List<Node> buffer);
+
     /**
      * Adds a node with a label to a {@link GridPane}.
      *
@@ -123,8 +171,13 @@ public enum LabelDisplayOrder {
      * @param pane The Pane to add it to
      * @return The new row and the new column
      */
-    public abstract InsertionPosition addNode(InsertionPosition position, Node label, Node node,
-            GridPane pane);
+    public InsertionPosition addNode(InsertionPosition position, Node label, Node node,
+            GridPane pane) {
+        List<Node> buffer = new ArrayList<>(2);
+        position = addNode(position, label, node, buffer);
+        pane.getChildren().addAll(buffer);
+        return position;
+    }
 
     /**
      * Adds a node to a {@link GridPane}.
@@ -137,7 +190,12 @@ public enum LabelDisplayOrder {
      * @return The new row and the new column
      *
      */
-    public abstract InsertionPosition addNode(InsertionPosition position, Node node, GridPane pane);
+    public InsertionPosition addNode(InsertionPosition position, Node node, GridPane pane) {
+        List<Node> buffer = new ArrayList<>(1);
+        position = addNode(position, node, buffer);
+        pane.getChildren().addAll(buffer);
+        return position;
+    }
 
     /**
      * This function is used to input a JavaFX Separator in the next position.
@@ -145,7 +203,12 @@ public enum LabelDisplayOrder {
      * @param pane the GridPane which is to receive the separator
      * @return InsertionPosition for the next Element
      */
-    public abstract InsertionPosition addSeparator(InsertionPosition position, GridPane pane);
+    public InsertionPosition addSeparator(InsertionPosition position, GridPane pane) {
+        List<Node> buffer = new ArrayList<>(2);
+        position = addSeparator(position, buffer);
+        pane.getChildren().addAll(buffer);
+        return position;
+    }
 
     public static class InsertionPosition {
 
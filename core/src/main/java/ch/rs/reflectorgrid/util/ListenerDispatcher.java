@@ -0,0 +1,220 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls the listeners of a {@link ChangeListenerRegistry} on an {@link Executor} instead of the thread that
+ * changed the value, so a slow listener does not slow down the grid. Set it with
+ * {@link ChangeListenerRegistry#setDispatcher(ListenerDispatcher)}.
+ *
+ * Every listener gets its own lane: its notifications are queued and delivered one after the other, in the
+ * order the changes happened, so a listener never sees the changes of an object out of order and is never
+ * called concurrently with itself. Different listeners run independently of each other.
+ *
+ * With coalescing, a change is not queued again while a notification for the same field of the same object
+ * is still waiting for that listener. As the listener reads the value itself once it is called, it still
+ * sees the latest value, and the queue can never hold more entries than there are fields being changed.
+ * The thread changing the value never waits for a listener.
+ */
+public final class ListenerDispatcher {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Executor executor;
+    private final boolean coalescing;
+
+    private ListenerDispatcher(Executor executor, boolean coalescing) {
+        this.executor = Objects.requireNonNull(executor, "The received Executor is null!");
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Creates a dispatcher that delivers every single notification on the given executor.
+     *
+     * @param executor the executor the listeners are called on
+     * @return the new dispatcher
+     */
+    public static ListenerDispatcher on(Executor executor) {
+        return new ListenerDispatcher(executor, false);
+    }
+
+    /**
+     * Creates a dispatcher that drops notifications superseded by a newer one for the same field and object,
+     * as long as the listener has not been called for the older one yet.
+     *
+     * @param executor the executor the listeners are called on
+     * @return the new dispatcher
+     */
+    public static ListenerDispatcher coalescing(Executor executor) {
+        return new ListenerDispatcher(executor, true);
+    }
+
+    /**
+     * Creates a coalescing dispatcher that calls every listener on virtual threads, if the JVM supports them
+     * (Java 21 and newer). Older JVMs use a pool of daemon threads instead, which are created as needed and
+     * end after a minute without work.
+     *
+     * @return the new dispatcher
+     */
+    public static ListenerDispatcher virtualThreads() {
+        return coalescing(newVirtualThreadExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "TransferGrid-listener-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    Lane createLane(ChangeListenerRegistry.Registration registration) {
+        return new Lane(registration);
+    }
+
+    /**
+     * The queue of a single listener. Only one task per lane is running on the executor at any time.
+     */
+    final class Lane implements Runnable {
+
+        private final ChangeListenerRegistry.Registration registration;
+        private final ArrayDeque<Notification> queue = new ArrayDeque<>();
+        private final Set<Notification> queued = new HashSet<>();
+        private boolean scheduled = false;
+
+        private Lane(ChangeListenerRegistry.Registration registration) {
+            this.registration = registration;
+        }
+
+        ListenerDispatcher getDispatcher() {
+            return ListenerDispatcher.this;
+        }
+
+        /**
+         * @param several true if the object is the List of objects that were changed
+         */
+        void offer(Field field, Object object, boolean several) {
+            Notification notification = new Notification(field, object, several);
+            synchronized (this) {
+                if (coalescing && !queued.add(notification)) {
+                    return;
+                }
+                queue.add(notification);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    scheduled = false;
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Notification notification;
+                synchronized (this) {
+                    notification = queue.poll();
+                    if (notification == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    if (coalescing) {
+                        queued.remove(notification);
+                    }
+                }
+                ChangeListener listener = registration.get();
+                if (listener == null) {
+                    continue;
+                }
+                try {
+                    ChangeListenerRegistry.call(listener, notification.field, notification.object,
+                            notification.several);
+                } catch (RuntimeException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A change of a field of an object. Objects are compared by identity, as their equals might depend on
+     * the changed value.
+     */
+    private static final class Notification {
+
+        private final Field field;
+        private final Object object;
+        private final boolean several;
+
+        Notification(Field field, Object object, boolean several) {
+            this.field = field;
+            this.object = object;
+            this.several = several;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Notification)) {
+                return false;
+            }
+            Notification notification = (Notification) other;
+            return object == notification.object && several == notification.several
+                    && field.equals(notification.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object) * 31 + field.hashCode();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Shows changes that other threads make to the objects of a grid. The threads report which fields they
+ * changed with {@link #report(Object, String)}, and once per JavaFX pulse the Controls of those fields are
+ * refreshed. Nothing else in the grid is touched.
+ *
+ * Reporting is thread-safe and never blocks: the change is put into a concurrent queue, and only if the same
+ * field of the same object is not already waiting. An object updated thousands of times per second therefore
+ * causes at most one refresh per field and pulse. The timer that refreshes the fields only runs while changes
+ * are waiting: the first report after the queue ran empty posts a single task to the JavaFX Application Thread
+ * that starts it, and it stops itself once it has shown all changes. An idle grid costs nothing per pulse.
+ * The refreshes can be limited further with {@link #setMaxRefreshRate(double)}.
+ *
+ * The bindings of every object are looked up in an index, which is only built again after the grid told the
+ * refresher that its bindings changed, see {@link #bindingsChanged()}.
+ */
+public class LiveRefresher {
+
+    /**
+     * The standard value of {@link #setMaxRefreshRate(double)}: refresh up to 30 times per second.
+     */
+    public static final double DEFAULT_MAX_REFRESH_RATE = 30;
+
+    private final ConcurrentLinkedQueue<Change> queue = new ConcurrentLinkedQueue<>();
+    private final Set<Change> queued = ConcurrentHashMap.newKeySet();
+    private final Consumer<List<FieldBinding>> bindingCollector;
+    private final AnimationTimer timer;
+
+    /**
+     * True from the report that found the timer idle until the timer stopped again, so only that report
+     * posts a task to start it.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean running = false;
+    private long minInterval;
+    private long lastRefresh = 0;
+
+    /**
+     * The bindings of the grid by the objects they show. Null until the next refresh after the bindings changed.
+     */
+    private Map<Object, List<FieldBinding>> bindingsByObject = null;
+
+    /**
+     * @param bindingCollector adds all bindings of the grid to the given List
+     */
+    public LiveRefresher(Consumer<List<FieldBinding>> bindingCollector) {
+        this.bindingCollector = bindingCollector;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                refresh(now);
+            }
+        };
+        setMaxRefreshRate(DEFAULT_MAX_REFRESH_RATE);
+    }
+
+    /**
+     * Reports that a field of an object has changed. Can be called from any thread. Reports are ignored
+     * while the refresher is not running.
+     *
+     * @param object    the object that was changed
+     * @param fieldName the name of the changed field, or null if any field might have changed
+     */
+    public void report(Object object, String fieldName) {
+        if (!running) {
+            return;
+        }
+        Change change = new Change(Objects.requireNonNull(object, "The received Object is null!"), fieldName);
+        if (queued.add(change)) {
+            queue.add(change);
+            if (scheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::resume);
+            }
+        }
+    }
+
+    /**
+     * Starts refreshing the reported fields. Has to be called on the JavaFX Application Thread.
+     * The timer only runs while reported changes are waiting to be shown.
+     */
+    public void start() {
+        running = true;
+        scheduled.set(false);
+    }
+
+    /**
+     * Drops the index of the bindings, so it is built again on the next refresh. Has to be called on the
+     * JavaFX Application Thread whenever bindings of the grid are created, removed or pointed at other objects.
+     */
+    public void bindingsChanged() {
+        bindingsByObject = null;
+    }
+
+    /**
+     * Stops refreshing and drops all reports that have not been shown yet.
+     * Has to be called on the JavaFX Application Thread.
+     */
+    public void stop() {
+        running = false;
+        timer.stop();
+        queue.clear();
+        queued.clear();
+        scheduled.set(false);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Limits how often the reported fields are refreshed. The actual rate can not be higher than the
+     * pulse rate of JavaFX, which is 60 per second by default.
+     *
+     * @param refreshesPerSecond the maximum number of refreshes per second
+     */
+    public void setMaxRefreshRate(double refreshesPerSecond) {
+        if (!(refreshesPerSecond > 0)) {
+            throw new IllegalArgumentException("The refresh rate has to be positive: " + refreshesPerSecond);
+        }
+        minInterval = (long) (1_000_000_000L / refreshesPerSecond);
+    }
+
+    /**
+     * Starts the timer for the changes reported since it stopped.
+     */
+    private void resume() {
+        if (running) {
+            timer.start();
+        } else {
+            scheduled.set(false);
+        }
+    }
+
+    private void refresh(long now) {
+        if (now - lastRefresh < minInterval) {
+            return;
+        }
+        lastRefresh = now;
+
+        Map<Object, List<FieldBinding>> index = getBindingsByObject();
+        Change change;
+        while ((change = queue.poll()) != null) {
+            queued.remove(change);
+            List<FieldBinding> objectBindings = index.get(change.object);
+            if (objectBindings == null) {
+                continue;
+            }
+            for (FieldBinding binding : objectBindings) {
+                if (change.fieldName == null || change.fieldName.equals(binding.getField().getName())) {
+                    binding.refresh();
+                }
+            }
+        }
+
+        // A change reported after the queue was drained found the timer scheduled and did not start it again
+        timer.stop();
+        scheduled.set(false);
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            timer.start();
+        }
+    }
+
+    private Map<Object, List<FieldBinding>> getBindingsByObject() {
+        if (bindingsByObject == null) {
+            List<FieldBinding> bindings = new ArrayList<>();
+            bindingCollector.accept(bindings);
+            Map<Object, List<FieldBinding>> index = new IdentityHashMap<>();
+            for (FieldBinding binding : bindings) {
+                if (binding instanceof MultiFieldBinding) {
+                    for (Object handle : ((MultiFieldBinding) binding).getHandles()) {
+                        index.computeIfAbsent(handle, key -> new ArrayList<>()).add(binding);
+                    }
+                } else {
+                    index.computeIfAbsent(binding.getHandle(), key -> new ArrayList<>()).add(binding);
+                }
+            }
+            bindingsByObject = index;
+        }
+        return bindingsByObject;
+    }
+
+    /**
+     * A reported change. Objects are compared by identity, as their equals might depend on the changed value.
+     */
+    private static final class Change {
+
+        private final Object object;
+        private final String fieldName;
+
+        Change(Object object, String fieldName) {
+            this.object = object;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Change)) {
+                return false;
+            }
+            Change change = (Change) other;
+            return object == change.object && Objects.equals(fieldName, change.fieldName);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object) * 31 + Objects.hashCode(fieldName);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.typeconversion.PrimitiveParser;
+
+/**
+ * SpinnerValueFactory for long fields. Unlike a factory working trough double or BigDecimal it keeps every
+ * long exact, also the ones above 2^53. A step that would overflow ends at the limit of the range.
+ */
+public class LongSpinnerValueFactory extends PrimitiveSpinnerValueFactory<Long> {
+
+    private final long min;
+    private final long max;
+    private final long amountToStepBy;
+
+    /**
+     * @param min            the smallest value of the Spinner
+     * @param max            the largest value of the Spinner
+     * @param initialValue   the first value, shown as it is, or null for an empty editor
+     * @param amountToStepBy the amount added or removed per step, has to be positive
+     */
+    public LongSpinnerValueFactory(long min, long max, Long initialValue, long amountToStepBy) {
+        if (min > max) {
+            throw new IllegalArgumentException("min " + min + " is larger than max " + max);
+        }
+        if (amountToStepBy <= 0) {
+            throw new IllegalArgumentException("The step has to be positive, was " + amountToStepBy);
+        }
+        this.min = min;
+        this.max = max;
+        this.amountToStepBy = amountToStepBy;
+        setValue(initialValue);
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getAmountToStepBy() {
+        return amountToStepBy;
+    }
+
+    @Override
+    protected void move(long steps) {
+        long next;
+        try {
+            next = Math.addExact(getValue(), Math.multiplyExact(steps, amountToStepBy));
+        } catch (ArithmeticException e) {
+            next = steps > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        if (next > max) {
+            next = isWrapAround() ? min : max;
+        } else if (next < min) {
+            next = isWrapAround() ? max : min;
+        }
+        setValue(next);
+    }
+
+    @Override
+    protected Long toValue(Number number) {
+        return number.longValue();
+    }
+
+    @Override
+    protected Long clamp(Number number) {
+        return clamp(number.longValue());
+    }
+
+    @Override
+    protected Long parse(String text) {
+        return clamp(PrimitiveParser.parseLong(text));
+    }
+
+    private long clamp(long value) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
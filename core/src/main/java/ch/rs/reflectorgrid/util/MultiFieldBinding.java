@@ -0,0 +1,174 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.statics.ReflectionHelper;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link FieldBinding} for the same field of several objects of the same class.
+ *
+ * The Control shows the value of the first object. If the objects have different values, the Control is
+ * emptied and marked as mixed instead, see {@link FieldBinding#isMixed()}. A value written by the Control
+ * is set into all the objects in one pass, and the ChangeListeners are called once with all of them, see
+ * {@link ch.rs.reflectorgrid.util.interfaces.ChangeListener#onObjectsValueChanged(Field, List)}.
+ */
+public class MultiFieldBinding extends FieldBinding {
+
+    private List<Object> handles;
+
+    /**
+     * @param field   the field shown by the Control
+     * @param handles the objects the field belongs to, at least one
+     */
+    public MultiFieldBinding(Field field, List<?> handles) {
+        this(field, handles, ReflectionHelper.getGlobalListeners());
+    }
+
+    /**
+     * @param field     the field shown by the Control
+     * @param handles   the objects the field belongs to, at least one
+     * @param listeners the listeners of the grid, called once whenever the Control writes into the fields
+     */
+    public MultiFieldBinding(Field field, List<?> handles, ChangeListenerRegistry listeners) {
+        this(field, handles, listeners, TypeConverterCollection.getGlobal());
+    }
+
+    /**
+     * @param field      the field shown by the Control
+     * @param handles    the objects the field belongs to, at least one
+     * @param listeners  the listeners of the grid, called once whenever the Control writes into the fields
+     * @param converters the converters of the grid, used to convert typed text to the type of the field
+     */
+    public MultiFieldBinding(Field field, List<?> handles, ChangeListenerRegistry listeners,
+                             TypeConverterCollection converters) {
+        this(Collections.unmodifiableList(new ArrayList<Object>(handles)), field, listeners, converters);
+    }
+
+    private MultiFieldBinding(List<Object> handles, Field field, ChangeListenerRegistry listeners,
+                              TypeConverterCollection converters) {
+        super(field, handles.get(0), handles, listeners, converters);
+        this.handles = handles;
+    }
+
+    /**
+     * @return the objects the field belongs to
+     */
+    public List<Object> getHandles() {
+        return handles;
+    }
+
+    @Override
+    public boolean isMixed() {
+        Object first = ReflectionHelper.getFieldValue(getField(), handles.get(0));
+        for (int i = 1; i < handles.size(); i++) {
+            if (!Objects.equals(first, ReflectionHelper.getFieldValue(getField(), handles.get(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Object getTarget() {
+        return handles;
+    }
+
+    /**
+     * @return the values of all the objects, in the order of the objects
+     */
+    @Override
+    protected Object readValue(Object target) {
+        List<?> objects = (List<?>) target;
+        Object[] values = new Object[objects.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getWriter().read(objects.get(i));
+        }
+        return values;
+    }
+
+    @Override
+    protected void markDirty(DirtyTracker tracker, Object target, int ordinal) {
+        tracker.markAll((List<?>) target, ordinal);
+    }
+
+    @Override
+    protected boolean writeValueInto(Object target, Object value) {
+        return getWriter().writeValues((List<?>) target, (Object[]) value, getListeners());
+    }
+
+    @Override
+    protected boolean writeTextInto(Object target, String text) {
+        return getWriter().writeText((List<?>) target, text, getListeners());
+    }
+
+    @Override
+    protected boolean writeObjectInto(Object target, Object value) {
+        return getWriter().writeObject((List<?>) target, value, getListeners());
+    }
+
+    @Override
+    protected boolean writeNumberInto(Object target, Number number) {
+        return getWriter().writeNumber((List<?>) target, number, getListeners());
+    }
+
+    /**
+     * Points this binding at other objects of the same class, see {@link FieldBinding#rebind(Object, Object)}.
+     *
+     * @param handles the objects the field belongs to, at least one
+     * @throws IllegalArgumentException if there are no objects
+     */
+    public void rebind(List<?> handles) {
+        rebind(handles, handles);
+    }
+
+    /**
+     * Points this binding at other objects of the same class. The handle is either the List of the objects or
+     * a single object, the master object is ignored, as it is always the List of the objects.
+     *
+     * @throws IllegalArgumentException if the handle is an empty List
+     */
+    @Override
+    public void rebind(Object handle, Object masterObject) {
+        if (handle instanceof List && ((List<?>) handle).isEmpty()) {
+            throw new IllegalArgumentException("A binding of several objects needs at least one object");
+        }
+        super.rebind(handle, masterObject);
+    }
+
+    @Override
+    protected void setTarget(Object handle, Object masterObject) {
+        List<Object> objects = handle instanceof List
+                ? Collections.unmodifiableList(new ArrayList<Object>((List<?>) handle))
+                : Collections.singletonList(handle);
+        handles = objects;
+        super.setTarget(objects.get(0), objects);
+    }
+}
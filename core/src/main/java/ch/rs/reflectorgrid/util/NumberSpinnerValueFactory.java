@@ -30,13 +30,15 @@ import javafx.util.converter.BigDecimalStringConverter;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 
 /**
  * This Class is used to create a generic SpinnerValueFactor for usage with {@link javafx.scene.control.Spinner}.
- * It converts every Number internally into a BigDecimal using the conversion trough .doubleValue().
- * It is not built with the intention of keeping as much precision as possible - it is merely used to give users a simple
- * way of visualizing any kind of Numeric Variable.
+ * It converts every Number internally into a BigDecimal without losing precision, see {@link #toBigDecimal(Number)}.
+ * Primitive fields and their boxed types use a {@link PrimitiveSpinnerValueFactory} instead, this factory is only
+ * used for any other Number, such as BigDecimal or BigInteger.
+ * A min or max of null leaves that side of the range open, so large values are neither clamped nor rounded.
  * @author Ricardo DAniel Monteiro Simoes
  */
 public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
@@ -82,20 +84,51 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
         super.setConverter((StringConverter<BigDecimal>) new BigDecimalStringConverter());
 
         valueProperty().addListener((o, oldValue, newValue) -> {
-            if (isSmallerOrEqualThan(newValue, getMin())) {
+            if (newValue == null) {
+                return;
+            }
+            if (getMin() != null && isSmallerOrEqualThan(newValue, getMin())) {
                 setNumber(getMin());
-            } else if (isLargerOrEqualThan(newValue, getMax())) {
+            } else if (getMax() != null && isLargerOrEqualThan(newValue, getMax())) {
                 setNumber(getMax());
             }
         });
-        setNumber((isLargerOrEqualThan(initialValue, getMin())
-                && isSmallerOrEqualThan(initialValue, getMax()))
-                ? turnIntoBD(initialValue) : getMin());
+        setNumber(clamp(initialValue == null ? BigDecimal.ZERO : turnIntoBD(initialValue)));
     }
 
+    /**
+     * Converts a Number into a BigDecimal with all its digits. BigDecimals are kept as they are, any other
+     * Number is converted trough its text, so BigIntegers and longs are not rounded to a double. Numbers
+     * whose text is not a decimal number, like NaN, are converted trough their double value.
+     *
+     * @param number the number to convert
+     * @return the number as BigDecimal, or null if it is null
+     */
+    public static BigDecimal toBigDecimal(Number number) {
+        if (number == null || number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        try {
+            return new BigDecimal(number.toString());
+        } catch (NumberFormatException e) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+    }
 
     private BigDecimal turnIntoBD(Number number) {
-        return BigDecimal.valueOf(number.doubleValue());
+        return toBigDecimal(number);
+    }
+
+    /**
+     * @return the value limited to min and max, as far as they are set
+     */
+    private BigDecimal clamp(BigDecimal value) {
+        if (getMin() != null && value.compareTo(getMin()) < 0) {
+            return getMin();
+        } else if (getMax() != null && value.compareTo(getMax()) > 0) {
+            return getMax();
+        }
+        return value;
     }
 
     /**
@@ -175,8 +208,8 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
                 = (getValue()).subtract(turnIntoBD(steps)
                         .multiply(getAmountToStepBy()));
 
-        setNumber(isLargerOrEqualThan(newIndex, getMin())
-                ? newIndex : (isWrapAround()
+        setNumber(min == null || isLargerOrEqualThan(newIndex, getMin())
+                ? newIndex : (isWrapAround() && max != null
                         ? wrapValue(newIndex, min, max).add(BigDecimal.ONE) : getMin()));
     }
 
@@ -191,8 +224,8 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
         final BigDecimal newIndex
                 = ((BigDecimal) getValue()).add(turnIntoBD(steps)
                         .multiply(getAmountToStepBy()));
-        setNumber((isSmallerOrEqualThan(newIndex, getMax())
-                ? newIndex : (isWrapAround()
+        setNumber((max == null || isSmallerOrEqualThan(newIndex, getMax())
+                ? newIndex : (isWrapAround() && min != null
                         ? wrapValue(newIndex, min, max).add(BigDecimal.ONE) : getMax())));
 
     }
@@ -210,7 +243,7 @@ public class NumberSpinnerValueFactory extends SpinnerValueFactory<BigDecimal> {
     }
 
     private void setNumber(BigDecimal number) {
-        if (type == int.class || type == long.class) {
+        if (type == int.class || type == long.class || type == BigInteger.class) {
             setValue(number.setScale(0, RoundingMode.DOWN));
             return;
         }
@@ -0,0 +1,135 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import javafx.scene.control.SpinnerValueFactory;
+import javafx.util.StringConverter;
+
+import java.util.Objects;
+
+/**
+ * Base of the SpinnerValueFactories used for primitive and boxed numeric fields. Subclasses keep their limits and
+ * step as primitives and calculate every step on those, so the value is set exactly once per step and the Spinner
+ * only writes into the field once.
+ *
+ * The value of the field is shown as it is, even if it is outside of the range, and a boxed field holding null
+ * shows an empty editor. Only the input of the user is clamped: steps and text typed into the Spinner end up
+ * within the range. Text that is not a number, or that still shows the current value, keeps the current value,
+ * so focusing the Spinner and leaving it again never changes the field.
+ *
+ * @param <T> the boxed type shown by the Spinner
+ */
+public abstract class PrimitiveSpinnerValueFactory<T extends Number> extends SpinnerValueFactory<T> {
+
+    protected PrimitiveSpinnerValueFactory() {
+        setConverter(new StringConverter<T>() {
+            @Override
+            public String toString(T value) {
+                return value == null ? "" : value.toString();
+            }
+
+            @Override
+            public T fromString(String text) {
+                T value = getValue();
+                if (text == null || text.equals(toString(value))) {
+                    return value;
+                }
+                try {
+                    return parse(text);
+                } catch (NumberFormatException e) {
+                    return getValue();
+                }
+            }
+        });
+    }
+
+    /**
+     * Shows a number read from the field as it is, without clamping it into the range of this factory.
+     *
+     * @param number the value of the field, null to empty the editor
+     * @return true if the value of the Spinner changed
+     */
+    public boolean setNumber(Number number) {
+        T value = number == null ? null : toValue(number);
+        if (Objects.equals(value, getValue())) {
+            return false;
+        }
+        setValue(value);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void decrement(int steps) {
+        step(-(long) steps);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void increment(int steps) {
+        step(steps);
+    }
+
+    /**
+     * An empty Spinner starts at 0, the default of a primitive field, clamped into the range.
+     */
+    private void step(long steps) {
+        if (getValue() == null) {
+            setValue(clamp(0));
+        } else {
+            move(steps);
+        }
+    }
+
+    /**
+     * Moves the value by the given amount of steps and sets it once. Values outside of the range are set to
+     * the nearest limit, or to the other limit if the factory wraps around.
+     *
+     * @param steps the amount of steps, negative to decrement
+     */
+    protected abstract void move(long steps);
+
+    /**
+     * @param number any number
+     * @return the number converted to the type of this factory, but not clamped into its range
+     */
+    protected abstract T toValue(Number number);
+
+    /**
+     * @param number any number
+     * @return the number converted to the type of this factory and clamped into its range
+     */
+    protected abstract T clamp(Number number);
+
+    /**
+     * @param text the text typed into the Spinner
+     * @return the parsed value clamped into the range
+     * @throws NumberFormatException if the text is not a number
+     */
+    protected abstract T parse(String text);
+}
@@ -24,6 +24,8 @@
 
 package ch.rs.reflectorgrid.util.annotations;
 
+import ch.rs.reflectorgrid.util.CommitPolicy;
+
 import java.lang.annotation.*;
 
 /**
@@ -42,6 +44,12 @@ import java.lang.annotation.*;
  * you fill something into options, the field for the corresponding variable
  * turns into a ComboBox.
  * 
+ * <b>commitPolicy</b> and <b>commitDelay</b> define when typed text is written
+ * into the variable, instead of using the setting of the grid.
+ * 
+ * <b>min</b>, <b>max</b> and <b>step</b> define the range and step of the Spinner
+ * of a numeric variable.
+ * 
  * @author Ricardo Daniel Monteiro Simoes
  */
 
@@ -104,4 +112,48 @@ public @interface TransferGrid {
      */
     public String tooltip () default "";
 
+    /**
+     * This defines when the text typed into the TextField or TextArea of the variable is written into it.
+     * Default is <b>INHERIT</b>, which uses the policy set on the grid.
+     * {@link CommitPolicy} for more information
+     *
+     * @return the commit policy of the field
+     */
+    public CommitPolicy commitPolicy () default CommitPolicy.INHERIT;
+
+    /**
+     * This defines how many milliseconds after the last keystroke the text gets written, if the field uses
+     * {@link CommitPolicy#DEBOUNCED}. Default is -1, which uses the delay set on the grid.
+     *
+     * @return the delay in milliseconds
+     */
+    public long commitDelay () default -1;
+
+    /**
+     * This defines the smallest value the Spinner of a numeric variable can be set to.
+     * It is a String so that every long can be given exactly. Default is an empty String,
+     * which uses the smallest value of the type of the variable.
+     * <b>Example:</b>
+     * TransferGrid(min = "0", max = "100", step = "5");
+     *
+     * @return the minimum as it would be typed into the Spinner
+     */
+    public String min () default "";
+
+    /**
+     * This defines the largest value the Spinner of a numeric variable can be set to.
+     * Default is an empty String, which uses the largest value of the type of the variable.
+     *
+     * @return the maximum as it would be typed into the Spinner
+     */
+    public String max () default "";
+
+    /**
+     * This defines by how much the Spinner of a numeric variable changes per step. It has to be positive.
+     * Default is an empty String, which steps by one.
+     *
+     * @return the step as it would be typed into the Spinner
+     */
+    public String step () default "";
+
 }
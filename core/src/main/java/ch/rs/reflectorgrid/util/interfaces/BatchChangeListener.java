@@ -0,0 +1,25 @@
+package ch.rs.reflectorgrid.util.interfaces;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Set;
+
+@FunctionalInterface
+public interface BatchChangeListener {
+
+    /**
+     * This interface is intended to be used in combination with the transactions of TransferGrid, see
+     * {@link ch.rs.reflectorgrid.util.EditTransaction}. You can add it trough
+     * {@link ch.rs.reflectorgrid.ReflectorGrid} the same way as a {@link ChangeListener}.
+     *
+     * Instead of once per written field, it is called once when a transaction is committed, with every
+     * object that was changed and the fields that were changed in it. A field written several times during
+     * the transaction is only contained once. Transactions that are rolled back or did not change anything
+     * do not call it.
+     *
+     * @param changes the changed objects, each with its changed fields. The Map compares the objects by
+     *                identity, and neither it nor the Sets can be modified.
+     */
+    void onBatchChanged(Map<Object, Set<Field>> changes);
+
+}
@@ -1,6 +1,7 @@
 package ch.rs.reflectorgrid.util.interfaces;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 @FunctionalInterface
 public interface ChangeListener {
@@ -19,4 +20,18 @@ public interface ChangeListener {
      */
     void onObjectValueChanged(Field field, Object object);
 
+    /**
+     * Called instead of {@link #onObjectValueChanged(Field, Object)} when a grid edits several objects at once
+     * and writes the field into all of them. By default it is called once per object, override it to handle
+     * all of them together.
+     *
+     * @param field The field of the objects that were updated
+     * @param objects The objects that were updated, the List can not be modified
+     */
+    default void onObjectsValueChanged(Field field, List<?> objects) {
+        for (Object object : objects) {
+            onObjectValueChanged(field, object);
+        }
+    }
+
 }
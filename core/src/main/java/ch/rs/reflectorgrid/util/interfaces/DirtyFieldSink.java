@@ -0,0 +1,21 @@
+package ch.rs.reflectorgrid.util.interfaces;
+
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+
+@FunctionalInterface
+public interface DirtyFieldSink {
+
+    /**
+     * This interface is intended to be used to save or sync only the fields that were changed in a grid, see
+     * {@link ch.rs.reflectorgrid.util.DirtyTracker#writeDirty(DirtyFieldSink)}.
+     *
+     * It is called once for every dirty field, with the value the field has right now. If it throws, the
+     * fields of the current object and of the objects not written yet stay dirty.
+     *
+     * @param object The object the field belongs to
+     * @param field  The descriptor of the dirty field
+     * @param value  The current value of the field
+     */
+    void write(Object object, FieldDescriptor field, Object value);
+
+}
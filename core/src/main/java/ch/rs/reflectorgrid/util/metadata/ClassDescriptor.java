@@ -0,0 +1,163 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes a class for the use with ReflectorGrid. It contains all fields of the class hierarchy, aswell as a
+ * {@link FieldDescriptor} for every field annotated with {@link TransferGrid}.
+ *
+ * Walking the class hierarchy and reading the annotations is only done once per class. The descriptors are
+ * cached in a {@link ClassValue}, which makes them safe to use from multiple threads and does not keep
+ * classes from being unloaded. Classes with a generated {@link GridBinder} are described by the binder
+ * instead of scanning their annotations.
+ */
+public final class ClassDescriptor {
+
+    private static final ClassValue<ClassDescriptor> CACHE = new ClassValue<ClassDescriptor>() {
+        @Override
+        protected ClassDescriptor computeValue(Class<?> type) {
+            return new ClassDescriptor(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<FieldDescriptor> fields;
+    private final Map<Field, FieldDescriptor> descriptorsByField;
+
+    /**
+     * Only needed by {@link #getAllFields()}, so it is created on first use.
+     */
+    private volatile List<Field> allFields;
+
+    private ClassDescriptor(Class<?> type) {
+        this.type = type;
+
+        List<FieldDescriptor> annotated = new ArrayList<>();
+        Map<Field, FieldDescriptor> byField = new HashMap<>();
+
+        Class<?> currentClass = type;
+        while (currentClass != null) {
+            GridBinder binder = GridBinders.find(currentClass);
+            if (binder == null || !addBoundFields(currentClass, binder, annotated)) {
+                addAnnotatedFields(currentClass, annotated);
+            }
+            currentClass = currentClass.getSuperclass();
+        }
+
+        for (FieldDescriptor descriptor : annotated) {
+            byField.put(descriptor.getField(), descriptor);
+        }
+        this.fields = Collections.unmodifiableList(annotated);
+        this.descriptorsByField = byField;
+    }
+
+    private static void addAnnotatedFields(Class<?> declaringClass, List<FieldDescriptor> descriptors) {
+        for (Field field : declaringClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(TransferGrid.class)) {
+                descriptors.add(new FieldDescriptor(field, descriptors.size()));
+            }
+        }
+    }
+
+    /**
+     * Adds the fields known to the binder. If the binder does not match the class anymore, nothing is added.
+     *
+     * @return true if the fields of the binder were added
+     */
+    private static boolean addBoundFields(Class<?> declaringClass, GridBinder binder,
+                                          List<FieldDescriptor> descriptors) {
+        GridBinder.BoundField[] boundFields = binder.getFields();
+        Field[] fields = new Field[boundFields.length];
+        try {
+            for (int i = 0; i < boundFields.length; i++) {
+                fields[i] = declaringClass.getDeclaredField(boundFields[i].getName());
+            }
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
+        for (int i = 0; i < boundFields.length; i++) {
+            descriptors.add(new FieldDescriptor(fields[i], descriptors.size(), boundFields[i]));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cached descriptor of the given class, creating it on first use.
+     *
+     * @param type the class to describe
+     * @return the descriptor of the class
+     */
+    public static ClassDescriptor of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return every declared field of the class and its superclasses, starting with the class itself
+     */
+    public List<Field> getAllFields() {
+        List<Field> result = allFields;
+        if (result == null) {
+            result = new ArrayList<>();
+            Class<?> currentClass = type;
+            while (currentClass != null) {
+                Collections.addAll(result, currentClass.getDeclaredFields());
+                currentClass = currentClass.getSuperclass();
+            }
+            result = Collections.unmodifiableList(result);
+            allFields = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the descriptors of all fields annotated with {@link TransferGrid}, in the order they are
+     * shown in the grid
+     */
+    public List<FieldDescriptor> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the descriptor for the given field.
+     *
+     * @param field the field to look for
+     * @return the descriptor, or null if the field is not annotated or not part of this class
+     */
+    public FieldDescriptor getFieldDescriptor(Field field) {
+        return descriptorsByField.get(field);
+    }
+}
@@ -0,0 +1,454 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+import ch.rs.reflectorgrid.util.statics.ReflectionHelper.ReflectionHelperException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes a single {@link Field} trough {@link MethodHandle}s. The handles are created once per
+ * field and cached, so the access checks of {@link Field#get(Object)} and {@link Field#set(Object, Object)}
+ * are only done when the accessor is created.
+ *
+ * Primitive fields additionally get handles of their own type. The typed functions like
+ * {@link #getInt(Object)} or {@link #setDouble(Object, double)} use them to read and write
+ * the value without boxing it.
+ *
+ * Static fields are accessed the same way, the target passed to them is ignored.
+ *
+ * Fields that can not be made accessible trough reflection, for example in a module that is not open, are
+ * accessed trough the generated {@link GridBinder} of the declaring class if it has one. As a binder reads and
+ * writes every value as an Object, primitives are boxed in that case. Fields that can be made accessible use
+ * their own handles even if there is a binder, these are as fast as the binder and never box.
+ */
+public final class FieldAccessor {
+
+    private static final ClassValue<Map<String, FieldAccessor>> CACHE = new ClassValue<Map<String, FieldAccessor>>() {
+        @Override
+        protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<?> type;
+
+    private final MethodHandle getter;
+    private final MethodHandle primitiveGetter;
+
+    /**
+     * These are null if the field can not be written to trough a {@link MethodHandle}, for example
+     * if it is final. {@link Field#set(Object, Object)} is used in that case.
+     */
+    private final MethodHandle setter;
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * @param rawGetter a getter for the field, of any type that can be adapted to the type of the field
+     * @param rawSetter a setter for the field, or null if it has to be written trough reflection
+     */
+    private FieldAccessor(Field field, MethodHandle rawGetter, MethodHandle rawSetter) {
+        this.field = field;
+        this.type = field.getType();
+
+        getter = rawGetter.asType(GETTER_TYPE);
+        primitiveGetter = type.isPrimitive()
+                ? rawGetter.asType(MethodType.methodType(type, Object.class)) : null;
+
+        setter = rawSetter == null ? null : rawSetter.asType(SETTER_TYPE);
+        primitiveSetter = rawSetter == null || !type.isPrimitive()
+                ? null : rawSetter.asType(MethodType.methodType(void.class, Object.class, type));
+    }
+
+    /**
+     * Creates the accessor of a field. If the declaring class has a generated {@link GridBinder} that can
+     * access the field, the handles call the binder. Otherwise they are unreflected from the field itself.
+     */
+    private static FieldAccessor create(Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        MethodHandle rawGetter;
+        try {
+            field.setAccessible(true);
+            rawGetter = lookup.unreflectGetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            FieldAccessor bound = createBound(field, lookup);
+            if (bound == null) {
+                throw new ReflectionHelperException(e);
+            }
+            return bound;
+        }
+
+        MethodHandle rawSetter;
+        try {
+            rawSetter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            rawSetter = null;
+        }
+
+        if (Modifier.isStatic(field.getModifiers())) {
+            // the handles of a static field take no receiver, the target passed to them is ignored
+            rawGetter = MethodHandles.dropArguments(rawGetter, 0, Object.class);
+            rawSetter = rawSetter == null ? null : MethodHandles.dropArguments(rawSetter, 0, Object.class);
+        }
+        return new FieldAccessor(field, rawGetter, rawSetter);
+    }
+
+    /**
+     * Creates an accessor calling the generated {@link GridBinder} of the declaring class, for fields that can
+     * not be made accessible trough reflection.
+     *
+     * @return null if there is no binder or it can not access the field
+     */
+    private static FieldAccessor createBound(Field field, MethodHandles.Lookup lookup) {
+        GridBinder binder = GridBinders.find(field.getDeclaringClass());
+        if (binder == null) {
+            return null;
+        }
+        GridBinder.BoundField[] boundFields = binder.getFields();
+        for (int i = 0; i < boundFields.length; i++) {
+            if (boundFields[i].isAccessible() && boundFields[i].getName().equals(field.getName())) {
+                try {
+                    MethodHandle get = lookup.findVirtual(GridBinder.class, "get",
+                            MethodType.methodType(Object.class, int.class, Object.class));
+                    MethodHandle set = lookup.findVirtual(GridBinder.class, "set",
+                            MethodType.methodType(void.class, int.class, Object.class, Object.class));
+                    return new FieldAccessor(field,
+                            MethodHandles.insertArguments(get.bindTo(binder), 0, i),
+                            MethodHandles.insertArguments(set.bindTo(binder), 0, i));
+                } catch (ReflectiveOperationException e) {
+                    throw new ReflectionHelperException(e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cached accessor of the given field, creating it on first use.
+     *
+     * @param field the field to access
+     * @return the accessor for the field
+     * @throws ReflectionHelperException if the field can not be made accessible
+     */
+    public static FieldAccessor of(Field field) {
+        Map<String, FieldAccessor> accessors = CACHE.get(field.getDeclaringClass());
+        FieldAccessor accessor = accessors.get(field.getName());
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(field.getName(), name -> create(field));
+        }
+        return accessor;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the value of the field. Primitive values are boxed.
+     *
+     * @param target the object to read the field of
+     * @return the value of the field
+     */
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Sets the value of the field. Primitive fields get unboxed.
+     *
+     * @param target the object to write the field of
+     * @param value  the new value
+     */
+    public void set(Object target, Object value) {
+        if (setter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Sets a numeric field to the given {@link Number}, narrowing it to the type of the field.
+     * Primitive fields are written without boxing the value again.
+     *
+     * @param target the object to write the field of
+     * @param value  the new value
+     */
+    public void setNumber(Object target, Number value) {
+        if (value == null || !type.isPrimitive() && type.isInstance(value)) {
+            set(target, value);
+        } else if (type == int.class) {
+            setInt(target, value.intValue());
+        } else if (type == long.class) {
+            setLong(target, value.longValue());
+        } else if (type == double.class) {
+            setDouble(target, value.doubleValue());
+        } else if (type == float.class) {
+            setFloat(target, value.floatValue());
+        } else if (type == short.class) {
+            setShort(target, value.shortValue());
+        } else if (type == byte.class) {
+            setByte(target, value.byteValue());
+        } else {
+            set(target, narrow(value));
+        }
+    }
+
+    /**
+     * Narrows a {@link Number} to the boxed type of a non primitive field, the same way
+     * {@link #setNumber(Object, Number)} does. BigDecimal and BigInteger fields get the number with all its
+     * digits, BigIntegers without the fraction.
+     *
+     * @param value the number
+     * @return the number as the type of the field, or unchanged if the field is of any other type
+     */
+    public Object narrow(Number value) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        } else if (type == Integer.class) {
+            return value.intValue();
+        } else if (type == Long.class) {
+            return value.longValue();
+        } else if (type == Double.class) {
+            return value.doubleValue();
+        } else if (type == Float.class) {
+            return value.floatValue();
+        } else if (type == Short.class) {
+            return value.shortValue();
+        } else if (type == Byte.class) {
+            return value.byteValue();
+        } else if (type == BigDecimal.class) {
+            return value instanceof BigInteger ? new BigDecimal((BigInteger) value) : new BigDecimal(value.toString());
+        } else if (type == BigInteger.class) {
+            return value instanceof BigDecimal
+                    ? ((BigDecimal) value).toBigInteger()
+                    : BigInteger.valueOf(value.longValue());
+        }
+        return value;
+    }
+
+    public int getInt(Object target) {
+        checkPrimitive(int.class);
+        try {
+            return (int) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setInt(Object target, int value) {
+        checkPrimitive(int.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public long getLong(Object target) {
+        checkPrimitive(long.class);
+        try {
+            return (long) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setLong(Object target, long value) {
+        checkPrimitive(long.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public double getDouble(Object target) {
+        checkPrimitive(double.class);
+        try {
+            return (double) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setDouble(Object target, double value) {
+        checkPrimitive(double.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public float getFloat(Object target) {
+        checkPrimitive(float.class);
+        try {
+            return (float) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setFloat(Object target, float value) {
+        checkPrimitive(float.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public short getShort(Object target) {
+        checkPrimitive(short.class);
+        try {
+            return (short) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setShort(Object target, short value) {
+        checkPrimitive(short.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public byte getByte(Object target) {
+        checkPrimitive(byte.class);
+        try {
+            return (byte) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setByte(Object target, byte value) {
+        checkPrimitive(byte.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public boolean getBoolean(Object target) {
+        checkPrimitive(boolean.class);
+        try {
+            return (boolean) primitiveGetter.invokeExact(target);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    public void setBoolean(Object target, boolean value) {
+        checkPrimitive(boolean.class);
+        if (primitiveSetter == null) {
+            setReflective(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private void checkPrimitive(Class<?> expected) {
+        if (type != expected) {
+            throw new IllegalArgumentException("Field " + field.getName() + " is of type " + type
+                    + ", not " + expected);
+        }
+    }
+
+    private void setReflective(Object target, Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionHelperException(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new ReflectionHelperException(t);
+    }
+}
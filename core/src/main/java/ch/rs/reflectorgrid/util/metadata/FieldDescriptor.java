@@ -0,0 +1,246 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+import ch.rs.reflectorgrid.util.CommitPolicy;
+import ch.rs.reflectorgrid.util.DefaultFieldNamingStrategy;
+import ch.rs.reflectorgrid.util.FieldNamingStrategy;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.statics.TypeHelper;
+
+import java.lang.reflect.Field;
+
+/**
+ * Holds everything the grid needs to know about a single field annotated with {@link TransferGrid}.
+ * The annotation values, the type classification and the labels of the {@link DefaultFieldNamingStrategy}s
+ * are resolved once, so building a grid does not have to touch the annotation or the type again.
+ * If the class has a generated {@link GridBinder}, these values are taken from it and the annotation is not
+ * read at all.
+ *
+ * Instances are immutable and shared between all grids, use {@link ClassDescriptor#of(Class)} to get them.
+ */
+public final class FieldDescriptor {
+
+    private final Field field;
+    private final int ordinal;
+    private final boolean editable;
+    private final String[] options;
+    private final TransferGrid.Fieldtype fieldtype;
+    private final String tooltip;
+    private final CommitPolicy commitPolicy;
+    private final long commitDelay;
+    private final String min;
+    private final String max;
+    private final String step;
+    private final FieldKind kind;
+
+    /**
+     * The labels for every {@link DefaultFieldNamingStrategy}, indexed by their ordinal.
+     */
+    private final String[] defaultLabels;
+
+    /**
+     * Created on first access, as not every described field is ever read or written.
+     */
+    private volatile FieldAccessor accessor;
+
+    /**
+     * Describes a field by reading its annotation trough reflection.
+     */
+    FieldDescriptor(Field field, int ordinal) {
+        this.field = field;
+        this.ordinal = ordinal;
+        TransferGrid annotation = field.getAnnotation(TransferGrid.class);
+        this.editable = annotation.editable();
+        this.options = annotation.options();
+        this.fieldtype = annotation.fieldtype();
+        this.tooltip = annotation.tooltip();
+        this.commitPolicy = annotation.commitPolicy();
+        this.commitDelay = annotation.commitDelay();
+        this.min = annotation.min();
+        this.max = annotation.max();
+        this.step = annotation.step();
+        this.kind = resolveKind(field.getType());
+        this.defaultLabels = computeDefaultLabels(field);
+    }
+
+    /**
+     * Describes a field with the values a {@link GridBinder} was generated with.
+     */
+    FieldDescriptor(Field field, int ordinal, GridBinder.BoundField boundField) {
+        this.field = field;
+        this.ordinal = ordinal;
+        this.editable = boundField.isEditable();
+        this.options = boundField.getOptions();
+        this.fieldtype = boundField.getFieldtype();
+        this.tooltip = boundField.getTooltip();
+        this.commitPolicy = boundField.getCommitPolicy();
+        this.commitDelay = boundField.getCommitDelay();
+        this.min = boundField.getMin();
+        this.max = boundField.getMax();
+        this.step = boundField.getStep();
+        this.kind = resolveKind(field.getType());
+        this.defaultLabels = computeDefaultLabels(field);
+    }
+
+    private static String[] computeDefaultLabels(Field field) {
+        DefaultFieldNamingStrategy[] strategies = DefaultFieldNamingStrategy.values();
+        String[] labels = new String[strategies.length];
+        for (DefaultFieldNamingStrategy strategy : strategies) {
+            labels[strategy.ordinal()] = strategy.toString(field);
+        }
+        return labels;
+    }
+
+    private FieldKind resolveKind(Class<?> type) {
+        boolean isNumeric = TypeHelper.isNumericType(type);
+        boolean isEnum = TypeHelper.isEnum(type);
+        if (!isNumeric && !isEnum && !TypeHelper.isJavaLang(type)) {
+            return FieldKind.SUB_OBJECT;
+        }
+        if (options.length > 0) {
+            return FieldKind.COMBO_BOX;
+        }
+        if (isNumeric) {
+            return FieldKind.SPINNER;
+        }
+        if (isEnum) {
+            return FieldKind.ENUM_COMBO_BOX;
+        }
+        switch (fieldtype) {
+            case TEXT_FIELD:
+                return FieldKind.TEXT_FIELD;
+            case TEXT_AREA:
+                return FieldKind.TEXT_AREA;
+            default:
+                throw new IllegalArgumentException("Unknown field type: " + fieldtype);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return the cached {@link FieldAccessor} used to read and write this field
+     */
+    public FieldAccessor getAccessor() {
+        FieldAccessor result = accessor;
+        if (result == null) {
+            result = FieldAccessor.of(field);
+            accessor = result;
+        }
+        return result;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * @return the position of this field in {@link ClassDescriptor#getFields()}
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * @return the annotation of the field. It is read on every call, use the other getters where possible.
+     */
+    public TransferGrid getAnnotation() {
+        return field.getAnnotation(TransferGrid.class);
+    }
+
+    public boolean isEditable() {
+        return editable;
+    }
+
+    /**
+     * @return the options of the annotation. The array is shared, do not modify it.
+     */
+    public String[] getOptions() {
+        return options;
+    }
+
+    public TransferGrid.Fieldtype getFieldtype() {
+        return fieldtype;
+    }
+
+    public String getTooltip() {
+        return tooltip;
+    }
+
+    /**
+     * @return the commit policy of the annotation, {@link CommitPolicy#INHERIT} if the grid decides
+     */
+    public CommitPolicy getCommitPolicy() {
+        return commitPolicy;
+    }
+
+    /**
+     * @return the commit delay of the annotation in milliseconds, negative if the grid decides
+     */
+    public long getCommitDelay() {
+        return commitDelay;
+    }
+
+    /**
+     * @return the minimum of the Spinner as written in the annotation, empty if the type decides
+     */
+    public String getMin() {
+        return min;
+    }
+
+    /**
+     * @return the maximum of the Spinner as written in the annotation, empty if the type decides
+     */
+    public String getMax() {
+        return max;
+    }
+
+    /**
+     * @return the step of the Spinner as written in the annotation, empty to step by one
+     */
+    public String getStep() {
+        return step;
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the label of this field. Labels of the {@link DefaultFieldNamingStrategy}s are precomputed,
+     * any other strategy gets called directly.
+     *
+     * @param strategy the strategy used by the grid
+     * @return the label for this field
+     */
+    public String getLabel(FieldNamingStrategy strategy) {
+        if (strategy instanceof DefaultFieldNamingStrategy) {
+            return defaultLabels[((DefaultFieldNamingStrategy) strategy).ordinal()];
+        }
+        return strategy.toString(field);
+    }
+}
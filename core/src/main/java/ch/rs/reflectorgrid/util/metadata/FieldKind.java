@@ -0,0 +1,44 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+/**
+ * Describes which kind of node a {@link FieldDescriptor} is turned into.
+ * The kind is resolved once per field when its {@link ClassDescriptor} is created, following
+ * the same hierarchy the grid has always used:
+ *
+ * 1. Fields that are neither numeric, enums nor part of java.lang are sub-objects
+ * 2. Fields with options are shown in a ComboBox
+ * 3. Numeric fields are shown in a Spinner
+ * 4. Enums are shown in a ComboBox with all enum constants
+ * 5. Everything else uses the fieldtype of the annotation
+ */
+public enum FieldKind {
+    COMBO_BOX,
+    SPINNER,
+    ENUM_COMBO_BOX,
+    TEXT_FIELD,
+    TEXT_AREA,
+    SUB_OBJECT
+}
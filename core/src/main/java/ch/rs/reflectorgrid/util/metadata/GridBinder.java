@@ -0,0 +1,166 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+import ch.rs.reflectorgrid.util.CommitPolicy;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+
+/**
+ * A GridBinder knows the annotation settings of the {@link TransferGrid} fields of one class, and reads and writes
+ * the fields that are visible to its package with plain field access.
+ *
+ * Binders are not written by hand. The optional TransferGridProcessor of the TransferGrid-processor artifact
+ * generates one for every class that declares fields annotated with {@link TransferGrid}, if a project adds it
+ * to its annotation processors. {@link GridBinders#binderNameOf(String)} for more information on their names.
+ * {@link ClassDescriptor} takes the annotation settings from the binder, and {@link FieldAccessor} falls back to
+ * it for fields that can not be made accessible, for example in a module that is not open. The fields, labels
+ * and nodes of the grid are still resolved trough reflection, a binder does not replace it.
+ *
+ * A binder only covers the fields declared in its class, not the ones of its superclasses.
+ */
+public interface GridBinder {
+
+    /**
+     * @return the class this binder was generated for
+     */
+    Class<?> getBoundClass();
+
+    /**
+     * @return all annotated fields declared in the bound class, in declaration order.
+     * The array is shared, do not modify it.
+     */
+    BoundField[] getFields();
+
+    /**
+     * Reads the field at the given index. Only valid for fields that are {@link BoundField#isAccessible()}.
+     *
+     * @param index  the index of the field in {@link #getFields()}
+     * @param target the object to read the field of
+     * @return the value of the field, boxed if it is primitive
+     */
+    Object get(int index, Object target);
+
+    /**
+     * Writes the field at the given index. Only valid for fields that are {@link BoundField#isAccessible()}.
+     *
+     * @param index  the index of the field in {@link #getFields()}
+     * @param target the object to write the field of
+     * @param value  the new value
+     */
+    void set(int index, Object target, Object value);
+
+    /**
+     * The compile-time description of a single annotated field.
+     */
+    final class BoundField {
+
+        private final String name;
+        private final boolean accessible;
+        private final boolean editable;
+        private final String[] options;
+        private final TransferGrid.Fieldtype fieldtype;
+        private final String tooltip;
+        private final CommitPolicy commitPolicy;
+        private final long commitDelay;
+        private final String min;
+        private final String max;
+        private final String step;
+
+        /**
+         * Called by the generated binders only.
+         *
+         * @param name         the name of the field
+         * @param accessible   true if the binder can read and write the field directly. Private and final
+         *                     fields can not be, they are accessed trough reflection instead.
+         * @param editable     {@link TransferGrid#editable()}
+         * @param options      {@link TransferGrid#options()}
+         * @param fieldtype    {@link TransferGrid#fieldtype()}
+         * @param tooltip      {@link TransferGrid#tooltip()}
+         * @param commitPolicy {@link TransferGrid#commitPolicy()}
+         * @param commitDelay  {@link TransferGrid#commitDelay()}
+         * @param min          {@link TransferGrid#min()}
+         * @param max          {@link TransferGrid#max()}
+         * @param step         {@link TransferGrid#step()}
+         */
+        public BoundField(String name, boolean accessible, boolean editable, String[] options,
+                          TransferGrid.Fieldtype fieldtype, String tooltip, CommitPolicy commitPolicy,
+                          long commitDelay, String min, String max, String step) {
+            this.name = name;
+            this.accessible = accessible;
+            this.editable = editable;
+            this.options = options;
+            this.fieldtype = fieldtype;
+            this.tooltip = tooltip;
+            this.commitPolicy = commitPolicy;
+            this.commitDelay = commitDelay;
+            this.min = min;
+            this.max = max;
+            this.step = step;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isAccessible() {
+            return accessible;
+        }
+
+        public boolean isEditable() {
+            return editable;
+        }
+
+        public String[] getOptions() {
+            return options;
+        }
+
+        public TransferGrid.Fieldtype getFieldtype() {
+            return fieldtype;
+        }
+
+        public String getTooltip() {
+            return tooltip;
+        }
+
+        public CommitPolicy getCommitPolicy() {
+            return commitPolicy;
+        }
+
+        public long getCommitDelay() {
+            return commitDelay;
+        }
+
+        public String getMin() {
+            return min;
+        }
+
+        public String getMax() {
+            return max;
+        }
+
+        public String getStep() {
+            return step;
+        }
+    }
+}
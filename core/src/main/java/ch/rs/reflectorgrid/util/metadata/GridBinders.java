@@ -0,0 +1,107 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+/**
+ * Finds the generated {@link GridBinder} of a class. The lookup is done once per class and cached,
+ * classes without a generated binder simply return null. So does a binder that can not be created, for
+ * example one generated for an older version of the class, the fields are accessed trough reflection then.
+ */
+public final class GridBinders {
+
+    /**
+     * The suffix the TransferGridProcessor appends to the encoded name of a class for its binder.
+     */
+    public static final String BINDER_SUFFIX = "_TransferGridBinder";
+
+    private static final ClassValue<GridBinder> CACHE = new ClassValue<GridBinder>() {
+        @Override
+        protected GridBinder computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private GridBinders() {
+    }
+
+    /**
+     * @param type the class to find the binder for
+     * @return the generated binder of the class, or null if there is none on the classpath
+     */
+    public static GridBinder find(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Returns the fully qualified name of the binder the processor generates for the given class.
+     *
+     * @param type the class the binder is generated for
+     * @return the name of the binder class
+     */
+    public static String binderNameOf(Class<?> type) {
+        return binderNameOf(type.getName());
+    }
+
+    /**
+     * Returns the fully qualified name of the binder for a class. The binder lives in the package of the class,
+     * its simple name is the binary name of the class without the package, with "_" replaced by "_1" and "$"
+     * by "_2", followed by {@link #BINDER_SUFFIX}. This keeps the names of classes like Outer$Inner and
+     * Outer_Inner apart, which would both end up as Outer_Inner if "$" was simply replaced by "_".
+     *
+     * @param binaryName the binary name of the class the binder is generated for, see {@link Class#getName()}
+     * @return the name of the binder class
+     */
+    public static String binderNameOf(String binaryName) {
+        int packageEnd = binaryName.lastIndexOf('.');
+        StringBuilder name = new StringBuilder(binaryName.length() + BINDER_SUFFIX.length() + 4);
+        name.append(binaryName, 0, packageEnd + 1);
+        for (int i = packageEnd + 1; i < binaryName.length(); i++) {
+            char c = binaryName.charAt(i);
+            if (c == '_') {
+                name.append("_1");
+            } else if (c == '$') {
+                name.append("_2");
+            } else {
+                name.append(c);
+            }
+        }
+        return name.append(BINDER_SUFFIX).toString();
+    }
+
+    private static GridBinder load(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getClassLoader() == null) {
+            return null;
+        }
+        try {
+            Class<?> binderClass = Class.forName(binderNameOf(type), true, type.getClassLoader());
+            if (!GridBinder.class.isAssignableFrom(binderClass)) {
+                return null;
+            }
+            GridBinder binder = (GridBinder) binderClass.getConstructor().newInstance();
+            return binder.getBoundClass() == type ? binder : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
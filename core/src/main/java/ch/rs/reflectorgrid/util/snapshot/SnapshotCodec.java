@@ -0,0 +1,232 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.snapshot;
+
+import ch.rs.reflectorgrid.util.DirtyTracker;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes the state of an object into a compact binary snapshot and reads it back, for example to save and
+ * restore presets of a configuration shown in a grid.
+ *
+ * Only the fields annotated with {@link TransferGrid} are part of a snapshot, the same ones the grid shows.
+ * SubObjects are written with their own annotated fields, objects reachable more than once are written once.
+ * Values of other types are written as text trough the {@link TypeConverterCollection}. Static fields are not
+ * part of the snapshot, final fields are written but not read back, apart from filling the subObject they hold.
+ *
+ * Reading a snapshot into an existing object fills it and its subObjects in place, so a grid showing it only
+ * has to refresh its values. Fields are matched by name, see the format described in {@link SnapshotFormat}.
+ *
+ * New objects are only created for classes with annotated fields and a public constructor without parameters,
+ * as the class names are taken from the snapshot.
+ *
+ * Files are written and read trough a {@link FileChannel}. They are read into a heap buffer and not mapped into
+ * memory, as a mapped file stays locked on some systems until the mapping is garbage collected, which would
+ * keep the file from being saved again right after it was read.
+ */
+public final class SnapshotCodec {
+
+    private final TypeConverterCollection converters;
+
+    /**
+     * Creates a codec using the converters of {@link TypeConverterCollection#getGlobal()}.
+     */
+    public SnapshotCodec() {
+        this(TypeConverterCollection.getGlobal());
+    }
+
+    /**
+     * @param converters the converters for values that are neither primitive, String, enum nor subObject
+     */
+    public SnapshotCodec(TypeConverterCollection converters) {
+        this.converters = Objects.requireNonNull(converters, "The received converters are null!");
+    }
+
+    /**
+     * @param object the object to snapshot
+     * @return a buffer containing the snapshot, from its position to its limit
+     */
+    public ByteBuffer encode(Object object) {
+        Objects.requireNonNull(object, "The received Object is null!");
+        return new SnapshotWriter(converters).write(object);
+    }
+
+    /**
+     * Reads a snapshot into a new instance of the type, created trough its constructor without parameters.
+     *
+     * @param buffer the snapshot, read from its position
+     * @param type   the type of the snapshotted object or one of its supertypes
+     * @param <T>    the type of the object
+     * @return the new object
+     * @throws IllegalArgumentException if the buffer does not contain a snapshot of the type, or a class in it
+     *                                  has no annotated fields or no public constructor without parameters
+     */
+    public <T> T decode(ByteBuffer buffer, Class<T> type) {
+        return type.cast(read(buffer, null, type, null));
+    }
+
+    /**
+     * Reads a snapshot into an existing object and its subObjects.
+     *
+     * @param buffer the snapshot, read from its position
+     * @param target the object to fill
+     * @throws IllegalArgumentException if the buffer does not contain a snapshot of the class of the target
+     */
+    public void decodeInto(ByteBuffer buffer, Object target) {
+        decodeInto(buffer, target, null);
+    }
+
+    /**
+     * Reads a snapshot into an existing object and its subObjects, and marks every field it changes as dirty.
+     * The marks of subObjects that are replaced by new instances are removed.
+     *
+     * @param buffer  the snapshot, read from its position
+     * @param target  the object to fill
+     * @param tracker the tracker to mark the changed fields in, or null
+     * @throws IllegalArgumentException if the buffer does not contain a snapshot of the class of the target
+     */
+    public void decodeInto(ByteBuffer buffer, Object target, DirtyTracker tracker) {
+        Objects.requireNonNull(target, "The received Object is null!");
+        read(buffer, target, target.getClass(), tracker);
+    }
+
+    private Object read(ByteBuffer buffer, Object target, Class<?> type, DirtyTracker tracker) {
+        ClassLoader loader = type.getClassLoader() != null
+                ? type.getClassLoader() : Thread.currentThread().getContextClassLoader();
+        try {
+            return new SnapshotReader(buffer, converters, loader, tracker).read(target, type);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The snapshot is truncated or corrupt", e);
+        }
+    }
+
+    /**
+     * Writes the snapshot of an object into a channel.
+     *
+     * @param object  the object to snapshot
+     * @param channel the channel to write to, it is not closed
+     * @throws IOException if writing fails
+     */
+    public void write(Object object, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = encode(object);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes the snapshot of an object into a file, replacing its content.
+     *
+     * @param object the object to snapshot
+     * @param file   the file to write
+     * @throws IOException if writing fails
+     */
+    public void write(Object object, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(object, channel);
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file into a new instance of the type, see {@link #decode(ByteBuffer, Class)}.
+     *
+     * @throws IOException if reading fails
+     */
+    public <T> T read(Path file, Class<T> type) throws IOException {
+        return decode(readFile(file), type);
+    }
+
+    /**
+     * Reads a snapshot from a file into an existing object, see {@link #decodeInto(ByteBuffer, Object)}.
+     *
+     * @throws IOException if reading fails
+     */
+    public void readInto(Path file, Object target) throws IOException {
+        decodeInto(readFile(file), target);
+    }
+
+    /**
+     * Reads a snapshot from a file into an existing object and marks the changed fields, see
+     * {@link #decodeInto(ByteBuffer, Object, DirtyTracker)}.
+     *
+     * @throws IOException if reading fails
+     */
+    public void readInto(Path file, Object target, DirtyTracker tracker) throws IOException {
+        decodeInto(readFile(file), target, tracker);
+    }
+
+    /**
+     * Reads a snapshot from a channel until its end into an existing object, see
+     * {@link #decodeInto(ByteBuffer, Object)}.
+     *
+     * @param channel the channel to read, it is not closed
+     * @throws IOException if reading fails
+     */
+    public void readInto(ReadableByteChannel channel, Object target) throws IOException {
+        decodeInto(readFully(channel), target);
+    }
+
+    private static ByteBuffer readFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException(file + " is too large for a snapshot");
+            }
+            return readFully(channel, (int) size + 1);
+        }
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel channel) throws IOException {
+        return readFully(channel, 4096);
+    }
+
+    /**
+     * @param capacity the expected size plus one, so reaching the end of the channel does not grow the buffer
+     */
+    private static ByteBuffer readFully(ReadableByteChannel channel, int capacity) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(capacity, 16));
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.snapshot;
+
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The constants of the snapshot format, version {@link #VERSION}.
+ *
+ * A snapshot starts with the int {@link #MAGIC} and the version byte, followed by a single value holding the
+ * snapshotted object. Every value starts with one of the tag bytes below:
+ * <ul>
+ * <li>NULL, FALSE and TRUE have no data</li>
+ * <li>BYTE is a single byte. SHORT, CHAR, INT and LONG are zigzag encoded varints, so small values take one
+ * byte no matter their sign</li>
+ * <li>FLOAT and DOUBLE are their 4 and 8 bytes, big endian</li>
+ * <li>STRING and ENUM are a varint length followed by the UTF-8 bytes of the String or the constant name</li>
+ * <li>TEXT is written like a STRING, it is the value converted by the TypeConverterCollection</li>
+ * <li>OBJECT is a varint class id followed by one value per field. The first time a class occurs its id is the
+ * number of classes so far, and its name, its field count and the names of the fields follow the id</li>
+ * <li>REFERENCE is the varint index of an OBJECT written before, in the order they started, for objects that
+ * are reachable more than once</li>
+ * <li>SKIPPED marks a value that could not be written, the field is left as it is when reading</li>
+ * </ul>
+ * Fields are matched by name when reading, so fields can be added, removed or reordered between versions of a
+ * class. A value whose type no longer fits the field is skipped, numbers are converted to the new type.
+ */
+final class SnapshotFormat {
+
+    /**
+     * "TGSN" in ASCII.
+     */
+    static final int MAGIC = 0x5447534E;
+    static final byte VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte BYTE = 3;
+    static final byte SHORT = 4;
+    static final byte CHAR = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte STRING = 10;
+    static final byte ENUM = 11;
+    static final byte TEXT = 12;
+    static final byte OBJECT = 13;
+    static final byte REFERENCE = 14;
+    static final byte SKIPPED = 15;
+
+    /**
+     * The annotated fields of every class that are part of a snapshot, all but the static ones.
+     */
+    private static final ClassValue<FieldDescriptor[]> FIELDS = new ClassValue<FieldDescriptor[]>() {
+        @Override
+        protected FieldDescriptor[] computeValue(Class<?> type) {
+            List<FieldDescriptor> fields = new ArrayList<>();
+            for (FieldDescriptor descriptor : ClassDescriptor.of(type).getFields()) {
+                if (!Modifier.isStatic(descriptor.getField().getModifiers())) {
+                    fields.add(descriptor);
+                }
+            }
+            return fields.toArray(new FieldDescriptor[0]);
+        }
+    };
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * @return the fields of the class written into a snapshot, in the order they are written. Do not modify it.
+     */
+    static FieldDescriptor[] fieldsOf(Class<?> type) {
+        return FIELDS.get(type);
+    }
+}
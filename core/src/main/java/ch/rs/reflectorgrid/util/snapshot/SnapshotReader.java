@@ -0,0 +1,476 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.snapshot;
+
+import ch.rs.reflectorgrid.util.DirtyTracker;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.statics.TypeHelper;
+import ch.rs.reflectorgrid.util.statics.ValueComparators;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.util.StringConverter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.rs.reflectorgrid.util.snapshot.SnapshotFormat.*;
+
+/**
+ * Reads a single snapshot from a ByteBuffer, see {@link SnapshotFormat}. Not reusable.
+ *
+ * Objects are filled in place wherever the field already holds an instance of the class in the snapshot, so
+ * the grid showing them can keep its Nodes. New instances are only created for fields that are null or hold
+ * another class, trough the public constructor without parameters of the class. As the class names are read
+ * from the snapshot, only classes with {@link ch.rs.reflectorgrid.util.annotations.TransferGrid} fields are
+ * created, any other class is rejected.
+ *
+ * If a {@link DirtyTracker} is given, every field the snapshot changes is marked in it, and the marks of
+ * subObjects that get replaced are removed.
+ */
+final class SnapshotReader {
+
+    private final ByteBuffer buffer;
+    private final TypeConverterCollection converters;
+    private final ClassLoader loader;
+    private final DirtyTracker tracker;
+    private final List<ClassInfo> classes = new ArrayList<>();
+
+    /**
+     * Every object in the order it was written, null for the ones that could not be read.
+     */
+    private final List<Object> objects = new ArrayList<>();
+
+    /**
+     * @param tracker the tracker to mark the changed fields in, or null
+     */
+    SnapshotReader(ByteBuffer buffer, TypeConverterCollection converters, ClassLoader loader,
+                   DirtyTracker tracker) {
+        this.buffer = buffer;
+        this.converters = converters;
+        this.loader = loader;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Reads the snapshot into the target, or into a new instance if the target is null.
+     *
+     * @return the object the snapshot was read into
+     * @throws IllegalArgumentException if the data is not a snapshot of the type, or contains a class that
+     *                                  can not be created
+     */
+    Object read(Object target, Class<?> type) {
+        if (buffer.remaining() < 5 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The data is not a TransferGrid snapshot");
+        }
+        byte version = buffer.get();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        }
+        if (buffer.get() != OBJECT) {
+            throw new IllegalArgumentException("The snapshot does not contain an object");
+        }
+        ClassInfo info = getClassInfo();
+        if (info.type == null || !type.isAssignableFrom(info.type) && !info.type.isInstance(target)) {
+            throw new IllegalArgumentException("The snapshot contains a " + info.name + ", not a " + type.getName());
+        }
+        Object object = info.type.isInstance(target) ? target : create(info.type);
+        readFields(object, info);
+        return object;
+    }
+
+    /**
+     * Reads the fields of an object, or skips them if it is null.
+     */
+    private void readFields(Object object, ClassInfo info) {
+        objects.add(object);
+        for (FieldDescriptor field : info.fields) {
+            readField(object == null ? null : field, object);
+        }
+    }
+
+    /**
+     * Reads the value of a field and writes it, if it still fits the field. Null fields only skip the value.
+     */
+    private void readField(FieldDescriptor field, Object object) {
+        byte tag = buffer.get();
+        if (field == null) {
+            skipValue(tag);
+        } else if (tracker == null || tag == OBJECT || tag == SKIPPED) {
+            readValue(tag, field, object);
+        } else {
+            Object before = field.getAccessor().get(object);
+            readValue(tag, field, object);
+            if (!ValueComparators.isUnchanged(field.getType(), before, field.getAccessor().get(object))) {
+                mark(object, field);
+                if (tag == NULL && before != null) {
+                    // a subObject that is removed
+                    tracker.markClean(before);
+                }
+            }
+        }
+    }
+
+    private void readValue(byte tag, FieldDescriptor field, Object object) {
+        Class<?> type = field.getType();
+        FieldAccessor accessor = field.getAccessor();
+        boolean writable = !Modifier.isFinal(field.getField().getModifiers());
+        switch (tag) {
+            case NULL:
+                if (writable && !type.isPrimitive()) {
+                    accessor.set(object, null);
+                }
+                break;
+            case FALSE:
+            case TRUE:
+                if (writable && (type == boolean.class || type == Boolean.class)) {
+                    accessor.set(object, tag == TRUE);
+                }
+                break;
+            case BYTE:
+                writeWhole(accessor, type, object, buffer.get(), writable);
+                break;
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+                long whole = getVarlong();
+                if (type == char.class || type == Character.class) {
+                    if (writable) {
+                        accessor.set(object, (char) whole);
+                    }
+                } else {
+                    writeWhole(accessor, type, object, whole, writable);
+                }
+                break;
+            case FLOAT:
+                writeDecimal(accessor, type, object, buffer.getFloat(), writable);
+                break;
+            case DOUBLE:
+                writeDecimal(accessor, type, object, buffer.getDouble(), writable);
+                break;
+            case STRING:
+            case TEXT:
+                String text = getString();
+                if (writable) {
+                    writeText(accessor, type, object, text);
+                }
+                break;
+            case ENUM:
+                String name = getString();
+                if (writable) {
+                    writeEnum(accessor, type, object, name);
+                }
+                break;
+            case OBJECT:
+                Object current = accessor.get(object);
+                Object read = readObject(current, type);
+                if (writable && read != current) {
+                    accessor.set(object, read);
+                    if (tracker != null) {
+                        mark(object, field);
+                        if (current != null) {
+                            tracker.markClean(current);
+                        }
+                    }
+                }
+                break;
+            case REFERENCE:
+                Object referenced = objects.get(getVarint());
+                if (writable && type.isInstance(referenced)) {
+                    accessor.set(object, referenced);
+                }
+                break;
+            case SKIPPED:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Reads a nested object into the current value of the field if it is of the same class, into a new instance
+     * otherwise.
+     *
+     * @return the object to set, the current value if the class of the object does not fit the field anymore
+     */
+    private Object readObject(Object current, Class<?> type) {
+        ClassInfo info = getClassInfo();
+        Object object = null;
+        if (info.type != null && type.isAssignableFrom(info.type)) {
+            object = info.type.isInstance(current) ? current : create(info.type);
+        }
+        readFields(object, info);
+        return object == null ? current : object;
+    }
+
+    private void skipValue(byte tag) {
+        switch (tag) {
+            case NULL:
+            case FALSE:
+            case TRUE:
+            case SKIPPED:
+                break;
+            case BYTE:
+                buffer.get();
+                break;
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+                getVarlong();
+                break;
+            case FLOAT:
+                buffer.getFloat();
+                break;
+            case DOUBLE:
+                buffer.getDouble();
+                break;
+            case STRING:
+            case TEXT:
+            case ENUM:
+                getString();
+                break;
+            case OBJECT:
+                readFields(null, getClassInfo());
+                break;
+            case REFERENCE:
+                getVarint();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Writes a whole number into a primitive or boxed numeric field, narrowed to its type.
+     */
+    private static void writeWhole(FieldAccessor accessor, Class<?> type, Object object, long value,
+                                   boolean writable) {
+        if (!writable) {
+            return;
+        }
+        if (type == int.class) {
+            accessor.setInt(object, (int) value);
+        } else if (type == long.class) {
+            accessor.setLong(object, value);
+        } else if (type == short.class) {
+            accessor.setShort(object, (short) value);
+        } else if (type == byte.class) {
+            accessor.setByte(object, (byte) value);
+        } else if (type == double.class) {
+            accessor.setDouble(object, value);
+        } else if (type == float.class) {
+            accessor.setFloat(object, value);
+        } else if (isBoxedNumber(type)) {
+            accessor.setNumber(object, value);
+        }
+    }
+
+    /**
+     * Writes a decimal number into a primitive or boxed numeric field, narrowed to its type.
+     */
+    private static void writeDecimal(FieldAccessor accessor, Class<?> type, Object object, double value,
+                                     boolean writable) {
+        if (!writable) {
+            return;
+        }
+        if (type == double.class) {
+            accessor.setDouble(object, value);
+        } else if (type == float.class) {
+            accessor.setFloat(object, (float) value);
+        } else if (type.isPrimitive() && TypeHelper.isNumericType(type) || isBoxedNumber(type)) {
+            accessor.setNumber(object, value);
+        }
+    }
+
+    private static boolean isBoxedNumber(Class<?> type) {
+        return !type.isPrimitive() && TypeHelper.isNumericType(type) && TypeHelper.isJavaLang(type);
+    }
+
+    private void writeText(FieldAccessor accessor, Class<?> type, Object object, String text) {
+        if (type.isAssignableFrom(String.class)) {
+            accessor.set(object, text);
+            return;
+        }
+        StringConverter<?> converter = converters.getConverter(type);
+        if (converter == null) {
+            return;
+        }
+        Object value;
+        try {
+            value = converter.fromString(text);
+        } catch (RuntimeException e) {
+            return;
+        }
+        if (value != null && (type.isPrimitive() ? TypeHelper.isNumericType(type) == value instanceof Number
+                : type.isInstance(value))) {
+            if (value instanceof Number) {
+                accessor.setNumber(object, (Number) value);
+            } else {
+                accessor.set(object, value);
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void writeEnum(FieldAccessor accessor, Class<?> type, Object object, String name) {
+        Class<?> enumType = type.isEnum() ? type : type.getSuperclass() != null && type.getSuperclass().isEnum()
+                ? type.getSuperclass() : null;
+        if (enumType == null) {
+            return;
+        }
+        try {
+            accessor.set(object, Enum.valueOf((Class<? extends Enum>) enumType, name));
+        } catch (IllegalArgumentException e) {
+            // the constant has been removed since the snapshot was written
+        }
+    }
+
+    private ClassInfo getClassInfo() {
+        int id = getVarint();
+        if (id == classes.size()) {
+            return readClassInfo();
+        }
+        if (id > classes.size()) {
+            throw new IllegalArgumentException("Unknown class id " + id);
+        }
+        return classes.get(id);
+    }
+
+    /**
+     * Reads the definition of a class and matches its field names with the fields the class has now.
+     * Fields that are gone, and all fields of classes that can not be loaded, are null and get skipped.
+     */
+    private ClassInfo readClassInfo() {
+        String name = getString();
+        Class<?> type;
+        try {
+            type = Class.forName(name, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            type = null;
+        }
+        FieldDescriptor[] available = type == null ? new FieldDescriptor[0] : fieldsOf(type);
+        boolean[] used = new boolean[available.length];
+        FieldDescriptor[] fields = new FieldDescriptor[getVarint()];
+        for (int i = 0; i < fields.length; i++) {
+            String fieldName = getString();
+            for (int j = 0; j < available.length; j++) {
+                if (!used[j] && available[j].getField().getName().equals(fieldName)) {
+                    used[j] = true;
+                    fields[i] = available[j];
+                    break;
+                }
+            }
+        }
+        ClassInfo info = new ClassInfo(name, type, fields);
+        classes.add(info);
+        return info;
+    }
+
+    /**
+     * The ordinal of the field can differ between the class in the snapshot and the class of the object, if the
+     * object is an instance of a subclass.
+     */
+    private void mark(Object object, FieldDescriptor field) {
+        FieldDescriptor descriptor = ClassDescriptor.of(object.getClass()).getFieldDescriptor(field.getField());
+        if (descriptor != null) {
+            tracker.mark(object, descriptor.getOrdinal());
+        }
+    }
+
+    /**
+     * Creates an instance of a class named in the snapshot. Only classes with annotated fields are created, and
+     * only trough their public constructor without parameters, so a snapshot can not create arbitrary objects.
+     */
+    private static Object create(Class<?> type) {
+        if (fieldsOf(type).length == 0) {
+            throw new IllegalArgumentException(type.getName()
+                    + " has no TransferGrid fields, it can not be created from a snapshot");
+        }
+        try {
+            return type.getConstructor().newInstance();
+        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException e) {
+            throw new IllegalArgumentException(type.getName() + " needs a public constructor without parameters", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("The constructor of " + type.getName() + " failed", e.getCause());
+        }
+    }
+
+    private String getString() {
+        int length = getVarint();
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("The snapshot is truncated");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int getVarint() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in the snapshot");
+    }
+
+    private long getVarlong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return zigzag >>> 1 ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in the snapshot");
+    }
+
+    /**
+     * A class as described in the snapshot.
+     */
+    private static final class ClassInfo {
+        private final String name;
+        private final Class<?> type;
+        private final FieldDescriptor[] fields;
+
+        ClassInfo(String name, Class<?> type, FieldDescriptor[] fields) {
+            this.name = name;
+            this.type = type;
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.snapshot;
+
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldKind;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.util.StringConverter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static ch.rs.reflectorgrid.util.snapshot.SnapshotFormat.*;
+
+/**
+ * Writes a single snapshot into a growing ByteBuffer, see {@link SnapshotFormat}. Not reusable.
+ */
+final class SnapshotWriter {
+
+    private final TypeConverterCollection converters;
+    private final Map<Class<?>, Integer> classIds = new HashMap<>();
+    private final Map<Object, Integer> objectIds = new IdentityHashMap<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    SnapshotWriter(TypeConverterCollection converters) {
+        this.converters = converters;
+    }
+
+    /**
+     * @return the snapshot of the object, ready to be read
+     */
+    ByteBuffer write(Object object) {
+        ensure(5);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        writeObject(object);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeObject(Object object) {
+        Integer id = objectIds.get(object);
+        if (id != null) {
+            putTag(REFERENCE);
+            putVarint(id);
+            return;
+        }
+        objectIds.put(object, objectIds.size());
+
+        Class<?> type = object.getClass();
+        FieldDescriptor[] fields = fieldsOf(type);
+        putTag(OBJECT);
+        Integer classId = classIds.get(type);
+        if (classId == null) {
+            putVarint(classIds.size());
+            classIds.put(type, classIds.size());
+            putString(type.getName());
+            putVarint(fields.length);
+            for (FieldDescriptor field : fields) {
+                putString(field.getField().getName());
+            }
+        } else {
+            putVarint(classId);
+        }
+        for (FieldDescriptor field : fields) {
+            writeField(object, field);
+        }
+    }
+
+    /**
+     * Writes the value of a field. Primitive fields are read without boxing them.
+     */
+    private void writeField(Object object, FieldDescriptor field) {
+        Class<?> type = field.getType();
+        FieldAccessor accessor = field.getAccessor();
+        if (type == int.class) {
+            putTag(INT);
+            putVarlong(accessor.getInt(object));
+        } else if (type == long.class) {
+            putTag(LONG);
+            putVarlong(accessor.getLong(object));
+        } else if (type == double.class) {
+            putTag(DOUBLE);
+            ensure(8);
+            buffer.putDouble(accessor.getDouble(object));
+        } else if (type == float.class) {
+            putTag(FLOAT);
+            ensure(4);
+            buffer.putFloat(accessor.getFloat(object));
+        } else if (type == boolean.class) {
+            putTag(accessor.getBoolean(object) ? TRUE : FALSE);
+        } else if (type == short.class) {
+            putTag(SHORT);
+            putVarlong(accessor.getShort(object));
+        } else if (type == byte.class) {
+            putTag(BYTE);
+            ensure(1);
+            buffer.put(accessor.getByte(object));
+        } else {
+            writeValue(accessor.get(object), field);
+        }
+    }
+
+    private void writeValue(Object value, FieldDescriptor field) {
+        if (value == null) {
+            putTag(NULL);
+        } else if (value instanceof String) {
+            putTag(STRING);
+            putString((String) value);
+        } else if (value instanceof Boolean) {
+            putTag((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            putTag(value instanceof Integer ? INT : value instanceof Long ? LONG : SHORT);
+            putVarlong(((Number) value).longValue());
+        } else if (value instanceof Byte) {
+            putTag(BYTE);
+            ensure(1);
+            buffer.put((Byte) value);
+        } else if (value instanceof Character) {
+            putTag(CHAR);
+            putVarlong((Character) value);
+        } else if (value instanceof Double) {
+            putTag(DOUBLE);
+            ensure(8);
+            buffer.putDouble((Double) value);
+        } else if (value instanceof Float) {
+            putTag(FLOAT);
+            ensure(4);
+            buffer.putFloat((Float) value);
+        } else if (value instanceof Enum) {
+            putTag(ENUM);
+            putString(((Enum<?>) value).name());
+        } else if (field.getKind() == FieldKind.SUB_OBJECT
+                && (objectIds.containsKey(value) || !ClassDescriptor.of(value.getClass()).getFields().isEmpty())) {
+            writeObject(value);
+        } else {
+            writeText(value, field);
+        }
+    }
+
+    /**
+     * Writes a value trough its converter, or as an object without fields if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeText(Object value, FieldDescriptor field) {
+        StringConverter<Object> converter = (StringConverter<Object>) converters.getConverter(value.getClass());
+        if (converter != null) {
+            putTag(TEXT);
+            putString(converter.toString(value));
+        } else if (field.getKind() == FieldKind.SUB_OBJECT) {
+            writeObject(value);
+        } else {
+            putTag(SKIPPED);
+        }
+    }
+
+    private void putTag(byte tag) {
+        ensure(1);
+        buffer.put(tag);
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length);
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes an unsigned int in groups of 7 bits, lowest first, the highest bit set if another group follows.
+     */
+    private void putVarint(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes a signed long as a varint, zigzag encoded so the sign is in the lowest bit.
+     */
+    private void putVarlong(long value) {
+        long zigzag = value << 1 ^ value >> 63;
+        ensure(10);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.put((byte) (zigzag & 0x7F | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+}
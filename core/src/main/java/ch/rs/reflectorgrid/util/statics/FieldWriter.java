@@ -0,0 +1,609 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.statics;
+
+import ch.rs.reflectorgrid.util.ChangeListenerRegistry;
+import ch.rs.reflectorgrid.util.EditTransaction;
+import ch.rs.reflectorgrid.util.interfaces.ObjectChangeListener;
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+import ch.rs.reflectorgrid.util.typeconversion.PrimitiveParser;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.util.StringConverter;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the values of an input field back into a single {@link Field}. The {@link FieldAccessor} of the field is
+ * looked up once when the writer is created. The converter for the type of the field is taken from the
+ * {@link TypeConverterCollection} of the writer and looked up again whenever the stamp of the collection
+ * changed, so converters added to the collection or its parents later on are used by existing writers aswell.
+ * Writers using the global converters are cached per field, so all of them share one. Grids with their own
+ * collection get writers of their own.
+ *
+ * Writing a value does not allocate anything apart from converting the text, unlike the Consumers of the
+ * {@link ListenerCollection}, which are created again for every change. Text written into a primitive
+ * numeric field that uses the standard converter is parsed by the {@link PrimitiveParser} and set without
+ * boxing it, so it does not allocate at all.
+ *
+ * After a value has been written, the listeners are called the same way as in
+ * {@link ReflectionHelper#setFieldValue(Field, Object, Object)}. While an {@link EditTransaction} of the
+ * listeners is running, the old value is recorded in it instead and no listener is called.
+ *
+ * The write methods, used by the grids and tables, do not write a value the field already holds, and call no
+ * listener for it. Primitive fields are compared directly, all others trough the {@link ValueComparators}.
+ * The set methods, used by {@link ReflectionHelper}, always write and notify. Every write and every skipped one
+ * is counted in the {@link WriteMetrics}.
+ */
+public final class FieldWriter {
+
+    private static final ClassValue<Map<String, FieldWriter>> CACHE = new ClassValue<Map<String, FieldWriter>>() {
+        @Override
+        protected Map<String, FieldWriter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * If the objects of a class are ObjectChangeListeners. Checking it with instanceof on every write costs
+     * more than the write itself for classes that are not, as the JIT can not tell that from a cached result.
+     */
+    private static final ClassValue<Boolean> OBJECT_LISTENERS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ObjectChangeListener.class.isAssignableFrom(type);
+        }
+    };
+
+    private final Field field;
+    private final Class<?> type;
+    private final FieldAccessor accessor;
+    private final TypeConverterCollection converters;
+
+    /**
+     * The converter the collection returned last, replaced once the stamp of the collection changed.
+     */
+    private volatile Conversion conversion;
+
+    private FieldWriter(Field field, TypeConverterCollection converters) {
+        this.field = field;
+        this.type = field.getType();
+        this.accessor = FieldAccessor.of(field);
+        this.converters = converters;
+    }
+
+    /**
+     * @return the current converter of the field, only looked up again once the collection changed
+     */
+    private Conversion getConversion() {
+        long stamp = converters.getStamp();
+        Conversion current = conversion;
+        if (current == null || current.stamp != stamp) {
+            StringConverter<?> converter = type == String.class ? null : converters.getConverter(type);
+            current = new Conversion(stamp, converter, type.isPrimitive() && type != boolean.class
+                    && type != char.class && converter == TypeConverterCollection.getGlobal().getConverter(type));
+            conversion = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the cached writer of the given field, creating it on first use.
+     *
+     * @param field the field to write
+     * @return the writer for the field
+     */
+    public static FieldWriter of(Field field) {
+        Map<String, FieldWriter> writers = CACHE.get(field.getDeclaringClass());
+        FieldWriter writer = writers.get(field.getName());
+        if (writer == null) {
+            writer = writers.computeIfAbsent(field.getName(),
+                    name -> new FieldWriter(field, ListenerCollection.getTypeConverterCollection()));
+        }
+        return writer;
+    }
+
+    /**
+     * Returns a writer of the given field that converts with the given converters. For the global converters
+     * and String fields, which are never converted, this is the cached writer, otherwise a new one.
+     *
+     * @param field      the field to write
+     * @param converters the converters of the grid
+     * @return the writer for the field
+     */
+    public static FieldWriter of(Field field, TypeConverterCollection converters) {
+        if (converters == ListenerCollection.getTypeConverterCollection() || field.getType() == String.class) {
+            return of(field);
+        }
+        return new FieldWriter(field, converters);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Converts a text to the type of the field.
+     *
+     * @param text the text to convert
+     * @return the converted value, null if the text is null
+     * @throws IllegalArgumentException if there is no converter for the type of the field, or the converter of
+     *                                  a supertype did not create the type of the field
+     */
+    public Object fromString(String text) {
+        if (text == null || type.isAssignableFrom(String.class)) {
+            return text;
+        }
+        StringConverter<?> converter = getConversion().converter;
+        if (converter == null) {
+            throw new IllegalArgumentException("No converter registered for class " + type);
+        }
+        Object value = converter.fromString(text);
+        if (value != null && !type.isPrimitive() && !type.isInstance(value)) {
+            throw new IllegalArgumentException("The converter for class " + type + " created a " + value.getClass());
+        }
+        return value;
+    }
+
+    /**
+     * Converts an object, for example an entry of a ComboBox, to the type of the field. Objects that already
+     * are of the type are kept, others get converted trough their text.
+     */
+    public Object fromObject(Object object) {
+        if (object == null || type.isInstance(object)) {
+            return object;
+        }
+        return fromString(object.toString());
+    }
+
+    /**
+     * @return the current value of the field in the given object
+     */
+    public Object read(Object handle) {
+        return accessor.get(handle);
+    }
+
+    /**
+     * Writes a value that was read with {@link #read(Object)} back into the field, without converting it.
+     *
+     * @return false if the field already held the value, nothing is written or notified then
+     */
+    public boolean writeValue(Object handle, Object value, ChangeListenerRegistry listeners) {
+        if (holds(handle, value)) {
+            return unchanged(listeners);
+        }
+        EditTransaction transaction = remember(handle, listeners);
+        accessor.set(handle, value);
+        invokeListeners(handle, listeners, transaction);
+        return true;
+    }
+
+    /**
+     * Writes a value into the field without converting it, like {@link #writeValue(Object, Object,
+     * ChangeListenerRegistry)}, but even if the field already holds it. The listeners are always called.
+     */
+    public void setValue(Object handle, Object value, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = remember(handle, listeners);
+        accessor.set(handle, value);
+        invokeListeners(handle, listeners, transaction);
+    }
+
+    /**
+     * Writes a number into the field, narrowed to the type of the field, even if the field already holds it.
+     * The listeners are always called.
+     */
+    public void setNumber(Object handle, Number number, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = remember(handle, listeners);
+        accessor.setNumber(handle, number);
+        invokeListeners(handle, listeners, transaction);
+    }
+
+    /**
+     * Converts a text and writes it into the field.
+     *
+     * @return false if the field already held the value, nothing is written or notified then
+     */
+    public boolean writeText(Object handle, String text, ChangeListenerRegistry listeners) {
+        if (text != null && type.isPrimitive() && getConversion().parsesPrimitive) {
+            return writeParsed(handle, text, listeners);
+        }
+        return writeValue(handle, fromString(text), listeners);
+    }
+
+    /**
+     * Parses the text into the primitive type of the field and sets it without boxing. The text is parsed
+     * before anything is recorded, so text that is not a number changes nothing.
+     */
+    private boolean writeParsed(Object handle, CharSequence text, ChangeListenerRegistry listeners) {
+        EditTransaction transaction;
+        if (type == double.class) {
+            double value = PrimitiveParser.parseDouble(text);
+            if (Double.doubleToLongBits(accessor.getDouble(handle)) == Double.doubleToLongBits(value)) {
+                return unchanged(listeners);
+            }
+            transaction = remember(handle, listeners);
+            accessor.setDouble(handle, value);
+        } else if (type == float.class) {
+            float value = PrimitiveParser.parseFloat(text);
+            if (Float.floatToIntBits(accessor.getFloat(handle)) == Float.floatToIntBits(value)) {
+                return unchanged(listeners);
+            }
+            transaction = remember(handle, listeners);
+            accessor.setFloat(handle, value);
+        } else {
+            long value = parseWhole(text);
+            if (getWhole(handle) == value) {
+                return unchanged(listeners);
+            }
+            transaction = remember(handle, listeners);
+            if (type == int.class) {
+                accessor.setInt(handle, (int) value);
+            } else if (type == long.class) {
+                accessor.setLong(handle, value);
+            } else if (type == short.class) {
+                accessor.setShort(handle, (short) value);
+            } else {
+                accessor.setByte(handle, (byte) value);
+            }
+        }
+        invokeListeners(handle, listeners, transaction);
+        return true;
+    }
+
+    /**
+     * @return the text parsed as the whole number type of the field
+     */
+    private long parseWhole(CharSequence text) {
+        if (type == int.class) {
+            return PrimitiveParser.parseInt(text);
+        } else if (type == long.class) {
+            return PrimitiveParser.parseLong(text);
+        } else if (type == short.class) {
+            return PrimitiveParser.parseShort(text);
+        }
+        return PrimitiveParser.parseByte(text);
+    }
+
+    /**
+     * @return the value of a field of a whole number type, widened to a long
+     */
+    private long getWhole(Object handle) {
+        if (type == int.class) {
+            return accessor.getInt(handle);
+        } else if (type == long.class) {
+            return accessor.getLong(handle);
+        } else if (type == short.class) {
+            return accessor.getShort(handle);
+        }
+        return accessor.getByte(handle);
+    }
+
+    /**
+     * Checks if the field already holds a value. Primitive fields are compared without boxing, numbers by their
+     * bits like the equals of their boxed types. Any other field is compared by the {@link ValueComparators}.
+     */
+    private boolean holds(Object handle, Object value) {
+        if (!type.isPrimitive()) {
+            return ValueComparators.isUnchanged(type, accessor.get(handle), value);
+        }
+        if (value instanceof Number) {
+            return holdsNumber(handle, (Number) value);
+        }
+        return value != null && value.equals(accessor.get(handle));
+    }
+
+    /**
+     * Checks if the field already holds the number narrowed to its type.
+     */
+    private boolean holdsNumber(Object handle, Number number) {
+        if (number == null || !type.isPrimitive()) {
+            return ValueComparators.isUnchanged(type, accessor.get(handle), accessor.narrow(number));
+        } else if (type == double.class) {
+            return Double.doubleToLongBits(accessor.getDouble(handle)) == Double.doubleToLongBits(number.doubleValue());
+        } else if (type == float.class) {
+            return Float.floatToIntBits(accessor.getFloat(handle)) == Float.floatToIntBits(number.floatValue());
+        } else if (type == int.class) {
+            return accessor.getInt(handle) == number.intValue();
+        } else if (type == long.class) {
+            return accessor.getLong(handle) == number.longValue();
+        } else if (type == short.class) {
+            return accessor.getShort(handle) == number.shortValue();
+        } else if (type == byte.class) {
+            return accessor.getByte(handle) == number.byteValue();
+        }
+        return number.equals(accessor.get(handle));
+    }
+
+    /**
+     * Appends the value of a primitive field to the buffer without boxing it, in the same format as
+     * {@link String#valueOf(Object)} of the boxed value.
+     *
+     * @return false if the field is not primitive, nothing is appended then
+     */
+    public boolean appendValue(Object handle, StringBuilder buffer) {
+        if (!type.isPrimitive()) {
+            return false;
+        }
+        if (type == int.class) {
+            buffer.append(accessor.getInt(handle));
+        } else if (type == long.class) {
+            buffer.append(accessor.getLong(handle));
+        } else if (type == double.class) {
+            buffer.append(accessor.getDouble(handle));
+        } else if (type == float.class) {
+            buffer.append(accessor.getFloat(handle));
+        } else if (type == short.class) {
+            buffer.append(accessor.getShort(handle));
+        } else if (type == byte.class) {
+            buffer.append(accessor.getByte(handle));
+        } else if (type == boolean.class) {
+            buffer.append(accessor.getBoolean(handle));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes an object into the field, converted if it is not of the type of the field.
+     *
+     * @return false if the field already held the value, nothing is written or notified then
+     */
+    public boolean writeObject(Object handle, Object value, ChangeListenerRegistry listeners) {
+        return writeValue(handle, fromObject(value), listeners);
+    }
+
+    /**
+     * Writes a number into the field, narrowed to the type of the field.
+     *
+     * @return false if the field already held the value, nothing is written or notified then
+     */
+    public boolean writeNumber(Object handle, Number number, ChangeListenerRegistry listeners) {
+        if (holdsNumber(handle, number)) {
+            return unchanged(listeners);
+        }
+        EditTransaction transaction = remember(handle, listeners);
+        accessor.setNumber(handle, number);
+        invokeListeners(handle, listeners, transaction);
+        return true;
+    }
+
+    /**
+     * Converts a text once and writes it into the field of all the objects. Objects that already hold the
+     * value are skipped. The ChangeListeners are called once trough
+     * {@link ch.rs.reflectorgrid.util.interfaces.ChangeListener#onObjectsValueChanged(Field, List)} with the
+     * objects that changed, and only if at least one did. If all of them changed, that is the List itself, so
+     * it should not be modifiable.
+     *
+     * @return false if every object already held the value
+     */
+    public boolean writeText(List<?> handles, String text, ChangeListenerRegistry listeners) {
+        return writeValue(handles, fromString(text), listeners);
+    }
+
+    /**
+     * Writes an object into the field of all the objects, see {@link #writeText(List, String, ChangeListenerRegistry)}.
+     */
+    public boolean writeObject(List<?> handles, Object value, ChangeListenerRegistry listeners) {
+        return writeValue(handles, fromObject(value), listeners);
+    }
+
+    /**
+     * Writes a number into the field of all the objects, see {@link #writeText(List, String, ChangeListenerRegistry)}.
+     */
+    public boolean writeNumber(List<?> handles, Number number, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = listeners.getTransaction();
+        List<Object> written = null;
+        for (int i = 0; i < handles.size(); i++) {
+            Object handle = handles.get(i);
+            if (holdsNumber(handle, number)) {
+                written = writtenBefore(handles, i, written);
+            } else {
+                remember(handle, transaction);
+                accessor.setNumber(handle, number);
+                notifyObject(handle, transaction);
+                if (written != null) {
+                    written.add(handle);
+                }
+            }
+        }
+        return changedAll(handles, written, listeners, transaction);
+    }
+
+    /**
+     * Writes the same value into the field of all the objects, without converting it, see
+     * {@link #writeText(List, String, ChangeListenerRegistry)}.
+     */
+    public boolean writeValue(List<?> handles, Object value, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = listeners.getTransaction();
+        List<Object> written = null;
+        for (int i = 0; i < handles.size(); i++) {
+            Object handle = handles.get(i);
+            if (holds(handle, value)) {
+                written = writtenBefore(handles, i, written);
+            } else {
+                remember(handle, transaction);
+                accessor.set(handle, value);
+                notifyObject(handle, transaction);
+                if (written != null) {
+                    written.add(handle);
+                }
+            }
+        }
+        return changedAll(handles, written, listeners, transaction);
+    }
+
+    /**
+     * Writes the same value into the field of all the objects, even if they already hold it. The ChangeListeners
+     * are called once with the List itself, so it should not be modifiable.
+     */
+    public void setValue(List<?> handles, Object value, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = listeners.getTransaction();
+        for (int i = 0; i < handles.size(); i++) {
+            Object handle = handles.get(i);
+            remember(handle, transaction);
+            accessor.set(handle, value);
+            notifyObject(handle, transaction);
+        }
+        changedAll(handles, null, listeners, transaction);
+    }
+
+    /**
+     * Writes the same number into the field of all the objects, see {@link #setValue(List, Object,
+     * ChangeListenerRegistry)}.
+     */
+    public void setNumber(List<?> handles, Number number, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = listeners.getTransaction();
+        for (int i = 0; i < handles.size(); i++) {
+            Object handle = handles.get(i);
+            remember(handle, transaction);
+            accessor.setNumber(handle, number);
+            notifyObject(handle, transaction);
+        }
+        changedAll(handles, null, listeners, transaction);
+    }
+
+    /**
+     * Writes one value per object back into the field, without converting them. The values have to be in
+     * the same order as the objects, see {@link #writeText(List, String, ChangeListenerRegistry)}.
+     */
+    public boolean writeValues(List<?> handles, Object[] values, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = listeners.getTransaction();
+        List<Object> written = null;
+        for (int i = 0; i < handles.size(); i++) {
+            Object handle = handles.get(i);
+            if (holds(handle, values[i])) {
+                written = writtenBefore(handles, i, written);
+            } else {
+                remember(handle, transaction);
+                accessor.set(handle, values[i]);
+                notifyObject(handle, transaction);
+                if (written != null) {
+                    written.add(handle);
+                }
+            }
+        }
+        return changedAll(handles, written, listeners, transaction);
+    }
+
+    /**
+     * Records the current value in the running transaction of the listeners, if there is one.
+     */
+    private EditTransaction remember(Object handle, ChangeListenerRegistry listeners) {
+        EditTransaction transaction = listeners.getTransaction();
+        remember(handle, transaction);
+        return transaction;
+    }
+
+    private void remember(Object handle, EditTransaction transaction) {
+        if (transaction != null) {
+            transaction.record(field, handle, accessor.get(handle));
+        }
+    }
+
+    /**
+     * Counts a write that was skipped, with the notification it would have caused.
+     *
+     * @return false, to be returned by the write
+     */
+    private static boolean unchanged(ChangeListenerRegistry listeners) {
+        WriteMetrics.unchanged(listeners.getTransaction() == null);
+        return false;
+    }
+
+    private void invokeListeners(Object handle, ChangeListenerRegistry listeners, EditTransaction transaction) {
+        WriteMetrics.written(transaction == null);
+        if (transaction != null) {
+            return;
+        }
+        notifyObject(handle, null);
+        ReflectionHelper.notifyListeners(field, handle, listeners);
+    }
+
+    private void notifyObject(Object handle, EditTransaction transaction) {
+        if (transaction == null && OBJECT_LISTENERS.get(handle.getClass())) {
+            ((ObjectChangeListener) handle).onFieldValueChanged(field);
+        }
+    }
+
+    /**
+     * Called for every object that is skipped, as it already holds the value. Until the first one is skipped
+     * all objects have been written, so the written ones only have to be collected from then on.
+     *
+     * @return the objects written so far
+     */
+    private static List<Object> writtenBefore(List<?> handles, int index, List<Object> written) {
+        return written != null ? written : new ArrayList<Object>(handles.subList(0, index));
+    }
+
+    /**
+     * Counts the writes into several objects and calls the ChangeListeners once with the objects that changed,
+     * if any did.
+     *
+     * @param written the objects that changed, or null if all of them did
+     * @return true if any object changed
+     */
+    private boolean changedAll(List<?> handles, List<Object> written, ChangeListenerRegistry listeners,
+                               EditTransaction transaction) {
+        if (written != null && written.isEmpty()) {
+            return unchanged(listeners);
+        }
+        WriteMetrics.written(transaction == null);
+        if (transaction == null) {
+            ReflectionHelper.notifyListenersOfAll(field, written == null ? handles
+                    : Collections.unmodifiableList(written), listeners);
+        }
+        return true;
+    }
+
+    private static final class Conversion {
+
+        /**
+         * The stamp of the collection the converter was looked up at.
+         */
+        private final long stamp;
+
+        /**
+         * The converter from text to the type of the field. Null for String fields, and for types without a
+         * converter, which fail once a text is written.
+         */
+        private final StringConverter<?> converter;
+
+        /**
+         * True if the field is a primitive number that uses the standard converter, so text can be parsed
+         * by the {@link PrimitiveParser} instead.
+         */
+        private final boolean parsesPrimitive;
+
+        Conversion(long stamp, StringConverter<?> converter, boolean parsesPrimitive) {
+            this.stamp = stamp;
+            this.converter = converter;
+            this.parsesPrimitive = parsesPrimitive;
+        }
+    }
+}
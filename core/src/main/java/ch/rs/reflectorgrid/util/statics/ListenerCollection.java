@@ -0,0 +1,140 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.statics;
+
+import ch.rs.reflectorgrid.util.ChangeListenerRegistry;
+import ch.rs.reflectorgrid.util.statics.ReflectionHelper;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This class has a Collection of different Listeners. These can be used in a GUI to save the user Input into the
+ * correct Field.
+ * Created by Ricardo on 15.11.2017.
+ * @author Ricardo Daniel Monteiro Simoes
+ */
+public class ListenerCollection {
+
+
+    /**
+     * This collection contains all needed TypeConverters. It is the global one every grid layers its own
+     * converters over.
+     */
+    private static final TypeConverterCollection typeConverterCollection = TypeConverterCollection.getGlobal();
+
+    /**
+     * @return the converters shared by the {@link FieldWriter}s
+     */
+    static TypeConverterCollection getTypeConverterCollection() {
+        return typeConverterCollection;
+    }
+
+    public static Consumer<String> getStringListener(Field field, Object handle, Object fieldObject) {
+        return getStringListener(field, handle, fieldObject, ReflectionHelper.getGlobalListeners());
+    }
+
+    /**
+     * @param listeners the listeners of the grid, called after the field has been set
+     */
+    public static Consumer<String> getStringListener(Field field, Object handle, Object fieldObject,
+                                                     ChangeListenerRegistry listeners) {
+        FieldWriter writer = FieldWriter.of(field);
+        return string -> writer.writeText(handle, string, listeners);
+    }
+
+
+    public static Consumer<Enum> getEnumListener(Field field, Object handle, Object fieldObject) {
+        return getEnumListener(field, handle, fieldObject, ReflectionHelper.getGlobalListeners());
+    }
+
+    /**
+     * @param listeners the listeners of the grid, called after the field has been set
+     */
+    public static Consumer<Enum> getEnumListener(Field field, Object handle, Object fieldObject,
+                                                 ChangeListenerRegistry listeners) {
+        FieldWriter writer = FieldWriter.of(field);
+        return enumType -> writer.writeObject(handle, enumType, listeners);
+    }
+
+
+    public static Consumer<BigDecimal> getBigDecimalListener(Field field, Object handle, Object fieldObject) {
+        return getBigDecimalListener(field, handle, fieldObject, ReflectionHelper.getGlobalListeners());
+    }
+
+    /**
+     * @param listeners the listeners of the grid, called after the field has been set
+     */
+    public static Consumer<BigDecimal> getBigDecimalListener(Field field, Object handle, Object fieldObject,
+                                                             ChangeListenerRegistry listeners) {
+        FieldWriter writer = FieldWriter.of(field);
+        return number -> writer.writeNumber(handle, number, listeners);
+    }
+
+    /**
+     * The same as {@link #getStringListener(Field, Object, Object)}, but the value is written into the field of
+     * all the objects, with a single call of the ChangeListeners.
+     */
+    public static Consumer<String> getStringListener(Field field, Collection<?> handles,
+                                                     ChangeListenerRegistry listeners) {
+        FieldWriter writer = FieldWriter.of(field);
+        List<Object> list = Collections.unmodifiableList(new ArrayList<>(handles));
+        return string -> writer.writeText(list, string, listeners);
+    }
+
+    /**
+     * The same as {@link #getEnumListener(Field, Object, Object)}, but the value is written into the field of
+     * all the objects, with a single call of the ChangeListeners.
+     */
+    public static Consumer<Enum> getEnumListener(Field field, Collection<?> handles,
+                                                 ChangeListenerRegistry listeners) {
+        FieldWriter writer = FieldWriter.of(field);
+        List<Object> list = Collections.unmodifiableList(new ArrayList<>(handles));
+        return enumType -> writer.writeObject(list, enumType, listeners);
+    }
+
+    /**
+     * The same as {@link #getBigDecimalListener(Field, Object, Object)}, but the value is written into the field
+     * of all the objects, with a single call of the ChangeListeners.
+     */
+    public static Consumer<BigDecimal> getBigDecimalListener(Field field, Collection<?> handles,
+                                                             ChangeListenerRegistry listeners) {
+        FieldWriter writer = FieldWriter.of(field);
+        List<Object> list = Collections.unmodifiableList(new ArrayList<>(handles));
+        return number -> writer.writeNumber(list, number, listeners);
+    }
+
+    public static Consumer<Object> getObjectListener(Field field, Object handle, Object fieldObject) {
+        FieldWriter writer = FieldWriter.of(field);
+        return object -> writer.writeObject(handle, object, ReflectionHelper.getGlobalListeners());
+    }
+}
+
+
@@ -0,0 +1,264 @@
+/**
+ * MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+
+package ch.rs.reflectorgrid.util.statics;
+
+import ch.rs.reflectorgrid.util.ChangeListenerRegistry;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A small helper for Reflection.
+ *
+ * @author I-Al-Istannen, : https://github.com/I-Al-Istannen
+ */
+public class ReflectionHelper {
+
+    /**
+     * Listeners that are called for changes in every grid. Grids keep their own listeners in their own
+     * {@link ChangeListenerRegistry}, this one is only used by {@link #addInterfaceToUpdate(ChangeListener)}.
+     */
+    private static final ChangeListenerRegistry globalListeners = new ChangeListenerRegistry();
+
+
+    /**
+     * Adds a listener that is called for every change in any grid, for as long as the application runs.
+     *
+     * @deprecated use the addChangeListener function of the grid, which only calls the listener for changes
+     * in that grid and allows to remove it again
+     */
+    @Deprecated
+    public static void addInterfaceToUpdate(ChangeListener interfaceToAdd){
+        globalListeners.add(interfaceToAdd);
+    }
+
+    /**
+     * @return the listeners that are called for changes in every grid
+     */
+    public static ChangeListenerRegistry getGlobalListeners() {
+        return globalListeners;
+    }
+
+    /**
+     * Returns all fields from the class and all superclasses.
+     *
+     * @param start  The start {@link Class}
+     * @param filter A filter for the fields, in order to only return some
+     *               results.
+     * @return All fields matching the {@link Predicate} from the whole class
+     * hierarchy.
+     */
+    public static List<Field> getAllFieldsInClassHierachy(Class<?> start, Predicate<Field> filter) {
+        return ClassDescriptor.of(start).getAllFields().stream()
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the value of a field.
+     * The field is read trough its cached {@link FieldAccessor}.
+     *
+     * @param field  The {@link Field} to get the value from.
+     * @param handle The handle object to use (according to
+     *               {@link Field#get(Object)})
+     * @param <T>    The type of the return value you expect
+     * @return The value of the field.
+     * @throws ClassCastException        if the type is not what you stored it as
+     * @throws ReflectionHelperException if any
+     *                                   {@link ReflectiveOperationException} occurs.
+     */
+    public static <T> T getFieldValue(Field field, Object handle) {
+        @SuppressWarnings("unchecked")
+        T t = (T) FieldAccessor.of(field).get(handle);
+        return t;
+    }
+
+    /**
+     * Sets the value of a field.
+     * This function calls the objects that implemented the corresponding listeners.
+     * The Listeners get called the following way:
+     *
+     * 1. ObjectChangeListener
+     * 2. ChangeListener
+     *
+     * This means, that after a value has been changed using reflection, the update function of the object gets
+     * called first.
+     *
+     * This is so that one can make sure the object runs its necessary functions before the GUI starts
+     * updating itself.
+     *
+     * @param field  The {@link Field} to set the value for.
+     * @param object The object object to use (according to
+     * {@link Field#set(Object, Object)})
+     * @param value  The value to set it to
+     * @throws ReflectionHelperException if any
+     * {@link ReflectiveOperationException} occurs.
+     */
+    public static void setFieldValue(Field field, Object object, Object value) {
+        setFieldValue(field, object, value, globalListeners);
+    }
+
+    /**
+     * Sets the value of a field, see {@link #setFieldValue(Field, Object, Object)}. Instead of only the
+     * global listeners, the given listeners of a grid get called first.
+     *
+     * While a transaction of the listeners is running, the write is recorded in it instead, see
+     * {@link ch.rs.reflectorgrid.util.EditTransaction}. The field is written and the listeners are called
+     * even if the field already holds the value, the grids skip such writes trough {@link FieldWriter} instead.
+     *
+     * @param listeners the listeners of the grid the field was changed in
+     */
+    public static void setFieldValue(Field field, Object object, Object value, ChangeListenerRegistry listeners) {
+        FieldWriter.of(field).setValue(object, value, listeners);
+    }
+
+    /**
+     * Sets the value of a numeric field. The number gets narrowed to the type of the field,
+     * primitive fields are written without boxing the value.
+     * The listeners are called the same way as in {@link #setFieldValue(Field, Object, Object)}.
+     *
+     * @param field  The numeric {@link Field} to set the value for.
+     * @param object The object to set the field of
+     * @param value  The value to set it to
+     * @throws ReflectionHelperException if any
+     * {@link ReflectiveOperationException} occurs.
+     */
+    public static void setNumberFieldValue(Field field, Object object, Number value) {
+        setNumberFieldValue(field, object, value, globalListeners);
+    }
+
+    /**
+     * Sets the value of a numeric field, see {@link #setNumberFieldValue(Field, Object, Number)}. Instead of
+     * only the global listeners, the given listeners of a grid get called first.
+     *
+     * @param listeners the listeners of the grid the field was changed in
+     */
+    public static void setNumberFieldValue(Field field, Object object, Number value,
+                                           ChangeListenerRegistry listeners) {
+        FieldWriter.of(field).setNumber(object, value, listeners);
+    }
+
+    /**
+     * Sets the same value into a field of several objects. Every object that implements ObjectChangeListener
+     * gets called as with {@link #setFieldValue(Field, Object, Object)}, but the ChangeListeners are only called
+     * once for all of them, with an unmodifiable List of the objects.
+     *
+     * @param field   The {@link Field} to set the value for.
+     * @param objects The objects to set the field of
+     * @param value   The value to set it to
+     * @throws ReflectionHelperException if any
+     * {@link ReflectiveOperationException} occurs.
+     */
+    public static void setFieldValues(Field field, Collection<?> objects, Object value) {
+        setFieldValues(field, objects, value, globalListeners);
+    }
+
+    /**
+     * @param listeners the listeners of the grid the field was changed in
+     * @see #setFieldValues(Field, Collection, Object)
+     */
+    public static void setFieldValues(Field field, Collection<?> objects, Object value,
+                                      ChangeListenerRegistry listeners) {
+        FieldWriter.of(field).setValue(Collections.unmodifiableList(new ArrayList<>(objects)), value, listeners);
+    }
+
+    /**
+     * Sets the same number into a numeric field of several objects, see
+     * {@link #setFieldValues(Field, Collection, Object)} and {@link #setNumberFieldValue(Field, Object, Number)}.
+     *
+     * @param field   The numeric {@link Field} to set the value for.
+     * @param objects The objects to set the field of
+     * @param value   The value to set it to
+     * @throws ReflectionHelperException if any
+     * {@link ReflectiveOperationException} occurs.
+     */
+    public static void setNumberFieldValues(Field field, Collection<?> objects, Number value) {
+        setNumberFieldValues(field, objects, value, globalListeners);
+    }
+
+    /**
+     * @param listeners the listeners of the grid the field was changed in
+     * @see #setNumberFieldValues(Field, Collection, Number)
+     */
+    public static void setNumberFieldValues(Field field, Collection<?> objects, Number value,
+                                            ChangeListenerRegistry listeners) {
+        FieldWriter.of(field).setNumber(Collections.unmodifiableList(new ArrayList<>(objects)), value, listeners);
+    }
+
+    /**
+     * This function is called when the value of a variable changes. Use this to launch
+     * updates or changes in other parts of the application.
+     *
+     * First thing it does is notify all the interfaces.
+     * Due to there being a risk of an unhandled exception with the Reflective invokation of the update method,
+     * they are done last so that at least the interfaces can receive an update.
+     *
+     * @param object the object that had its value changed
+     * @param field is the field that was changed
+     */
+    public static void notifyListeners(Field field, Object object){
+        globalListeners.notifyListeners(field, object);
+    }
+
+    /**
+     * Calls the listeners of a grid, followed by the global ones.
+     *
+     * @param object the object that had its value changed
+     * @param field is the field that was changed
+     * @param listeners the listeners of the grid the field was changed in
+     */
+    public static void notifyListeners(Field field, Object object, ChangeListenerRegistry listeners){
+        if (listeners != globalListeners) {
+            listeners.notifyListeners(field, object);
+        }
+        globalListeners.notifyListeners(field, object);
+    }
+
+    /**
+     * Calls the listeners of a grid, followed by the global ones, once for a field changed in several objects.
+     *
+     * @param objects the objects that had their value changed
+     * @param field is the field that was changed
+     * @param listeners the listeners of the grid the field was changed in
+     */
+    public static void notifyListenersOfAll(Field field, List<?> objects, ChangeListenerRegistry listeners){
+        if (listeners != globalListeners) {
+            listeners.notifyListenersOfAll(field, objects);
+        }
+        globalListeners.notifyListenersOfAll(field, objects);
+    }
+
+    public static class ReflectionHelperException extends RuntimeException {
+        public ReflectionHelperException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,405 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+
+package ch.rs.reflectorgrid.util.statics;
+
+import ch.rs.reflectorgrid.util.DoubleSpinnerValueFactory;
+import ch.rs.reflectorgrid.util.FieldBinding;
+import ch.rs.reflectorgrid.util.IntSpinnerValueFactory;
+import ch.rs.reflectorgrid.util.LongSpinnerValueFactory;
+import ch.rs.reflectorgrid.util.NumberSpinnerValueFactory;
+import ch.rs.reflectorgrid.util.PrimitiveSpinnerValueFactory;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.typeconversion.PrimitiveParser;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+
+/**
+ * This "Collection" contains different functions to create Nodes that are connected to a
+ * {@link java.lang.reflect.Field} and contains the needed Listeners for changes in the node.
+ * Created by Ricardo on 15.11.2017.
+ */
+public class ReflectionNodeCollection {
+
+    public static ComboBox<String> createComboBox(TransferGrid annotation, Field field,
+                                                   Object handle, Object masterObject) {
+        return createComboBox(annotation.options(), new FieldBinding(field, handle, masterObject));
+    }
+
+    public static ComboBox<String> createComboBox(String[] options, FieldBinding binding) {
+        return createComboBox(options, binding, binding.getValue());
+    }
+
+    /**
+     * Creates the ComboBox for a binding, showing a value that has already been read from the field.
+     */
+    public static ComboBox<String> createComboBox(String[] options, FieldBinding binding, Object value) {
+
+        ComboBox<String> comboBox = new ComboBox<>(
+                FXCollections.observableArrayList(options)
+        );
+
+        comboBox.getSelectionModel().select(
+                objectToString(value)
+        );
+        comboBox.getSelectionModel().selectedItemProperty()
+                .addListener((obs, ov, newValue) -> {
+                    if (!binding.isUpdating()) {
+                        binding.writeText(newValue);
+                    }
+                });
+
+        binding.setControl(comboBox);
+        return comboBox;
+    }
+
+    public static <T extends Enum<T>> ComboBox<T> createEnumComboBox(Class<T> clazz, Field field,
+                                                                      Object handle, Object masterObject) {
+        return createEnumComboBox(clazz, new FieldBinding(field, handle, masterObject));
+    }
+
+    public static <T extends Enum<T>> ComboBox<T> createEnumComboBox(Class<T> clazz, FieldBinding binding) {
+        return createEnumComboBox(clazz, binding, binding.getValue());
+    }
+
+    /**
+     * Creates the enum ComboBox for a binding, showing a value that has already been read from the field.
+     */
+    public static <T extends Enum<T>> ComboBox<T> createEnumComboBox(Class<T> clazz, FieldBinding binding,
+                                                                      Object value) {
+
+        ComboBox<T> comboBox = new ComboBox<>(FXCollections.observableArrayList(clazz.getEnumConstants()));
+        comboBox.getSelectionModel().select(
+                clazz.cast(value)
+        );
+        comboBox.getSelectionModel().selectedItemProperty()
+                .addListener((obs, ov, newValue) -> {
+                    if (!binding.isUpdating()) {
+                        binding.writeEnum(newValue);
+                    }
+                });
+
+        binding.setControl(comboBox);
+        return comboBox;
+    }
+
+    public static TextField createTextField(Field field, Object handle, Object masterObject) {
+        return createTextField(new FieldBinding(field, handle, masterObject));
+    }
+
+    public static TextField createTextField(FieldBinding binding) {
+        return createTextField(binding, binding.getValue());
+    }
+
+    /**
+     * Creates the TextField for a binding, showing a value that has already been read from the field.
+     */
+    public static TextField createTextField(FieldBinding binding, Object value) {
+        TextField textField = new TextField(
+                objectToString(value)
+        );
+
+        addStringListener(textField, binding);
+
+        binding.setControl(textField);
+        return textField;
+    }
+
+    public static TextArea createTextArea(Field field, Object handle, Object masterObject) {
+        return createTextArea(new FieldBinding(field, handle, masterObject));
+    }
+
+    public static TextArea createTextArea(FieldBinding binding) {
+        return createTextArea(binding, binding.getValue());
+    }
+
+    /**
+     * Creates the TextArea for a binding, showing a value that has already been read from the field.
+     */
+    public static TextArea createTextArea(FieldBinding binding, Object value) {
+        TextArea textArea = new TextArea(objectToString(value));
+
+        addStringListener(textArea, binding);
+
+        binding.setControl(textArea);
+        return textArea;
+    }
+
+    /**
+     * This Functions creates a Spinner with the SpinnerValueFactory of {@link #createValueFactory} so that it
+     * can fit any Numeric field.
+     * @param field The field itself that gets connected to the spinner
+     * @param handle the object in which the field is connected
+     * @param masterObject the masterObject of the field
+     * @return a Spinner with the SpinnerValueFactory built in aswell as all needed Listeners.
+     */
+    public static Spinner createSpinner(Field field, Object handle, Object masterObject) {
+        return createSpinner(new FieldBinding(field, handle, masterObject));
+    }
+
+    /**
+     * This Functions creates a Spinner with the SpinnerValueFactory of {@link #createValueFactory} so that it
+     * can fit any Numeric field.
+     * @param binding the binding of the field that gets connected to the spinner
+     * @return a Spinner with the SpinnerValueFactory built in aswell as all needed Listeners.
+     */
+    public static Spinner createSpinner(FieldBinding binding) {
+        return createSpinner(binding, binding.getValue());
+    }
+
+    /**
+     * Creates the Spinner for a binding, showing a value that has already been read from the field.
+     * The range and step are read from the annotation of the field, if it has one.
+     * @param binding the binding of the field that gets connected to the spinner
+     * @param value the current value of the field
+     * @return a Spinner with the SpinnerValueFactory built in aswell as all needed Listeners.
+     */
+    public static Spinner createSpinner(FieldBinding binding, Object value) {
+        Field field = binding.getField();
+        TransferGrid annotation = field.getAnnotation(TransferGrid.class);
+        return createSpinner(binding, value, createValueFactory(field.getType(),
+                annotation == null ? "" : annotation.min(),
+                annotation == null ? "" : annotation.max(),
+                annotation == null ? "" : annotation.step(), value));
+    }
+
+    /**
+     * Creates the Spinner for a binding, with the range and step of the descriptor of its field.
+     * @param binding the binding of the field that gets connected to the spinner
+     * @param value the current value of the field
+     * @param descriptor the descriptor of the field
+     * @return a Spinner with the SpinnerValueFactory built in aswell as all needed Listeners.
+     */
+    public static Spinner createSpinner(FieldBinding binding, Object value, FieldDescriptor descriptor) {
+        return createSpinner(binding, value, createValueFactory(descriptor, value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Spinner createSpinner(FieldBinding binding, Object value,
+                                         SpinnerValueFactory<? extends Number> valueFactory) {
+
+        Spinner<Number> spinner = new Spinner<Number>();
+        spinner.setValueFactory((SpinnerValueFactory<Number>) valueFactory);
+        spinner.valueProperty().addListener((obs, ov, newValue) -> {
+            if (!binding.isUpdating()) {
+                binding.writeNumber(newValue);
+            }
+        });
+        binding.setControl(spinner);
+        return spinner;
+
+    }
+
+    /**
+     * Creates the SpinnerValueFactory for the field of a descriptor, using the range and step of its annotation.
+     * @param descriptor the descriptor of a numeric field
+     * @param value the current value of the field
+     * @return the SpinnerValueFactory for the field
+     * @see #createValueFactory(Class, String, String, String, Object)
+     */
+    public static SpinnerValueFactory<? extends Number> createValueFactory(FieldDescriptor descriptor, Object value) {
+        return createValueFactory(descriptor.getType(), descriptor.getMin(), descriptor.getMax(),
+                descriptor.getStep(), value);
+    }
+
+    /**
+     * Creates the SpinnerValueFactory for a numeric type. int, short, byte, long, double and float aswell as their
+     * boxed types get a {@link PrimitiveSpinnerValueFactory} which uses the range of the type, unless min or max
+     * are given. Any other Number uses the {@link NumberSpinnerValueFactory} with all its digits, unbounded unless
+     * min or max are given.
+     * @param type the type of the field
+     * @param min the smallest value, empty for the smallest value of the type
+     * @param max the largest value, empty for the largest value of the type
+     * @param step the amount of one step, empty for one
+     * @param value the current value of the field. Primitive and boxed types show it as it is even outside of
+     *              min and max, any other Number is limited to them. If it is null the Spinner of a primitive or
+     *              boxed type is empty, and the one of any other Number starts at 0, or the closest value within
+     *              min and max.
+     * @return the SpinnerValueFactory for the type
+     * @throws IllegalArgumentException if min, max or step are not numbers within the range of the type
+     */
+    public static SpinnerValueFactory<? extends Number> createValueFactory(Class<?> type, String min, String max,
+                                                                          String step, Object value) {
+        Number number = value instanceof Number ? (Number) value : null;
+        if (type == int.class || type == Integer.class) {
+            return createIntFactory(Integer.MIN_VALUE, Integer.MAX_VALUE, min, max, step, number);
+        } else if (type == short.class || type == Short.class) {
+            return createIntFactory(Short.MIN_VALUE, Short.MAX_VALUE, min, max, step, number);
+        } else if (type == byte.class || type == Byte.class) {
+            return createIntFactory(Byte.MIN_VALUE, Byte.MAX_VALUE, min, max, step, number);
+        } else if (type == long.class || type == Long.class) {
+            long low = parseWhole(min, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+            return new LongSpinnerValueFactory(low,
+                    parseWhole(max, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE),
+                    number == null ? null : number.longValue(),
+                    parseWhole(step, 1, 1, Long.MAX_VALUE));
+        } else if (type == double.class || type == Double.class) {
+            return createDoubleFactory(Double.MAX_VALUE, min, max, step, number, false);
+        } else if (type == float.class || type == Float.class) {
+            return createDoubleFactory(Float.MAX_VALUE, min, max, step, number, true);
+        }
+        return new NumberSpinnerValueFactory(parseDecimal(min, null),
+                parseDecimal(max, null),
+                NumberSpinnerValueFactory.toBigDecimal(number),
+                parseDecimal(step, BigDecimal.ONE), type);
+    }
+
+    private static IntSpinnerValueFactory createIntFactory(int typeMin, int typeMax, String min, String max,
+                                                           String step, Number value) {
+        int low = (int) parseWhole(min, typeMin, typeMin, typeMax);
+        return new IntSpinnerValueFactory(low,
+                (int) parseWhole(max, typeMax, typeMin, typeMax),
+                value == null ? null : value.intValue(),
+                (int) parseWhole(step, 1, 1, typeMax));
+    }
+
+    private static DoubleSpinnerValueFactory createDoubleFactory(double typeMax, String min, String max,
+                                                                 String step, Number value, boolean singlePrecision) {
+        double low = parseDecimal(min, -typeMax, typeMax);
+        return new DoubleSpinnerValueFactory(low,
+                parseDecimal(max, typeMax, typeMax),
+                value == null ? null : value.doubleValue(),
+                parseDecimal(step, 1, typeMax),
+                singlePrecision);
+    }
+
+    private static long parseWhole(String text, long defaultValue, long typeMin, long typeMax) {
+        if (text.isEmpty()) {
+            return defaultValue;
+        }
+        long value;
+        try {
+            value = PrimitiveParser.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"" + text + "\" is not a whole number", e);
+        }
+        if (value < typeMin || value > typeMax) {
+            throw new IllegalArgumentException(text + " is not between " + typeMin + " and " + typeMax);
+        }
+        return value;
+    }
+
+    private static double parseDecimal(String text, double defaultValue, double typeMax) {
+        if (text.isEmpty()) {
+            return defaultValue;
+        }
+        double value;
+        try {
+            value = PrimitiveParser.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"" + text + "\" is not a number", e);
+        }
+        if (!(Math.abs(value) <= typeMax)) {
+            throw new IllegalArgumentException(text + " is not between " + -typeMax + " and " + typeMax);
+        }
+        return value;
+    }
+
+    private static BigDecimal parseDecimal(String text, BigDecimal defaultValue) {
+        if (text.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"" + text + "\" is not a number", e);
+        }
+    }
+
+    /**
+     * This method is used to set if a field is editable or not, aswell as its max width.
+     * @param node the node which is supposed to be set according to the annotation
+     * @param editable if the field can be edited or not
+     * @param maxWidth the max width of the node
+     */
+    public static void adjustNodeProperties(Control node, boolean editable, double maxWidth) {
+        setEditable(node, editable);
+        node.setMouseTransparent(!editable);
+        node.setFocusTraversable(editable);
+
+        node.setMaxWidth(maxWidth);
+    }
+
+    /**
+     * This function handles the different .setEditable functions depending on the type of inputField
+     * @param node the inputField itself
+     * @param editable if it is editable or not
+     */
+    public static void setEditable(Control node, boolean editable) {
+        if (node instanceof TextInputControl) {
+            ((TextInputControl) node).setEditable(editable);
+        } else if (node instanceof ComboBoxBase) {
+            ((ComboBoxBase) node).setEditable(false);
+        } else if (node instanceof Spinner) {
+            ((Spinner) node).setEditable(editable);
+        } else {
+            throw new IllegalArgumentException("Can't make node uneditable: " + node);
+        }
+    }
+
+    private static void addStringListener(TextInputControl textInput, FieldBinding binding) {
+        textInput.textProperty().addListener((obs, ov, newValue) -> {
+            if (!binding.isUpdating()) {
+                binding.textChanged(newValue);
+            }
+        });
+        addCommitTriggers(textInput, binding::actionPerformed);
+    }
+
+    /**
+     * Calls the action when the user presses Enter in a TextField, Ctrl+Enter in a TextArea, or the
+     * input field loses the focus. Used to write text that is not written on every change.
+     * @param textInput the input field
+     * @param action the action to call, usually {@link FieldBinding#actionPerformed()}
+     */
+    public static void addCommitTriggers(TextInputControl textInput, Runnable action) {
+        textInput.focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                action.run();
+            }
+        });
+        if (textInput instanceof TextField) {
+            textInput.addEventHandler(ActionEvent.ACTION, event -> action.run());
+        } else {
+            textInput.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+                if (event.getCode() == KeyCode.ENTER && event.isShortcutDown()) {
+                    action.run();
+                    event.consume();
+                }
+            });
+        }
+    }
+
+    private static String objectToString(Object object) {
+        return object == null ? "" : object.toString();
+    }
+
+}
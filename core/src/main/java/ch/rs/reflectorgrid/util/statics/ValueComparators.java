@@ -0,0 +1,170 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.statics;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides if a value written by the grid is the same as the one the field already holds, so the
+ * {@link FieldWriter} can skip the write and all listeners.
+ *
+ * Primitive fields are compared by the {@link FieldWriter} itself. For any other field the comparator
+ * registered for its type, or the closest superclass or interface, is used, and a result of 0 means unchanged.
+ * Without a comparator, Strings, boxed primitives, enums, BigDecimal and BigInteger are compared with equals, and
+ * everything else by identity, as a different instance might be expected in the field even if it is equal.
+ *
+ * Comparators can be registered from any thread, the lookup of every type is cached until the next one is.
+ */
+public final class ValueComparators {
+
+    private static final Map<Class<?>, Comparator<?>> COMPARATORS = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the changes of the comparators, to know if a cached lookup is still valid.
+     */
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
+    private static final ClassValue<Lookup> LOOKUPS = new ClassValue<Lookup>() {
+        @Override
+        protected Lookup computeValue(Class<?> type) {
+            return new Lookup();
+        }
+    };
+
+    private ValueComparators() {
+    }
+
+    /**
+     * Registers the comparator used to decide if a value of the type, or of one of its subtypes, changed.
+     * For example BigDecimal::compareTo makes "1.0" and "1.00" the same value.
+     *
+     * @param type       the type of the fields
+     * @param comparator the comparator, returning 0 if two values are the same
+     * @param <T>        the type of the fields
+     */
+    public static <T> void setComparator(Class<T> type, Comparator<? super T> comparator) {
+        COMPARATORS.put(type, comparator);
+        MODIFICATIONS.incrementAndGet();
+    }
+
+    /**
+     * @param type the type the comparator was registered for
+     * @return true if there was a comparator for exactly this type
+     */
+    public static boolean removeComparator(Class<?> type) {
+        boolean removed = COMPARATORS.remove(type) != null;
+        if (removed) {
+            MODIFICATIONS.incrementAndGet();
+        }
+        return removed;
+    }
+
+    /**
+     * @param type the type of a field
+     * @param <T>  the type of the field
+     * @return the comparator of the type or its closest supertype, null if the values are compared the default way
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Comparator<? super T> getComparator(Class<T> type) {
+        long stamp = MODIFICATIONS.get();
+        Lookup lookup = LOOKUPS.get(type);
+        Resolved resolved = lookup.resolved;
+        if (resolved == null || resolved.stamp != stamp) {
+            resolved = new Resolved(stamp, resolve(type));
+            lookup.resolved = resolved;
+        }
+        return (Comparator<? super T>) resolved.comparator;
+    }
+
+    /**
+     * @param type     the type of the field both values are of
+     * @param oldValue the value the field holds
+     * @param newValue the value that would be written
+     * @return true if writing the new value would not change the field
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean isUnchanged(Class<?> type, Object oldValue, Object newValue) {
+        if (oldValue == newValue) {
+            return true;
+        }
+        if (oldValue == null || newValue == null) {
+            return false;
+        }
+        Comparator<Object> comparator = (Comparator<Object>) getComparator(type);
+        if (comparator != null) {
+            return comparator.compare(oldValue, newValue) == 0;
+        }
+        return isComparedByEquals(newValue.getClass()) && newValue.equals(oldValue);
+    }
+
+    private static boolean isComparedByEquals(Class<?> type) {
+        return TypeHelper.isJavaLang(type) || TypeHelper.isEnum(type)
+                || type == BigDecimal.class || type == BigInteger.class;
+    }
+
+    private static Comparator<?> resolve(Class<?> clazz) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            hierarchy.add(type);
+        }
+        for (int i = 0; i < hierarchy.size(); i++) {
+            for (Class<?> implemented : hierarchy.get(i).getInterfaces()) {
+                if (!hierarchy.contains(implemented)) {
+                    hierarchy.add(implemented);
+                }
+            }
+        }
+        for (Class<?> type : hierarchy) {
+            Comparator<?> comparator = COMPARATORS.get(type);
+            if (comparator != null) {
+                return comparator;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The cached lookup of a single class.
+     */
+    private static final class Lookup {
+        private volatile Resolved resolved;
+    }
+
+    private static final class Resolved {
+        private final long stamp;
+        private final Comparator<?> comparator;
+
+        Resolved(long stamp, Comparator<?> comparator) {
+            this.stamp = stamp;
+            this.comparator = comparator;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.statics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the writes of all {@link FieldWriter}s, and how many of them were skipped because the field already
+ * held the value. The counters are shared by all grids and can be updated from any thread without contention.
+ *
+ * A notification is one write that called the ObjectChangeListener of the object and the ChangeListeners.
+ * Writes during an EditTransaction do not notify on their own, they are counted as writes only.
+ *
+ * Every write increments exactly one counter, as an increment costs about as much as the write of a primitive
+ * field itself. The totals are added up when they are read instead.
+ */
+public final class WriteMetrics {
+
+    /**
+     * Writes that changed the field and notified the listeners.
+     */
+    private static final LongAdder NOTIFIED_WRITES = new LongAdder();
+
+    /**
+     * Writes that changed the field during a transaction, without notifying.
+     */
+    private static final LongAdder TRANSACTION_WRITES = new LongAdder();
+
+    /**
+     * Unchanged writes that would have notified the listeners.
+     */
+    private static final LongAdder SKIPPED_WRITES = new LongAdder();
+
+    /**
+     * Unchanged writes during a transaction.
+     */
+    private static final LongAdder UNCHANGED_TRANSACTION_WRITES = new LongAdder();
+
+    private WriteMetrics() {
+    }
+
+    /**
+     * @return the amount of writes that changed a field
+     */
+    public static long getWrites() {
+        return NOTIFIED_WRITES.sum() + TRANSACTION_WRITES.sum();
+    }
+
+    /**
+     * @return the amount of writes that were skipped because the field already held the value
+     */
+    public static long getUnchangedWrites() {
+        return SKIPPED_WRITES.sum() + UNCHANGED_TRANSACTION_WRITES.sum();
+    }
+
+    /**
+     * @return the amount of times the listeners were notified of a write
+     */
+    public static long getNotifications() {
+        return NOTIFIED_WRITES.sum();
+    }
+
+    /**
+     * @return the amount of notifications that were skipped together with an unchanged write
+     */
+    public static long getSkippedNotifications() {
+        return SKIPPED_WRITES.sum();
+    }
+
+    /**
+     * Sets all counters back to 0.
+     */
+    public static void reset() {
+        NOTIFIED_WRITES.reset();
+        TRANSACTION_WRITES.reset();
+        SKIPPED_WRITES.reset();
+        UNCHANGED_TRANSACTION_WRITES.reset();
+    }
+
+    /**
+     * @param notifying true if the write notified the listeners, false if it happened during a transaction
+     */
+    static void written(boolean notifying) {
+        (notifying ? NOTIFIED_WRITES : TRANSACTION_WRITES).increment();
+    }
+
+    /**
+     * @param notifying true if the write would have notified the listeners, false during a transaction
+     */
+    static void unchanged(boolean notifying) {
+        (notifying ? SKIPPED_WRITES : UNCHANGED_TRANSACTION_WRITES).increment();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.typeconversion;
+
+import javafx.util.StringConverter;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+
+/**
+ * Converts Numbers the same way as the {@link javafx.util.converter.NumberStringConverter}, but keeps its
+ * {@link NumberFormat} instead of creating a new one for every value. As a NumberFormat can not be used by
+ * several threads at once, every thread gets its own, created on first use.
+ */
+public class CachedNumberStringConverter extends StringConverter<Number> {
+
+    private final ThreadLocal<NumberFormat> format;
+
+    /**
+     * Uses the default locale at the time of creation.
+     */
+    public CachedNumberStringConverter() {
+        this(Locale.getDefault());
+    }
+
+    /**
+     * @param locale the locale to format and parse the numbers with
+     */
+    public CachedNumberStringConverter(Locale locale) {
+        this.format = ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(locale));
+    }
+
+    @Override
+    public String toString(Number value) {
+        if (value == null) {
+            return "";
+        }
+        return format.get().format(value);
+    }
+
+    @Override
+    public Number fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            return format.get().parse(trimmed);
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
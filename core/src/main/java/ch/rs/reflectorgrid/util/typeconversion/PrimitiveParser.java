@@ -0,0 +1,242 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.typeconversion;
+
+/**
+ * Parses numbers straight from the text of an input field into primitives, without creating a trimmed copy
+ * of the text or boxing the result. Used to write numeric fields that do not have a converter of their own.
+ *
+ * Whitespace around the number is ignored, the same as with the converters of JavaFX. Integers are parsed
+ * the same way as {@link Long#parseLong(String)}. Decimals that have at most 18 significant digits and a small
+ * exponent are calculated directly, which gives the same, correctly rounded, result as
+ * {@link Double#parseDouble(String)}. Everything else, like very long numbers, "NaN" or hexadecimal notation,
+ * is passed on to {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)}.
+ */
+public final class PrimitiveParser {
+
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * Mantissas up to this are exact in a double.
+     */
+    private static final long DOUBLE_EXACT = 1L << 53;
+
+    /**
+     * Mantissas up to this are exact in a float.
+     */
+    private static final long FLOAT_EXACT = 1L << 24;
+
+    private static final int MAX_DIGITS = 18;
+
+    private PrimitiveParser() {
+    }
+
+    public static int parseInt(CharSequence text) {
+        long value = parseLong(text);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid(text);
+        }
+        return (int) value;
+    }
+
+    public static short parseShort(CharSequence text) {
+        long value = parseLong(text);
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw invalid(text);
+        }
+        return (short) value;
+    }
+
+    public static byte parseByte(CharSequence text) {
+        long value = parseLong(text);
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw invalid(text);
+        }
+        return (byte) value;
+    }
+
+    /**
+     * @throws NumberFormatException if the text is not a whole number or does not fit into a long
+     */
+    public static long parseLong(CharSequence text) {
+        int end = trimEnd(text);
+        int i = trimStart(text, end);
+        if (i == end) {
+            throw invalid(text);
+        }
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) {
+                throw invalid(text);
+            }
+        }
+        // Accumulated negatively, as Long.MIN_VALUE has no positive counterpart
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalid(text);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalid(text);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static double parseDouble(CharSequence text) {
+        return parseDecimal(text, false);
+    }
+
+    /**
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static float parseFloat(CharSequence text) {
+        return (float) parseDecimal(text, true);
+    }
+
+    /**
+     * Parses a plain decimal like "-12.5e3". A float result is calculated in float arithmetic and only widened
+     * to double, so it can be narrowed again without changing.
+     */
+    private static double parseDecimal(CharSequence text, boolean asFloat) {
+        int end = trimEnd(text);
+        int i = trimStart(text, end);
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    if (fraction) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (++digits > MAX_DIGITS) {
+                    return fallback(text, asFloat);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (fraction) {
+                    exponent--;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigit) {
+            return fallback(text, asFloat);
+        }
+        if (i < end) {
+            char c = text.charAt(i);
+            if (c != 'e' && c != 'E' || ++i == end) {
+                return fallback(text, asFloat);
+            }
+            boolean negativeExponent = false;
+            if (text.charAt(i) == '-' || text.charAt(i) == '+') {
+                negativeExponent = text.charAt(i) == '-';
+                if (++i == end) {
+                    return fallback(text, asFloat);
+                }
+            }
+            int written = 0;
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9 || written > 1000) {
+                    return fallback(text, asFloat);
+                }
+                written = written * 10 + digit;
+            }
+            exponent += negativeExponent ? -written : written;
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        double value;
+        if (asFloat) {
+            if (mantissa > FLOAT_EXACT || exponent < -10 || exponent > 10) {
+                return fallback(text, true);
+            }
+            value = exponent < 0 ? (float) mantissa / FLOAT_POWERS[-exponent] : (float) mantissa * FLOAT_POWERS[exponent];
+        } else {
+            if (mantissa > DOUBLE_EXACT || exponent < -22 || exponent > 22) {
+                return fallback(text, false);
+            }
+            value = exponent < 0 ? mantissa / DOUBLE_POWERS[-exponent] : mantissa * DOUBLE_POWERS[exponent];
+        }
+        return negative ? -value : value;
+    }
+
+    private static double fallback(CharSequence text, boolean asFloat) {
+        String string = text.toString();
+        return asFloat ? Float.parseFloat(string) : Double.parseDouble(string);
+    }
+
+    private static int trimEnd(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int trimStart(CharSequence text, int end) {
+        int start = 0;
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static NumberFormatException invalid(CharSequence text) {
+        return new NumberFormatException("For input string: \"" + text + "\"");
+    }
+}
@@ -0,0 +1,284 @@
+/**
+ * MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+
+package ch.rs.reflectorgrid.util.typeconversion;
+import javafx.util.StringConverter;
+import javafx.util.converter.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contains all Type converters that will be used.
+ * Handles the conversion from String to Objects
+ *
+ * Converters are looked up trough the hierarchy of a class: if there is none for the class itself, the one of
+ * the closest superclass or interface is used. Enums get an {@link EnumStringConverter} without registering one.
+ * The result of every lookup is cached per class, and the cache is dropped whenever a converter is added.
+ *
+ * A collection can be layered over a parent, for example a grid over the global collection of
+ * {@link #getGlobal()}. The converters added to it override the ones of the parent, everything else is looked
+ * up in the parent. The collection can be read and changed from any thread.
+ * @author I-Al-Istannen, : https://github.com/I-Al-Istannen
+ */
+public class TypeConverterCollection {
+
+    /**
+     * The cached lookups of the global collection. Only the global collection lives as long as the classes it
+     * looks up, every other collection caches its lookups in {@link #resolvedConverters}, so it does not leave
+     * an entry in the classes it looked up once it is gone.
+     */
+    private static final ClassValue<Lookup> GLOBAL_LOOKUPS = new ClassValue<Lookup>() {
+        @Override
+        protected Lookup computeValue(Class<?> type) {
+            return new Lookup();
+        }
+    };
+
+    private static final TypeConverterCollection GLOBAL = new TypeConverterCollection();
+
+    private final Map<Class<?>, StringConverter<?>> converterMap = new ConcurrentHashMap<>();
+
+    /**
+     * The collection to look in if this one has no converter for a class, or null.
+     */
+    private final TypeConverterCollection parent;
+
+    /**
+     * Counts the added converters, to know if a cached lookup is still valid.
+     */
+    private final AtomicLong modifications = new AtomicLong();
+
+    /**
+     * The cached lookups of every collection but the global one.
+     */
+    private final Map<Class<?>, Resolved> resolvedConverters = new ConcurrentHashMap<>();
+
+    public TypeConverterCollection() {
+        parent = null;
+
+        converterMap.put(Byte.class, new ByteStringConverter());
+        converterMap.put(Byte.TYPE, new ByteStringConverter());
+        converterMap.put(Short.class, new ShortStringConverter());
+        converterMap.put(Short.TYPE, new ShortStringConverter());
+        converterMap.put(Integer.class, new IntegerStringConverter());
+        converterMap.put(Integer.TYPE, new IntegerStringConverter());
+        converterMap.put(Long.class, new LongStringConverter());
+        converterMap.put(Long.TYPE, new LongStringConverter());
+        converterMap.put(Float.class, new FloatStringConverter());
+        converterMap.put(Float.TYPE, new FloatStringConverter());
+        converterMap.put(Double.class, new DoubleStringConverter());
+        converterMap.put(Double.TYPE, new DoubleStringConverter());
+        
+        converterMap.put(Number.class, new CachedNumberStringConverter());
+        converterMap.put(BigDecimal.class, new BigDecimalStringConverter());
+        converterMap.put(Boolean.class, new BooleanStringConverter());
+    }
+
+    /**
+     * Creates an empty collection layered over the parent. Converters added to it override the ones of the parent.
+     * @param parent the collection to look in for everything that is not added to this one
+     */
+    public TypeConverterCollection(TypeConverterCollection parent) {
+        this.parent = Objects.requireNonNull(parent, "The received parent is null!");
+    }
+
+    /**
+     * @return the collection shared by all grids, which every grid layers its own converters over
+     */
+    public static TypeConverterCollection getGlobal() {
+        return GLOBAL;
+    }
+
+    public TypeConverterCollection getParent() {
+        return parent;
+    }
+
+    /**
+     * Adds a Converter to the collection. This will then be used to convert Types.
+     * A converter for a superclass or interface is used for all its subtypes that do not have their own, so it
+     * has to create the subtypes aswell.
+     * @param clazz The Class of the Type you want to add
+     * @param converter The corresponding Converter for said Class
+     * @param <T> The Type of the class
+     */
+    public <T> void addConverter(Class<T> clazz, StringConverter<T> converter) {
+        //Addition by RDMS to check if a converter for said class is already in the map
+        if (converterMap.putIfAbsent(clazz, converter) == null) {
+            modifications.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the Converter for a class, so it can be kept and used without looking it up again.
+     * @param clazz The Class of the Type to convert
+     * @param <T> The Type of the class
+     * @return the Converter, or null if there is none for said Class, its supertypes or the parent
+     */
+    public <T> StringConverter<T> getConverter(Class<T> clazz) {
+        long stamp = getStamp();
+        Resolved resolved;
+        if (this == GLOBAL) {
+            Lookup lookup = GLOBAL_LOOKUPS.get(clazz);
+            resolved = lookup.resolved;
+            if (resolved == null || resolved.stamp != stamp) {
+                resolved = new Resolved(stamp, resolve(clazz));
+                lookup.resolved = resolved;
+            }
+        } else {
+            resolved = resolvedConverters.get(clazz);
+            if (resolved == null || resolved.stamp != stamp) {
+                resolved = new Resolved(stamp, resolve(clazz));
+                resolvedConverters.put(clazz, resolved);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        StringConverter<T> stringConverter = (StringConverter<T>) resolved.converter;
+        return stringConverter;
+    }
+
+    /**
+     * Allows to cache a converter outside of the collection and only look it up again once the stamp changed.
+     * @return a number that changes whenever a converter is added to this collection or one of its parents
+     */
+    public long getStamp() {
+        return parent == null ? modifications.get() : modifications.get() + parent.getStamp();
+    }
+
+    private StringConverter<?> resolve(Class<?> clazz) {
+        for (Class<?> type : getHierarchy(clazz)) {
+            StringConverter<?> converter = converterMap.get(type);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        if (parent != null) {
+            return parent.getConverter(clazz);
+        }
+        Class<?> enumClass = clazz.isEnum() ? clazz
+                : clazz.getSuperclass() != null && clazz.getSuperclass().isEnum() ? clazz.getSuperclass() : null;
+        if (enumClass != null) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            StringConverter<?> converter = new EnumStringConverter(enumClass);
+            return converter;
+        }
+        return null;
+    }
+
+    /**
+     * @return the class, followed by its superclasses and then all its interfaces, closest ones first
+     */
+    private static List<Class<?>> getHierarchy(Class<?> clazz) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            hierarchy.add(type);
+        }
+        for (int i = 0; i < hierarchy.size(); i++) {
+            for (Class<?> implemented : hierarchy.get(i).getInterfaces()) {
+                if (!hierarchy.contains(implemented)) {
+                    hierarchy.add(implemented);
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    public <T> String toString(Class<T> clazz, T object) {
+        if (object == null) {
+            return "";
+        }
+
+        if (object instanceof String) {
+            return (String) object;
+        }
+
+        StringConverter<T> stringConverter = getConverter(clazz);
+
+        if (stringConverter == null) {
+            throw new IllegalArgumentException("No converter registered for class " + clazz);
+        }
+
+        return stringConverter.toString(object);
+    }
+
+    public <T> T fromObject(Class<T> clazz, Object object) {
+        if (object == null) {
+            return null;
+        }
+
+        if (clazz.isInstance(object)) {
+            @SuppressWarnings("unchecked")
+            T t = (T) object;
+            return t;
+        }
+        
+        StringConverter<T> stringConverter = getConverter(clazz);
+
+        if (stringConverter == null) {
+            throw new IllegalArgumentException("No converter registered for class " + clazz);
+        }
+
+        return stringConverter.fromString(object.toString());
+    }
+
+    public <T> T fromString(Class<T> clazz, String string) {
+        if (string == null) {
+            return null;
+        }
+
+        if (String.class.isAssignableFrom(clazz)) {
+            @SuppressWarnings("unchecked")
+            T t = (T) string;
+            return t;
+        }
+
+        StringConverter<T> stringConverter = getConverter(clazz);
+
+        if (stringConverter == null) {
+            throw new IllegalArgumentException("No converter registered for class " + clazz);
+        }
+
+        return stringConverter.fromString(string);
+    }
+
+    /**
+     * The cached lookup of a single class in the global collection.
+     */
+    private static final class Lookup {
+        private volatile Resolved resolved;
+    }
+
+    private static final class Resolved {
+        private final long stamp;
+        private final StringConverter<?> converter;
+
+        Resolved(long stamp, StringConverter<?> converter) {
+            this.stamp = stamp;
+            this.converter = converter;
+        }
+    }
+}
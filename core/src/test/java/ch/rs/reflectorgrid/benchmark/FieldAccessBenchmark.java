@@ -0,0 +1,130 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.benchmark;
+
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing a field the way ReflectionHelper did before, calling
+ * {@link Field#setAccessible(boolean)} and then {@link Field#get(Object)} or {@link Field#set(Object, Object)}
+ * on every access, with the cached {@link FieldAccessor}.
+ *
+ * Run it with the main function of this class, or with
+ * "mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessBenchmark {
+
+    public static class Target {
+        private int count;
+        private double ratio;
+        private String name = "name";
+    }
+
+    private final Target target = new Target();
+    private Field countField;
+    private Field ratioField;
+    private Field nameField;
+    private FieldAccessor count;
+    private FieldAccessor ratio;
+    private FieldAccessor name;
+    private int next;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        countField = Target.class.getDeclaredField("count");
+        ratioField = Target.class.getDeclaredField("ratio");
+        nameField = Target.class.getDeclaredField("name");
+        count = FieldAccessor.of(countField);
+        ratio = FieldAccessor.of(ratioField);
+        name = FieldAccessor.of(nameField);
+    }
+
+    @Benchmark
+    public int reflectiveInt() throws IllegalAccessException {
+        countField.setAccessible(true);
+        countField.set(target, next++);
+        countField.setAccessible(true);
+        return (int) countField.get(target);
+    }
+
+    @Benchmark
+    public int accessorInt() {
+        count.setInt(target, next++);
+        return count.getInt(target);
+    }
+
+    @Benchmark
+    public double reflectiveDouble() throws IllegalAccessException {
+        ratioField.setAccessible(true);
+        ratioField.set(target, (double) next++);
+        ratioField.setAccessible(true);
+        return (double) ratioField.get(target);
+    }
+
+    @Benchmark
+    public double accessorDouble() {
+        ratio.setDouble(target, next++);
+        return ratio.getDouble(target);
+    }
+
+    @Benchmark
+    public Object reflectiveObject() throws IllegalAccessException {
+        nameField.setAccessible(true);
+        nameField.set(target, nameField.get(target));
+        nameField.setAccessible(true);
+        return nameField.get(target);
+    }
+
+    @Benchmark
+    public Object accessorObject() {
+        name.set(target, name.get(target));
+        return name.get(target);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FieldAccessBenchmark.class.getSimpleName()).build()).run();
+    }
+}
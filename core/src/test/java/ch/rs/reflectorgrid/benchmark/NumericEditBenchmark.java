@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.benchmark;
+
+import ch.rs.reflectorgrid.util.ChangeListenerRegistry;
+import ch.rs.reflectorgrid.util.statics.FieldWriter;
+import ch.rs.reflectorgrid.util.typeconversion.PrimitiveParser;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.util.StringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing the text of an input field into a primitive field trough the converter, which boxes the
+ * value, with parsing it into the primitive directly. The value is formatted for a refresh once into a new
+ * String and once into a per-thread buffer, the way FieldBinding does it.
+ *
+ * Every write changes the field, the texts are cycled so the writer can not skip them as unchanged.
+ *
+ * Run it with the main function of this class, or with
+ * "mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericEditBenchmark {
+
+    public static class Target {
+        private int count;
+        private double ratio;
+    }
+
+    private static final int TEXTS = 64;
+
+    private final Target target = new Target();
+    private final ChangeListenerRegistry listeners = new ChangeListenerRegistry();
+    private final String[] counts = new String[TEXTS];
+    private final String[] ratios = new String[TEXTS];
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(StringBuilder::new);
+    private StringConverter<?> intConverter;
+    private StringConverter<?> doubleConverter;
+    private FieldWriter count;
+    private FieldWriter ratio;
+    private int next;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        for (int i = 0; i < TEXTS; i++) {
+            counts[i] = Integer.toString(i * 37 - 1000);
+            ratios[i] = Double.toString(i / 8.0 - 3.5);
+        }
+        intConverter = TypeConverterCollection.getGlobal().getConverter(int.class);
+        doubleConverter = TypeConverterCollection.getGlobal().getConverter(double.class);
+        count = FieldWriter.of(Target.class.getDeclaredField("count"));
+        ratio = FieldWriter.of(Target.class.getDeclaredField("ratio"));
+    }
+
+    private String nextText(String[] texts) {
+        return texts[next++ & (TEXTS - 1)];
+    }
+
+    @Benchmark
+    public boolean convertedInt() {
+        return count.writeValue(target, intConverter.fromString(nextText(counts)), listeners);
+    }
+
+    @Benchmark
+    public boolean parsedInt() {
+        return count.writeText(target, nextText(counts), listeners);
+    }
+
+    @Benchmark
+    public boolean convertedDouble() {
+        return ratio.writeValue(target, doubleConverter.fromString(nextText(ratios)), listeners);
+    }
+
+    @Benchmark
+    public boolean parsedDouble() {
+        return ratio.writeText(target, nextText(ratios), listeners);
+    }
+
+    @Benchmark
+    public Object parseIntOnly() {
+        return intConverter.fromString(nextText(counts));
+    }
+
+    @Benchmark
+    public int parsePrimitiveIntOnly() {
+        return PrimitiveParser.parseInt(nextText(counts));
+    }
+
+    @Benchmark
+    public Object parseDoubleOnly() {
+        return doubleConverter.fromString(nextText(ratios));
+    }
+
+    @Benchmark
+    public double parsePrimitiveDoubleOnly() {
+        return PrimitiveParser.parseDouble(nextText(ratios));
+    }
+
+    @Benchmark
+    public boolean formatIntToString() {
+        String shown = nextText(counts);
+        return shown.equals(String.valueOf(count.read(target)));
+    }
+
+    @Benchmark
+    public boolean formatIntToBuffer() {
+        String shown = nextText(counts);
+        StringBuilder formatted = buffer.get();
+        formatted.setLength(0);
+        count.appendValue(target, formatted);
+        return shown.contentEquals(formatted);
+    }
+
+    @Benchmark
+    public boolean formatDoubleToString() {
+        String shown = nextText(ratios);
+        return shown.equals(String.valueOf(ratio.read(target)));
+    }
+
+    @Benchmark
+    public boolean formatDoubleToBuffer() {
+        String shown = nextText(ratios);
+        StringBuilder formatted = buffer.get();
+        formatted.setLength(0);
+        ratio.appendValue(target, formatted);
+        return shown.contentEquals(formatted);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NumericEditBenchmark.class.getSimpleName()).build()).run();
+    }
+}
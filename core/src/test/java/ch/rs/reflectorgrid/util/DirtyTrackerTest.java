@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DirtyTrackerTest {
+
+    public static class Sensor {
+        @TransferGrid
+        public int rate = 10;
+        @TransferGrid
+        public String unit = "Hz";
+    }
+
+    private final DirtyTracker tracker = new DirtyTracker();
+    private final Sensor sensor = new Sensor();
+
+    private static FieldDescriptor descriptor(String name) throws Exception {
+        return ClassDescriptor.of(Sensor.class).getFieldDescriptor(Sensor.class.getDeclaredField(name));
+    }
+
+    @Test
+    public void writesTheDirtyFieldsAndMarksThemClean() throws Exception {
+        tracker.mark(sensor, descriptor("rate").getOrdinal());
+        tracker.mark(sensor, descriptor("unit").getOrdinal());
+        List<Object> values = new ArrayList<>();
+
+        assertEquals(2, tracker.writeDirty((object, field, value) -> values.add(value)));
+
+        assertEquals(Arrays.<Object>asList(10, "Hz"), values);
+        assertFalse(tracker.isDirty());
+    }
+
+    @Test
+    public void fieldsChangedWhileTheSinkIsRunningStayDirty() throws Exception {
+        FieldDescriptor rate = descriptor("rate");
+        FieldDescriptor unit = descriptor("unit");
+        tracker.mark(sensor, rate.getOrdinal());
+        tracker.mark(sensor, unit.getOrdinal());
+
+        tracker.writeDirty((object, field, value) -> {
+            if (field == unit) {
+                sensor.rate = 20;
+                tracker.mark(sensor, rate.getOrdinal());
+            }
+        });
+
+        assertTrue(tracker.isDirty(sensor, rate));
+        assertFalse(tracker.isDirty(sensor, unit));
+    }
+
+    @Test
+    public void aFailingSinkLeavesTheFieldsDirty() throws Exception {
+        FieldDescriptor rate = descriptor("rate");
+        FieldDescriptor unit = descriptor("unit");
+        tracker.mark(sensor, rate.getOrdinal());
+        tracker.mark(sensor, unit.getOrdinal());
+
+        try {
+            tracker.writeDirty((object, field, value) -> {
+                if (field == unit) {
+                    throw new IllegalStateException("offline");
+                }
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+            assertTrue(tracker.isDirty(sensor, rate));
+            assertTrue(tracker.isDirty(sensor, unit));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EditContextTest {
+
+    public static class Server {
+        @TransferGrid
+        public int port = 80;
+        @TransferGrid(commitPolicy = CommitPolicy.EXPLICIT)
+        public String name = "main";
+    }
+
+    private final Server server = new Server();
+    private final List<FieldBinding> shown = new ArrayList<>();
+    private final int[] refreshes = new int[1];
+    private final EditContext context = new EditContext(list -> list.addAll(shown), () -> refreshes[0]++);
+
+    private FieldBinding bind(String fieldName) {
+        FieldDescriptor descriptor = ClassDescriptor.of(Server.class)
+                .getFieldDescriptor(EditTransaction.findField(server, fieldName));
+        FieldBinding binding = new FieldBinding(descriptor.getField(), server, server, context.getListeners(),
+                context.getConverters());
+        context.configure(binding, descriptor);
+        shown.add(binding);
+        return binding;
+    }
+
+    @Test
+    public void bindingsUseThePolicyOfTheContextUnlessTheFieldSetsItsOwn() {
+        context.setCommitPolicy(CommitPolicy.ON_ACTION);
+
+        assertSame(CommitPolicy.ON_ACTION, bind("port").getCommitPolicy());
+        assertSame(CommitPolicy.EXPLICIT, bind("name").getCommitPolicy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theContextCanNotInheritAPolicy() {
+        context.setCommitPolicy(CommitPolicy.INHERIT);
+    }
+
+    @Test
+    public void changingTheUndoCapacityReconnectsTheShownBindings() {
+        FieldBinding port = bind("port");
+        context.setUndoCapacity(2);
+
+        port.writeText("81");
+        port.actionPerformed();
+
+        assertSame(context.getJournal(), port.getJournal());
+        assertTrue(context.undo());
+        assertEquals(80, server.port);
+        assertFalse(context.canUndo());
+    }
+
+    @Test
+    public void commitWritesThePendingTextOfAllShownBindings() {
+        FieldBinding name = bind("name");
+        name.textChanged("backup");
+
+        assertTrue(context.hasPendingChanges());
+        assertEquals("main", server.name);
+        assertTrue(context.commit());
+        assertEquals("backup", server.name);
+        assertTrue(context.isDirty());
+        assertFalse(context.hasPendingChanges());
+    }
+
+    @Test
+    public void rollingBackATransactionRefreshesTheGrid() {
+        bind("port");
+        EditTransaction transaction = context.begin();
+        context.setValue(server, "port", 8080);
+        transaction.rollback();
+
+        assertEquals(80, server.port);
+        assertEquals(1, refreshes[0]);
+        assertFalse(context.isDirty());
+    }
+}
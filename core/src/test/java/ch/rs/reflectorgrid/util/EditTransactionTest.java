@@ -0,0 +1,196 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EditTransactionTest {
+
+    public static class Device {
+        @TransferGrid
+        public int port = 80;
+        @TransferGrid
+        public String host = "localhost";
+        @TransferGrid
+        public double timeout = 1.5;
+    }
+
+    private final ChangeListenerRegistry registry = new ChangeListenerRegistry();
+    private final EditJournal journal = new EditJournal(4);
+    private final DirtyTracker tracker = new DirtyTracker();
+    private final List<String> changed = new ArrayList<>();
+    private final List<Map<Object, Set<Field>>> batches = new ArrayList<>();
+    private final Device device = new Device();
+
+    @Before
+    public void addListeners() {
+        registry.add((ChangeListener) (field, object) -> changed.add(field.getName()));
+        registry.addBatch(batches::add);
+    }
+
+    @Test
+    public void commitNotifiesOncePerField() {
+        EditTransaction transaction = registry.begin(journal, tracker, null);
+        transaction.setValue(device, "port", 8080);
+        transaction.setValue(device, "port", 8081);
+        transaction.setValue(device, "host", "example");
+
+        assertTrue(changed.isEmpty());
+        transaction.commit();
+
+        assertEquals(8081, device.port);
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).get(device).size());
+        assertEquals(2, changed.size());
+        assertFalse(transaction.isActive());
+        assertNull(registry.getTransaction());
+    }
+
+    @Test
+    public void rollbackRestoresTheValuesWithoutNotifying() {
+        boolean[] refreshed = new boolean[1];
+        EditTransaction transaction = registry.begin(journal, tracker, () -> refreshed[0] = true);
+        transaction.setValue(device, "port", 8080);
+        transaction.setValue(device, "host", "example");
+        transaction.setValue(device, "timeout", 3.0);
+
+        transaction.rollback();
+
+        assertEquals(80, device.port);
+        assertEquals("localhost", device.host);
+        assertEquals(1.5, device.timeout, 0);
+        assertTrue(changed.isEmpty());
+        assertTrue(batches.isEmpty());
+        assertTrue(refreshed[0]);
+        assertNull(registry.getTransaction());
+    }
+
+    private FieldBinding bind(String fieldName) {
+        FieldBinding binding = new FieldBinding(EditTransaction.findField(device, fieldName), device, device,
+                registry);
+        binding.setJournal(journal);
+        binding.setDirtyTracker(tracker, ordinalOf(fieldName));
+        return binding;
+    }
+
+    private int ordinalOf(String fieldName) {
+        return ClassDescriptor.of(Device.class)
+                .getFieldDescriptor(EditTransaction.findField(device, fieldName)).getOrdinal();
+    }
+
+    @Test
+    public void rollbackDropsTheJournalEntriesOfTheTransaction() {
+        FieldBinding port = bind("port");
+        FieldBinding host = bind("host");
+        port.writeText("81");
+        port.actionPerformed();
+
+        EditTransaction transaction = registry.begin(journal, tracker, null);
+        for (int i = 0; i < journal.getCapacity() + 2; i++) {
+            // more entries than the journal holds, so the entry from before is overwritten aswell
+            host.writeText("host" + i);
+            host.actionPerformed();
+        }
+        transaction.rollback();
+
+        assertEquals("localhost", device.host);
+        assertFalse(journal.canRedo());
+        assertTrue(journal.undo() == port);
+        assertEquals(80, device.port);
+        assertFalse(journal.canUndo());
+        assertTrue(journal.redo() == port);
+        assertEquals(81, device.port);
+        assertFalse(journal.canRedo());
+    }
+
+    @Test
+    public void rollbackKeepsTheEntriesThatCouldBeRedone() {
+        FieldBinding port = bind("port");
+        port.writeText("81");
+        port.actionPerformed();
+        journal.undo();
+
+        EditTransaction transaction = registry.begin(journal, tracker, null);
+        bind("timeout").writeText("4.5");
+        assertFalse(journal.canRedo());
+        transaction.rollback();
+
+        assertEquals(1.5, device.timeout, 0);
+        assertTrue(journal.redo() == port);
+        assertEquals(81, device.port);
+    }
+
+    @Test
+    public void rollbackRestoresTheDirtyMarks() {
+        bind("port").writeText("81");
+        EditTransaction transaction = registry.begin(journal, tracker, null);
+        bind("host").writeText("example");
+        tracker.markClean(device);
+
+        transaction.rollback();
+
+        assertTrue(tracker.isDirty(device));
+        assertEquals(1, tracker.getDirtyFields(device).size());
+        assertEquals("port", tracker.getDirtyFields(device).get(0).getField().getName());
+    }
+
+    @Test
+    public void rollbackClearsMarksOfObjectsOnlyWrittenDuringTheTransaction() {
+        EditTransaction transaction = registry.begin(journal, tracker, null);
+        bind("port").writeText("1");
+        assertTrue(tracker.isDirty(device));
+
+        transaction.rollback();
+
+        assertFalse(tracker.isDirty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void onlyOneTransactionAtATime() {
+        registry.begin(journal, tracker, null);
+        registry.begin(journal, tracker, null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void aTransactionEndsOnce() {
+        EditTransaction transaction = registry.begin(null, null, null);
+        transaction.commit();
+        transaction.rollback();
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.interfaces.ChangeListener;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class MultiFieldBindingTest {
+
+    public static class Light {
+        @TransferGrid
+        public int brightness;
+
+        Light(int brightness) {
+            this.brightness = brightness;
+        }
+    }
+
+    private final ChangeListenerRegistry registry = new ChangeListenerRegistry();
+    private final Light first = new Light(1);
+    private final Light second = new Light(2);
+    private final Light third = new Light(3);
+
+    private MultiFieldBinding bind(Light... lights) throws NoSuchFieldException {
+        return new MultiFieldBinding(Light.class.getDeclaredField("brightness"), Arrays.asList(lights), registry);
+    }
+
+    @Test
+    public void listenersAreCalledOncePerChangedObjectByDefault() throws Exception {
+        List<Object> changed = new ArrayList<>();
+        registry.add((ChangeListener) (field, object) -> changed.add(object));
+
+        bind(first, second, third).writeNumber(new BigDecimal(2));
+
+        assertEquals(Arrays.<Object>asList(first, third), changed);
+        assertEquals(2, second.brightness);
+    }
+
+    @Test
+    public void listenersCanHandleAllObjectsAtOnce() throws Exception {
+        List<List<?>> calls = new ArrayList<>();
+        registry.add(new ChangeListener() {
+            @Override
+            public void onObjectValueChanged(Field field, Object object) {
+                fail("Called for a single object");
+            }
+
+            @Override
+            public void onObjectsValueChanged(Field field, List<?> objects) {
+                calls.add(objects);
+            }
+        });
+
+        bind(first, second, third).writeText("7");
+        bind(first, second).writeText("7");
+
+        assertEquals(1, calls.size());
+        assertEquals(Arrays.asList(first, second, third), calls.get(0));
+    }
+
+    @Test
+    public void dispatchedListenersAreCalledTheSameWay() throws Exception {
+        List<Object> single = new ArrayList<>();
+        List<List<?>> all = new ArrayList<>();
+        registry.setDispatcher(ListenerDispatcher.on(Runnable::run));
+        registry.add((ChangeListener) (field, object) -> single.add(object));
+        registry.add(new ChangeListener() {
+            @Override
+            public void onObjectValueChanged(Field field, Object object) {
+                fail("Called for a single object");
+            }
+
+            @Override
+            public void onObjectsValueChanged(Field field, List<?> objects) {
+                all.add(objects);
+            }
+        });
+
+        bind(first, second).writeText("5");
+
+        assertEquals(Arrays.<Object>asList(first, second), single);
+        assertEquals(Collections.singletonList(Arrays.asList(first, second)), all);
+    }
+
+    @Test
+    public void rebindPointsTheBindingAtOtherObjects() throws Exception {
+        MultiFieldBinding binding = bind(first, second);
+
+        binding.rebind(Arrays.asList(second, third));
+        binding.writeText("9");
+
+        assertEquals(Arrays.<Object>asList(second, third), binding.getHandles());
+        assertSame(second, binding.getHandle());
+        assertEquals(1, first.brightness);
+        assertEquals(9, second.brightness);
+        assertEquals(9, third.brightness);
+
+        binding.rebind(first, null);
+        assertEquals(Collections.singletonList(first), binding.getHandles());
+        assertSame(binding.getHandles(), binding.getMasterObject());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rebindNeedsAnObject() throws Exception {
+        bind(first).rebind(Collections.emptyList());
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util;
+
+import ch.rs.reflectorgrid.util.statics.ReflectionNodeCollection;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveSpinnerValueFactoryTest {
+
+    @Test
+    public void showsValuesOutsideOfTheRangeAsTheyAre() {
+        IntSpinnerValueFactory factory = (IntSpinnerValueFactory)
+                ReflectionNodeCollection.createValueFactory(int.class, "0", "100", "", 150);
+
+        assertEquals(150, (int) factory.getValue());
+        assertTrue(factory.setNumber(-7));
+        assertEquals(-7, (int) factory.getValue());
+    }
+
+    @Test
+    public void nullShowsAnEmptyEditor() {
+        DoubleSpinnerValueFactory factory = (DoubleSpinnerValueFactory)
+                ReflectionNodeCollection.createValueFactory(Double.class, "1", "10", "", null);
+
+        assertNull(factory.getValue());
+        assertEquals("", factory.getConverter().toString(factory.getValue()));
+        assertTrue(factory.setNumber(2.5));
+        assertTrue(factory.setNumber(null));
+        assertNull(factory.getValue());
+    }
+
+    @Test
+    public void stepsAreClampedIntoTheRange() {
+        LongSpinnerValueFactory factory = new LongSpinnerValueFactory(0, 100, 150L, 1);
+
+        factory.decrement(1);
+        assertEquals(100, (long) factory.getValue());
+
+        factory.setNumber(null);
+        factory.increment(1);
+        assertEquals(0, (long) factory.getValue());
+    }
+
+    @Test
+    public void typedTextIsClampedIntoTheRange() {
+        IntSpinnerValueFactory factory = new IntSpinnerValueFactory(0, 100, 50, 1);
+
+        assertEquals(100, (int) factory.getConverter().fromString("250"));
+        assertEquals(50, (int) factory.getConverter().fromString("abc"));
+    }
+
+    @Test
+    public void leavingTheEditorKeepsAValueOutsideOfTheRange() {
+        IntSpinnerValueFactory factory = new IntSpinnerValueFactory(0, 100, 150, 1);
+        DoubleSpinnerValueFactory empty = new DoubleSpinnerValueFactory(1, 10, null, 1, false);
+
+        assertEquals(150, (int) factory.getConverter().fromString("150"));
+        assertNull(empty.getConverter().fromString(""));
+        assertFalse(factory.setNumber(150));
+    }
+
+    @Test
+    public void otherNumbersKeepAllTheirDigitsAndAreUnbounded() {
+        BigInteger big = new BigInteger("123456789012345678901");
+        NumberSpinnerValueFactory factory = (NumberSpinnerValueFactory)
+                ReflectionNodeCollection.createValueFactory(BigInteger.class, "", "", "", big);
+
+        assertEquals(new BigDecimal(big), factory.getValue());
+        factory.increment(1);
+        assertEquals(new BigDecimal(big.add(BigInteger.ONE)), factory.getValue());
+        assertNull(factory.getMin());
+        assertNull(factory.getMax());
+    }
+
+    @Test
+    public void otherNumbersUseTheGivenRange() {
+        NumberSpinnerValueFactory factory = (NumberSpinnerValueFactory)
+                ReflectionNodeCollection.createValueFactory(BigDecimal.class, "0.5", "2", "0.5",
+                        new BigDecimal("0.1000000000000000055511151231257827"));
+
+        assertEquals(new BigDecimal("0.5"), factory.getValue());
+        factory.increment(5);
+        assertEquals(new BigDecimal("2"), factory.getValue());
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.metadata;
+
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FieldAccessorTest {
+
+    static class Sample {
+        @TransferGrid
+        static int staticCount = 3;
+        @TransferGrid
+        static String staticName = "static";
+        @TransferGrid
+        private int count = 1;
+        @TransferGrid
+        private double ratio = 0.5;
+        @TransferGrid
+        private String name = "name";
+        @TransferGrid
+        private final long finalId = 7;
+        @TransferGrid
+        private final String finalName = new String("final");
+    }
+
+    @After
+    public void resetStatics() {
+        Sample.staticCount = 3;
+        Sample.staticName = "static";
+    }
+
+    private static FieldAccessor accessor(String name) throws NoSuchFieldException {
+        return FieldAccessor.of(Sample.class.getDeclaredField(name));
+    }
+
+    @Test
+    public void readsAndWritesInstanceFields() throws Exception {
+        Sample sample = new Sample();
+
+        accessor("count").setInt(sample, 5);
+        accessor("ratio").setDouble(sample, 2.25);
+        accessor("name").set(sample, "other");
+
+        assertEquals(5, sample.count);
+        assertEquals(2.25, sample.ratio, 0);
+        assertEquals("other", sample.name);
+        assertEquals(5, accessor("count").getInt(sample));
+        assertEquals(5, accessor("count").get(sample));
+        assertEquals(2.25, accessor("ratio").get(sample));
+    }
+
+    @Test
+    public void readsAndWritesStaticFields() throws Exception {
+        FieldAccessor count = accessor("staticCount");
+        FieldAccessor name = accessor("staticName");
+
+        assertEquals(3, count.getInt(null));
+        assertEquals(3, count.get(new Sample()));
+        assertEquals("static", name.get(null));
+
+        count.setInt(null, 4);
+        assertEquals(4, Sample.staticCount);
+        count.set(new Sample(), 6);
+        assertEquals(6, Sample.staticCount);
+        count.setNumber(null, 8L);
+        assertEquals(8, Sample.staticCount);
+
+        name.set(null, "changed");
+        assertEquals("changed", Sample.staticName);
+    }
+
+    @Test
+    public void writesFinalFieldsTroughReflection() throws Exception {
+        Sample sample = new Sample();
+
+        accessor("finalId").setLong(sample, 9);
+        accessor("finalName").set(sample, "changed");
+
+        assertEquals(9L, accessor("finalId").getLong(sample));
+        assertEquals("changed", accessor("finalName").get(sample));
+    }
+
+    @Test
+    public void cachesOneAccessorPerField() throws Exception {
+        Field field = Sample.class.getDeclaredField("count");
+        assertSame(FieldAccessor.of(field), FieldAccessor.of(Sample.class.getDeclaredField("count")));
+    }
+
+    @Test
+    public void narrowsNumbersToTheFieldType() throws Exception {
+        Sample sample = new Sample();
+
+        accessor("count").setNumber(sample, 12.9d);
+        assertEquals(12, sample.count);
+        accessor("ratio").setNumber(sample, 3);
+        assertEquals(3.0, sample.ratio, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTypedAccessOfTheWrongType() throws Exception {
+        accessor("count").getDouble(new Sample());
+    }
+
+    @Test
+    public void describesStaticFields() {
+        boolean found = false;
+        for (FieldDescriptor descriptor : ClassDescriptor.of(Sample.class).getFields()) {
+            found |= descriptor.getField().getName().equals("staticCount");
+        }
+        assertTrue(found);
+    }
+}
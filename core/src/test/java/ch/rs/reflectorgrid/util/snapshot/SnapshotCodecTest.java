@@ -0,0 +1,365 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.snapshot;
+
+import ch.rs.reflectorgrid.util.DirtyTracker;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SnapshotCodecTest {
+
+    public enum Mode {
+        OFF, ON
+    }
+
+    public static class Settings {
+        @TransferGrid
+        public int count = 1;
+        @TransferGrid
+        public long id = Long.MAX_VALUE - 1;
+        @TransferGrid
+        public double ratio = 0.25;
+        @TransferGrid
+        public float scale = 1.5f;
+        @TransferGrid
+        public boolean active;
+        @TransferGrid
+        public char letter = 'a';
+        @TransferGrid
+        public String name = "settings";
+        @TransferGrid
+        public Mode mode = Mode.OFF;
+        @TransferGrid
+        public Integer boxed;
+        @TransferGrid
+        public Child child = new Child();
+        @TransferGrid
+        public Child sameChild;
+        @TransferGrid
+        public static int ignored = 5;
+        public int notAnnotated = 3;
+    }
+
+    public static class Child {
+        @TransferGrid
+        public short level = 2;
+        @TransferGrid
+        public String label = "child";
+    }
+
+    public static class Hidden {
+        @TransferGrid
+        public int value;
+
+        private Hidden() {
+        }
+    }
+
+    public static class Holder {
+        @TransferGrid
+        public Object content;
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SnapshotCodec codec = new SnapshotCodec();
+
+    private static Settings changedSettings() {
+        Settings settings = new Settings();
+        settings.count = -42;
+        settings.id = Long.MIN_VALUE + 3;
+        settings.ratio = Math.PI;
+        settings.scale = -0.125f;
+        settings.active = true;
+        settings.letter = 'é';
+        settings.name = "grün";
+        settings.mode = Mode.ON;
+        settings.boxed = 77;
+        settings.child.level = -300;
+        settings.child.label = null;
+        settings.sameChild = settings.child;
+        settings.notAnnotated = 9;
+        return settings;
+    }
+
+    private static void assertSettings(Settings expected, Settings actual) {
+        assertEquals(expected.count, actual.count);
+        assertEquals(expected.id, actual.id);
+        assertEquals(expected.ratio, actual.ratio, 0);
+        assertEquals(expected.scale, actual.scale, 0);
+        assertEquals(expected.active, actual.active);
+        assertEquals(expected.letter, actual.letter);
+        assertEquals(expected.name, actual.name);
+        assertEquals(expected.mode, actual.mode);
+        assertEquals(expected.boxed, actual.boxed);
+        assertEquals(expected.child.level, actual.child.level);
+        assertEquals(expected.child.label, actual.child.label);
+    }
+
+    @Test
+    public void roundTripsIntoANewInstance() {
+        Settings original = changedSettings();
+
+        Settings copy = codec.decode(codec.encode(original), Settings.class);
+
+        assertSettings(original, copy);
+        assertSame(copy.child, copy.sameChild);
+        assertEquals(3, copy.notAnnotated);
+    }
+
+    @Test
+    public void fillsAnExistingInstanceInPlace() {
+        Settings target = new Settings();
+        Child child = target.child;
+
+        codec.decodeInto(codec.encode(changedSettings()), target);
+
+        assertSettings(changedSettings(), target);
+        assertSame(child, target.child);
+        assertSame(child, target.sameChild);
+    }
+
+    @Test
+    public void roundTripsTroughAFile() throws Exception {
+        Path file = folder.newFile("preset.tgs").toPath();
+        Settings original = changedSettings();
+
+        codec.write(original, file);
+        Settings target = new Settings();
+        codec.readInto(file, target);
+        codec.write(target, file);
+
+        assertSettings(original, codec.read(file, Settings.class));
+    }
+
+    @Test
+    public void marksTheChangedFieldsAsDirty() {
+        Settings target = new Settings();
+        Settings snapshot = new Settings();
+        snapshot.count = 8;
+        snapshot.child.label = "other";
+        DirtyTracker tracker = new DirtyTracker();
+
+        codec.decodeInto(codec.encode(snapshot), target, tracker);
+
+        assertEquals(Arrays.asList("count"), names(tracker, target));
+        assertEquals(Arrays.asList("label"), names(tracker, target.child));
+    }
+
+    @Test
+    public void removesTheMarksOfReplacedSubObjects() {
+        Settings target = new Settings();
+        Child replaced = new Child();
+        target.child = replaced;
+        Settings snapshot = new Settings();
+        snapshot.child = null;
+        DirtyTracker tracker = new DirtyTracker();
+        tracker.mark(replaced, 0);
+
+        codec.decodeInto(codec.encode(snapshot), target, tracker);
+
+        assertNull(target.child);
+        assertFalse(tracker.isDirty(replaced));
+        assertEquals(Arrays.asList("child"), names(tracker, target));
+    }
+
+    private static List<String> names(DirtyTracker tracker, Object object) {
+        List<String> names = new ArrayList<>();
+        tracker.getDirtyFields(object).forEach(field -> names.add(field.getField().getName()));
+        return names;
+    }
+
+    @Test
+    public void matchesFieldsByNameAcrossVersions() {
+        // written by an older Settings: "count" was a long, "ratio" an int, "removed" does not exist
+        // anymore, the field order differs and "name", "mode" and all others are missing
+        SnapshotBuilder builder = new SnapshotBuilder()
+                .object(Settings.class, "removed", "ratio", "count", "child", "mode");
+        builder.tag(SnapshotFormat.STRING).string("gone");
+        builder.tag(SnapshotFormat.INT).varlong(3);
+        builder.tag(SnapshotFormat.LONG).varlong(-12);
+        builder.object(Unknown.class.getName() + "Removed", "value");
+        builder.tag(SnapshotFormat.INT).varlong(1);
+        builder.tag(SnapshotFormat.ENUM).string("REMOVED_CONSTANT");
+
+        Settings target = new Settings();
+        Child child = target.child;
+        codec.decodeInto(builder.build(), target);
+
+        assertEquals(-12, target.count);
+        assertEquals(3.0, target.ratio, 0);
+        assertEquals("settings", target.name);
+        assertEquals(Mode.OFF, target.mode);
+        assertSame(child, target.child);
+    }
+
+    static class Unknown {
+    }
+
+    @Test
+    public void rejectsClassesWithoutAnnotatedFields() {
+        SnapshotBuilder builder = new SnapshotBuilder().object(ArrayList.class);
+        try {
+            codec.decode(builder.build(), Object.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(ArrayList.class.getName()));
+        }
+    }
+
+    @Test
+    public void rejectsNestedClassesWithoutAnnotatedFields() {
+        SnapshotBuilder builder = new SnapshotBuilder().object(Holder.class, "content");
+        builder.object(StringBuilder.class);
+
+        Holder holder = new Holder();
+        try {
+            codec.decodeInto(builder.build(), holder);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertNull(holder.content);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void doesNotOpenPrivateConstructors() {
+        SnapshotBuilder builder = new SnapshotBuilder().object(Hidden.class, "value");
+        builder.tag(SnapshotFormat.INT).varlong(1);
+        codec.decode(builder.build(), Object.class);
+    }
+
+    @Test
+    public void createsNestedGridClassesTroughTheirPublicConstructor() {
+        SnapshotBuilder builder = new SnapshotBuilder().object(Holder.class, "content");
+        builder.object(Child.class, "label");
+        builder.tag(SnapshotFormat.STRING).string("created");
+
+        Holder holder = codec.decode(builder.build(), Holder.class);
+
+        assertNotNull(holder.content);
+        assertEquals("created", ((Child) holder.content).label);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSnapshotsOfOtherClasses() {
+        codec.decode(codec.encode(new Child()), Settings.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedSnapshots() {
+        ByteBuffer buffer = codec.encode(changedSettings());
+        buffer.limit(buffer.limit() - 3);
+        codec.decode(buffer, Settings.class);
+    }
+
+    @Test
+    public void leavesTheFileUnlockedAfterReading() throws Exception {
+        Path file = folder.newFile("locked.tgs").toPath();
+        codec.write(new Settings(), file);
+        codec.read(file, Settings.class);
+        Files.delete(file);
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Writes snapshots by hand, to test snapshots of classes that have changed since.
+     */
+    private static class SnapshotBuilder {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int classes;
+
+        SnapshotBuilder() {
+            ByteBuffer header = ByteBuffer.allocate(5).putInt(SnapshotFormat.MAGIC).put(SnapshotFormat.VERSION);
+            out.write(header.array(), 0, 5);
+        }
+
+        SnapshotBuilder object(Class<?> type, String... fields) {
+            return object(type.getName(), fields);
+        }
+
+        SnapshotBuilder object(String className, String... fields) {
+            tag(SnapshotFormat.OBJECT).varint(classes++).string(className).varint(fields.length);
+            for (String field : fields) {
+                string(field);
+            }
+            return this;
+        }
+
+        SnapshotBuilder tag(byte tag) {
+            out.write(tag);
+            return this;
+        }
+
+        SnapshotBuilder varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+            return this;
+        }
+
+        SnapshotBuilder varlong(long value) {
+            long zigzag = value << 1 ^ value >> 63;
+            while ((zigzag & ~0x7FL) != 0) {
+                out.write((int) (zigzag & 0x7F | 0x80));
+                zigzag >>>= 7;
+            }
+            out.write((int) zigzag);
+            return this;
+        }
+
+        SnapshotBuilder string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        ByteBuffer build() {
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.statics;
+
+import ch.rs.reflectorgrid.util.ChangeListenerRegistry;
+import ch.rs.reflectorgrid.util.EditTransaction;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.interfaces.ObjectChangeListener;
+import ch.rs.reflectorgrid.util.typeconversion.TypeConverterCollection;
+import javafx.util.StringConverter;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class FieldWriterTest {
+
+    public static class Point {
+        final int x;
+
+        Point(int x) {
+            this.x = x;
+        }
+    }
+
+    public static class LatePoint extends Point {
+        LatePoint(int x) {
+            super(x);
+        }
+    }
+
+    public static class Model {
+        @TransferGrid
+        public int count;
+        @TransferGrid
+        public long total;
+        @TransferGrid
+        public double ratio;
+        @TransferGrid
+        public String name;
+        @TransferGrid
+        public Point point;
+        @TransferGrid
+        public LatePoint latePoint;
+    }
+
+    public static class ListeningModel extends Model implements ObjectChangeListener {
+        final List<Field> changed = new ArrayList<>();
+
+        @Override
+        public void onFieldValueChanged(Field field) {
+            changed.add(field);
+        }
+    }
+
+    private static final class PointConverter extends StringConverter<Point> {
+        private final int offset;
+
+        PointConverter(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public String toString(Point point) {
+            return String.valueOf(point.x);
+        }
+
+        @Override
+        public Point fromString(String string) {
+            return new Point(Integer.parseInt(string) + offset);
+        }
+    }
+
+    private final ChangeListenerRegistry listeners = new ChangeListenerRegistry();
+
+    private static Field field(String name) throws NoSuchFieldException {
+        return Model.class.getDeclaredField(name);
+    }
+
+    @Test
+    public void usesGlobalConvertersAddedAfterTheWriterWasCreated() throws Exception {
+        FieldWriter writer = FieldWriter.of(field("latePoint"));
+        Model model = new Model();
+        try {
+            writer.writeText(model, "1", listeners);
+        } catch (IllegalArgumentException e) {
+            // there is no converter yet
+        }
+
+        TypeConverterCollection.getGlobal().addConverter(LatePoint.class, new StringConverter<LatePoint>() {
+            @Override
+            public String toString(LatePoint point) {
+                return String.valueOf(point.x);
+            }
+
+            @Override
+            public LatePoint fromString(String string) {
+                return new LatePoint(Integer.parseInt(string));
+            }
+        });
+
+        assertSame(writer, FieldWriter.of(field("latePoint")));
+        assertTrue(writer.writeText(model, "5", listeners));
+        assertEquals(5, model.latePoint.x);
+    }
+
+    @Test
+    public void usesConvertersAddedToTheLayerOfAGridLaterOn() throws Exception {
+        TypeConverterCollection parent = new TypeConverterCollection();
+        TypeConverterCollection grid = new TypeConverterCollection(parent);
+        parent.addConverter(Point.class, new PointConverter(0));
+        FieldWriter writer = FieldWriter.of(field("point"), grid);
+        Model model = new Model();
+
+        writer.writeText(model, "1", listeners);
+        assertEquals(1, model.point.x);
+
+        grid.addConverter(Point.class, new PointConverter(100));
+        writer.writeText(model, "1", listeners);
+        assertEquals(101, model.point.x);
+    }
+
+    @Test
+    public void primitiveTextUsesAnOverridingConverterOfTheGrid() throws Exception {
+        TypeConverterCollection grid = new TypeConverterCollection(TypeConverterCollection.getGlobal());
+        FieldWriter writer = FieldWriter.of(field("count"), grid);
+        Model model = new Model();
+
+        writer.writeText(model, "3", listeners);
+        assertEquals(3, model.count);
+
+        grid.addConverter(int.class, new StringConverter<Integer>() {
+            @Override
+            public String toString(Integer value) {
+                return String.valueOf(value);
+            }
+
+            @Override
+            public Integer fromString(String string) {
+                return Integer.parseInt(string.trim()) * 2;
+            }
+        });
+        writer.writeText(model, "3", listeners);
+        assertEquals(6, model.count);
+    }
+
+    @Test
+    public void skipsValuesTheFieldAlreadyHolds() throws Exception {
+        FieldWriter writer = FieldWriter.of(field("ratio"));
+        Model model = new Model();
+
+        assertTrue(writer.writeText(model, "0.5", listeners));
+        assertFalse(writer.writeText(model, "0.50", listeners));
+        assertFalse(writer.writeNumber(model, 0.5f, listeners));
+        assertTrue(writer.writeText(model, "-0.0", listeners));
+    }
+
+    @Test
+    public void notifiesObjectsOfSubclassesThatListen() throws Exception {
+        FieldWriter writer = FieldWriter.of(field("count"));
+        Model plain = new Model();
+        ListeningModel listening = new ListeningModel();
+
+        writer.writeText(plain, "1", listeners);
+        writer.writeText(listening, "1", listeners);
+        writer.writeText(listening, "1", listeners);
+
+        assertEquals(Collections.singletonList(field("count")), listening.changed);
+    }
+
+    @Test
+    public void reflectionHelperNotifiesValuesTheFieldAlreadyHolds() throws Exception {
+        ListeningModel model = new ListeningModel();
+        model.count = 3;
+        model.ratio = 0.5;
+
+        ReflectionHelper.setFieldValue(field("count"), model, 3);
+        ReflectionHelper.setNumberFieldValue(field("ratio"), model, 0.5);
+        ReflectionHelper.setFieldValue(field("count"), model, 3, listeners);
+
+        assertEquals(Arrays.asList(field("count"), field("ratio"), field("count")), model.changed);
+    }
+
+    @Test
+    public void countsEveryWriteInTheMetrics() throws Exception {
+        FieldWriter writer = FieldWriter.of(field("total"));
+        Model model = new Model();
+        long writes = WriteMetrics.getWrites();
+        long unchanged = WriteMetrics.getUnchangedWrites();
+        long notifications = WriteMetrics.getNotifications();
+        long skipped = WriteMetrics.getSkippedNotifications();
+
+        writer.writeText(model, "1", listeners);
+        writer.writeText(model, "1", listeners);
+        EditTransaction transaction = listeners.begin(null, null, null);
+        writer.writeText(model, "2", listeners);
+        writer.writeText(model, "2", listeners);
+        transaction.commit();
+
+        assertEquals(2, WriteMetrics.getWrites() - writes);
+        assertEquals(2, WriteMetrics.getUnchangedWrites() - unchanged);
+        assertEquals(1, WriteMetrics.getNotifications() - notifications);
+        assertEquals(1, WriteMetrics.getSkippedNotifications() - skipped);
+    }
+
+    /**
+     * Writing an edit into a field must not allocate anything apart from the value itself: the writer, its
+     * converter and the accessor are resolved before, and primitive text is parsed without boxing.
+     */
+    @Test
+    public void writingAnEditDoesNotAllocate() throws Exception {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        Model model = new Model();
+        FieldWriter count = FieldWriter.of(field("count"));
+        FieldWriter total = FieldWriter.of(field("total"));
+        FieldWriter ratio = FieldWriter.of(field("ratio"));
+        FieldWriter name = FieldWriter.of(field("name"));
+        String[] numbers = new String[64];
+        String[] decimals = new String[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = Integer.toString(i * 7919 - 100000);
+            decimals[i] = Double.toString(i / 8.0 - 3.5);
+        }
+        listeners.add((field, object) -> {
+        });
+
+        Runnable edits = () -> {
+            for (int i = 0; i < numbers.length; i++) {
+                count.writeText(model, numbers[i], listeners);
+                total.writeText(model, numbers[i], listeners);
+                ratio.writeText(model, decimals[i], listeners);
+                name.writeObject(model, numbers[i], listeners);
+            }
+        };
+        for (int i = 0; i < 20_000; i++) {
+            edits.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100; i++) {
+            edits.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // a few bytes of slack for the measurement itself
+        assertTrue("Writing allocated " + allocated + " bytes", allocated < 1024);
+        assertEquals(Integer.parseInt(numbers[numbers.length - 1]), model.count);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(counter.isThreadAllocatedMemorySupported());
+        counter.setThreadAllocatedMemoryEnabled(true);
+        return counter;
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.util.typeconversion;
+
+import javafx.util.StringConverter;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TypeConverterCollectionTest {
+
+    interface Shape {
+    }
+
+    static class Square implements Shape {
+    }
+
+    static class Cube extends Square {
+    }
+
+    enum Color {
+        RED, GREEN
+    }
+
+    private static <T> StringConverter<T> converter(T value) {
+        return new StringConverter<T>() {
+            @Override
+            public String toString(T object) {
+                return String.valueOf(object);
+            }
+
+            @Override
+            public T fromString(String string) {
+                return value;
+            }
+        };
+    }
+
+    @Test
+    public void layeredConvertersOverrideTheParent() {
+        TypeConverterCollection parent = new TypeConverterCollection();
+        TypeConverterCollection child = new TypeConverterCollection(parent);
+        StringConverter<Integer> own = converter(7);
+
+        child.addConverter(Integer.class, own);
+
+        assertSame(own, child.getConverter(Integer.class));
+        assertEquals(Integer.valueOf(12), parent.fromString(Integer.class, "12"));
+        assertSame(parent.getConverter(Double.class), child.getConverter(Double.class));
+    }
+
+    @Test
+    public void convertersAddedToTheParentLaterOnAreSeenByTheChild() {
+        TypeConverterCollection parent = new TypeConverterCollection();
+        TypeConverterCollection child = new TypeConverterCollection(parent);
+        assertNull(child.getConverter(Square.class));
+
+        StringConverter<Square> added = converter(new Square());
+        parent.addConverter(Square.class, added);
+
+        assertSame(added, child.getConverter(Square.class));
+    }
+
+    @Test
+    public void looksUpSuperclassesBeforeInterfaces() {
+        TypeConverterCollection converters = new TypeConverterCollection();
+        StringConverter<Shape> shape = converter(new Square());
+        converters.addConverter(Shape.class, shape);
+        assertSame(shape, converters.getConverter(Cube.class));
+
+        StringConverter<Square> square = converter(new Square());
+        converters.addConverter(Square.class, square);
+        assertSame(square, converters.getConverter(Cube.class));
+    }
+
+    @Test
+    public void theChildOverridesTheParentForSubclassesAswell() {
+        TypeConverterCollection parent = new TypeConverterCollection();
+        TypeConverterCollection child = new TypeConverterCollection(parent);
+        parent.addConverter(Cube.class, converter(new Cube()));
+        StringConverter<Square> square = converter(new Square());
+
+        child.addConverter(Square.class, square);
+
+        assertSame(square, child.getConverter(Square.class));
+        // the own converters of the child are looked up first, trough the whole hierarchy
+        assertSame(square, child.getConverter(Cube.class));
+    }
+
+    @Test
+    public void aConverterIsNotReplaced() {
+        TypeConverterCollection converters = new TypeConverterCollection();
+        StringConverter<Square> first = converter(new Square());
+        converters.addConverter(Square.class, first);
+        converters.addConverter(Square.class, converter(new Square()));
+
+        assertSame(first, converters.getConverter(Square.class));
+    }
+
+    @Test
+    public void convertsEnumsWithoutRegisteringThem() {
+        TypeConverterCollection converters = new TypeConverterCollection(new TypeConverterCollection());
+
+        assertNotNull(converters.getConverter(Color.class));
+        assertEquals(Color.GREEN, converters.fromString(Color.class, "GREEN"));
+    }
+
+    /**
+     * A grid converter that references its grid must not keep the collection of the grid alive trough the
+     * classes it looked up.
+     */
+    @Test
+    public void layeredCollectionsCanBeCollectedAfterLookups() throws InterruptedException {
+        WeakReference<TypeConverterCollection> reference = lookUpWithCapturingConverter();
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+    }
+
+    private static WeakReference<TypeConverterCollection> lookUpWithCapturingConverter() {
+        TypeConverterCollection grid = new TypeConverterCollection(TypeConverterCollection.getGlobal());
+        grid.addConverter(Square.class, new StringConverter<Square>() {
+            @Override
+            public String toString(Square square) {
+                return grid.toString();
+            }
+
+            @Override
+            public Square fromString(String string) {
+                return new Square();
+            }
+        });
+        assertNotNull(grid.getConverter(Square.class));
+        assertNotNull(grid.getConverter(Integer.class));
+        assertNotNull(grid.getConverter(Cube.class));
+        return new WeakReference<>(grid);
+    }
+}
@@ -0,0 +1,397 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.processor;
+
+import ch.rs.reflectorgrid.util.metadata.GridBinders;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a GridBinder for every class that declares fields annotated with TransferGrid.
+ * The binder contains the annotation settings of these fields and reads and writes the ones visible to
+ * its package directly. ReflectorGrid uses it for the settings, and for fields that can not be made accessible
+ * trough reflection, for example in a module that is not open.
+ *
+ * Private and final fields, aswell as fields whose type is not visible from the package of the class,
+ * can not be accessed by the binder. They are still described by it, but read and written trough reflection.
+ *
+ * The min, max and step of every annotated field are checked aswell, so a range that does not fit the
+ * type of the field is reported when compiling and not when the Spinner is created.
+ *
+ * The processor is shipped in its own TransferGrid-processor artifact and only runs in projects that add it,
+ * either as a dependency or to the annotationProcessorPaths of the compiler plugin.
+ */
+@SupportedAnnotationTypes(TransferGridProcessor.ANNOTATION)
+public class TransferGridProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "ch.rs.reflectorgrid.util.annotations.TransferGrid";
+    static final String FIELDTYPE = ANNOTATION + ".Fieldtype";
+    static final String COMMIT_POLICY = "ch.rs.reflectorgrid.util.CommitPolicy";
+    static final String GRID_BINDER = "ch.rs.reflectorgrid.util.metadata.GridBinder";
+
+    private final Set<String> generatedBinders = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+            checkRange(field, getAnnotationValues(getAnnotation(field)));
+            types.add((TypeElement) field.getEnclosingElement());
+        }
+
+        for (TypeElement type : types) {
+            if (!canBind(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No GridBinder generated, the class is not visible to its package", type);
+                continue;
+            }
+            String binderName = binderNameOf(type);
+            if (generatedBinders.add(binderName)) {
+                generateBinder(type, binderName);
+            }
+        }
+        return false;
+    }
+
+    private void generateBinder(TypeElement type, String binderName) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (getAnnotation(field) != null) {
+                fields.add(field);
+            }
+        }
+
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String typeName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        String simpleName = binderName.substring(binderName.lastIndexOf('.') + 1);
+
+        StringBuilder source = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            source.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * GridBinder for {@link ").append(typeName).append("}.\n")
+                .append(" * Generated by ").append(getClass().getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(GRID_BINDER).append(" {\n\n")
+                .append("    private static final BoundField[] FIELDS = {\n");
+
+        for (VariableElement field : fields) {
+            appendBoundField(source, field, isAccessible(field, pkg));
+        }
+
+        source.append("    };\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getBoundClass() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public BoundField[] getFields() {\n")
+                .append("        return FIELDS;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object get(int index, Object target) {\n")
+                .append("        ").append(typeName).append(" handle = (").append(typeName).append(") target;\n")
+                .append("        switch (index) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            if (isAccessible(field, pkg)) {
+                source.append("            case ").append(i).append(":\n")
+                        .append("                return ").append(fieldReference(field, typeName)).append(";\n");
+            }
+        }
+        source.append("            default:\n")
+                .append("                throw new IllegalArgumentException(\"No accessible field at index \" + index);\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void set(int index, Object target, Object value) {\n")
+                .append("        ").append(typeName).append(" handle = (").append(typeName).append(") target;\n")
+                .append("        switch (index) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            if (isAccessible(field, pkg)) {
+                source.append("            case ").append(i).append(":\n")
+                        .append("                ").append(fieldReference(field, typeName))
+                        .append(" = (").append(castTypeOf(field.asType())).append(") value;\n")
+                        .append("                return;\n");
+            }
+        }
+        source.append("            default:\n")
+                .append("                throw new IllegalArgumentException(\"No accessible field at index \" + index);\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(binderName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Couldnt write the GridBinder " + binderName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void appendBoundField(StringBuilder source, VariableElement field, boolean accessible) {
+        Map<String, AnnotationValue> values = getAnnotationValues(getAnnotation(field));
+        String name = field.getSimpleName().toString();
+
+        source.append("        new BoundField(").append(literal(name))
+                .append(", ").append(accessible)
+                .append(", ").append(values.get("editable").getValue())
+                .append(", new String[]{");
+
+        @SuppressWarnings("unchecked")
+        List<? extends AnnotationValue> options = (List<? extends AnnotationValue>) values.get("options").getValue();
+        for (int i = 0; i < options.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append(literal((String) options.get(i).getValue()));
+        }
+
+        VariableElement fieldtype = (VariableElement) values.get("fieldtype").getValue();
+        VariableElement commitPolicy = (VariableElement) values.get("commitPolicy").getValue();
+        source.append("}, ").append(FIELDTYPE).append('.').append(fieldtype.getSimpleName())
+                .append(", ").append(literal((String) values.get("tooltip").getValue()))
+                .append(", ").append(COMMIT_POLICY).append('.').append(commitPolicy.getSimpleName())
+                .append(", ").append(values.get("commitDelay").getValue()).append('L')
+                .append(", ").append(literal((String) values.get("min").getValue()))
+                .append(", ").append(literal((String) values.get("max").getValue()))
+                .append(", ").append(literal((String) values.get("step").getValue()))
+                .append("),\n");
+    }
+
+    /**
+     * Reports an error if min, max or step are set on a field that is not numeric, are not numbers of the type
+     * of the field, or if min is larger than max or the step is not positive.
+     */
+    private void checkRange(VariableElement field, Map<String, AnnotationValue> values) {
+        String min = (String) values.get("min").getValue();
+        String max = (String) values.get("max").getValue();
+        String step = (String) values.get("step").getValue();
+        if (min.isEmpty() && max.isEmpty() && step.isEmpty()) {
+            return;
+        }
+        TypeMirror type = field.asType();
+        if (!type.getKind().isPrimitive()) {
+            TypeElement number = processingEnv.getElementUtils().getTypeElement("java.lang.Number");
+            if (number == null || !processingEnv.getTypeUtils().isAssignable(type, number.asType())) {
+                error(field, "min, max and step can only be used on numeric fields");
+                return;
+            }
+            try {
+                type = processingEnv.getTypeUtils().unboxedType(type);
+            } catch (IllegalArgumentException e) {
+                // any other Number, checked as a decimal
+            }
+        }
+        try {
+            switch (type.getKind()) {
+                case BYTE:
+                    checkWhole(field, min, max, step, Byte.MIN_VALUE, Byte.MAX_VALUE);
+                    break;
+                case SHORT:
+                    checkWhole(field, min, max, step, Short.MIN_VALUE, Short.MAX_VALUE);
+                    break;
+                case INT:
+                    checkWhole(field, min, max, step, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                    break;
+                case LONG:
+                    checkWhole(field, min, max, step, Long.MIN_VALUE, Long.MAX_VALUE);
+                    break;
+                case FLOAT:
+                    checkDecimal(field, min, max, step, Float.MAX_VALUE);
+                    break;
+                case DOUBLE:
+                    checkDecimal(field, min, max, step, Double.MAX_VALUE);
+                    break;
+                case CHAR:
+                case BOOLEAN:
+                    error(field, "min, max and step can only be used on numeric fields");
+                    break;
+                default:
+                    checkDecimal(field, min, max, step, Double.MAX_VALUE);
+            }
+        } catch (NumberFormatException e) {
+            error(field, "min, max and step have to be numbers of the type of the field: " + e.getMessage());
+        }
+    }
+
+    private void checkWhole(VariableElement field, String min, String max, String step, long typeMin, long typeMax) {
+        long low = min.isEmpty() ? typeMin : Long.parseLong(min.trim());
+        long high = max.isEmpty() ? typeMax : Long.parseLong(max.trim());
+        long amount = step.isEmpty() ? 1 : Long.parseLong(step.trim());
+        if (low < typeMin || high > typeMax || amount > typeMax) {
+            error(field, "min, max and step have to be between " + typeMin + " and " + typeMax);
+        } else if (low > high) {
+            error(field, "min " + low + " is larger than max " + high);
+        } else if (amount <= 0) {
+            error(field, "The step has to be positive, was " + amount);
+        }
+    }
+
+    private void checkDecimal(VariableElement field, String min, String max, String step, double typeMax) {
+        double low = min.isEmpty() ? -typeMax : Double.parseDouble(min);
+        double high = max.isEmpty() ? typeMax : Double.parseDouble(max);
+        double amount = step.isEmpty() ? 1 : Double.parseDouble(step);
+        if (!(Math.abs(low) <= typeMax && Math.abs(high) <= typeMax && amount <= typeMax)) {
+            error(field, "min, max and step have to be between " + -typeMax + " and " + typeMax);
+        } else if (low > high) {
+            error(field, "min " + low + " is larger than max " + high);
+        } else if (!(amount > 0)) {
+            error(field, "The step has to be positive, was " + amount);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private AnnotationMirror getAnnotation(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(ANNOTATION)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, AnnotationValue> getAnnotationValues(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        return values;
+    }
+
+    private String fieldReference(VariableElement field, String typeName) {
+        String holder = field.getModifiers().contains(Modifier.STATIC) ? typeName : "handle";
+        return holder + "." + field.getSimpleName();
+    }
+
+    private String castTypeOf(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * A field can be accessed by the binder if it is neither private nor final and its type
+     * can be named from the package of the binder.
+     */
+    private boolean isAccessible(VariableElement field, PackageElement pkg) {
+        Set<Modifier> modifiers = field.getModifiers();
+        return !modifiers.contains(Modifier.PRIVATE)
+                && !modifiers.contains(Modifier.FINAL)
+                && isVisible(processingEnv.getTypeUtils().erasure(field.asType()), pkg);
+    }
+
+    private boolean isVisible(TypeMirror type, PackageElement pkg) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isVisible(((ArrayType) type).getComponentType(), pkg);
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return type.getKind().isPrimitive();
+        }
+        Element element = ((DeclaredType) type).asElement();
+        while (element instanceof TypeElement) {
+            Set<Modifier> modifiers = element.getModifiers();
+            boolean samePackage = processingEnv.getElementUtils().getPackageOf(element).equals(pkg);
+            if (modifiers.contains(Modifier.PRIVATE) || !modifiers.contains(Modifier.PUBLIC) && !samePackage
+                    || modifiers.contains(Modifier.PROTECTED) && !samePackage) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean canBind(TypeElement type) {
+        NestingKind nesting = type.getNestingKind();
+        if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        return isVisible(processingEnv.getTypeUtils().erasure(type.asType()),
+                processingEnv.getElementUtils().getPackageOf(type));
+    }
+
+    private String binderNameOf(TypeElement type) {
+        return GridBinders.binderNameOf(processingEnv.getElementUtils().getBinaryName(type).toString());
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017 Ricardo Daniel Monteiro Simoes
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE
+ */
+package ch.rs.reflectorgrid.processor;
+
+import ch.rs.reflectorgrid.util.CommitPolicy;
+import ch.rs.reflectorgrid.util.DefaultFieldNamingStrategy;
+import ch.rs.reflectorgrid.util.annotations.TransferGrid;
+import ch.rs.reflectorgrid.util.metadata.ClassDescriptor;
+import ch.rs.reflectorgrid.util.metadata.FieldAccessor;
+import ch.rs.reflectorgrid.util.metadata.FieldDescriptor;
+import ch.rs.reflectorgrid.util.metadata.GridBinder;
+import ch.rs.reflectorgrid.util.metadata.GridBinders;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The tests are compiled with the TransferGridProcessor, so the models below get generated binders.
+ */
+public class GridBindersTest {
+
+    public static class Camera {
+        @TransferGrid(tooltip = "Frames per second", min = "1", max = "240", commitPolicy = CommitPolicy.ON_ACTION)
+        public int frameRate = 30;
+        @TransferGrid(options = {"auto", "manual"})
+        String focusMode = "auto";
+        @TransferGrid
+        private double exposureTime = 0.5;
+        @TransferGrid
+        public final String serialNumber = "A1";
+    }
+
+    public static class Plain {
+        public int value;
+    }
+
+    @Test
+    public void findsTheGeneratedBinder() {
+        GridBinder binder = GridBinders.find(Camera.class);
+
+        assertNotNull(binder);
+        assertSame(Camera.class, binder.getBoundClass());
+        assertSame(binder, GridBinders.find(Camera.class));
+        assertEquals("ch.rs.reflectorgrid.processor.GridBindersTest_2Camera" + GridBinders.BINDER_SUFFIX,
+                binder.getClass().getName());
+    }
+
+    @Test
+    public void nestedAndUnderscoreNamedClassesGetDistinctBinders() {
+        GridBinder nested = GridBinders.find(Rig.Lens.class);
+        GridBinder topLevel = GridBinders.find(Rig_Lens.class);
+
+        assertNotNull(nested);
+        assertNotNull(topLevel);
+        assertSame(Rig.Lens.class, nested.getBoundClass());
+        assertSame(Rig_Lens.class, topLevel.getBoundClass());
+        assertFalse(nested.getClass().getName().equals(topLevel.getClass().getName()));
+        assertEquals("focalLength", nested.getFields()[0].getName());
+        assertEquals("aperture", topLevel.getFields()[0].getName());
+    }
+
+    @Test
+    public void classesWithoutABinderAreSkipped() {
+        assertNull(GridBinders.find(Plain.class));
+        assertNull(GridBinders.find(String.class));
+        assertNull(GridBinders.find(int.class));
+    }
+
+    @Test
+    public void describesTheFieldsWithTheirSettings() {
+        GridBinder.BoundField[] fields = GridBinders.find(Camera.class).getFields();
+
+        assertEquals(4, fields.length);
+        assertEquals("frameRate", fields[0].getName());
+        assertEquals("Frames per second", fields[0].getTooltip());
+        assertEquals("1", fields[0].getMin());
+        assertEquals("240", fields[0].getMax());
+        assertEquals("", fields[0].getStep());
+        assertEquals(CommitPolicy.ON_ACTION, fields[0].getCommitPolicy());
+        assertArrayEquals(new String[]{"auto", "manual"}, fields[1].getOptions());
+        assertTrue(fields[0].isAccessible());
+        assertTrue(fields[1].isAccessible());
+        assertFalse(fields[2].isAccessible());
+        assertFalse(fields[3].isAccessible());
+    }
+
+    @Test
+    public void readsAndWritesAccessibleFields() {
+        GridBinder binder = GridBinders.find(Camera.class);
+        Camera camera = new Camera();
+
+        binder.set(0, camera, 60);
+        binder.set(1, camera, "manual");
+
+        assertEquals(60, camera.frameRate);
+        assertEquals(60, binder.get(0, camera));
+        assertEquals("manual", binder.get(1, camera));
+    }
+
+    @Test
+    public void descriptorsOfBoundClassesHaveTheSameLabelsAsReflection() throws Exception {
+        FieldDescriptor descriptor = ClassDescriptor.of(Camera.class)
+                .getFieldDescriptor(Camera.class.getDeclaredField("exposureTime"));
+
+        for (DefaultFieldNamingStrategy strategy : DefaultFieldNamingStrategy.values()) {
+            assertEquals(strategy.toString(descriptor.getField()), descriptor.getLabel(strategy));
+        }
+        assertEquals("Exposure Time", descriptor.getLabel(DefaultFieldNamingStrategy.SPLIT_TO_CAPITALIZED_WORDS));
+    }
+
+    @Test
+    public void accessorsOfBoundClassesReadAndWritePrimitives() throws Exception {
+        FieldAccessor accessor = FieldAccessor.of(Camera.class.getDeclaredField("frameRate"));
+        Camera camera = new Camera();
+
+        accessor.setInt(camera, 24);
+
+        assertEquals(24, camera.frameRate);
+        assertEquals(0.5, FieldAccessor.of(Camera.class.getDeclaredField("exposureTime")).getDouble(camera), 0);
+    }
+}